@@ -6,4 +6,5 @@ public class AppConstants {
     public static final String SORT_CATEGORIES_BY = "categoryId";
     public static final String SORT_DIR = "asc";
     public static final String SORT_PRODUCTS_BY = "productId";
+    public static final String SORT_BY_LIKES = "likes";
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.service.cache.CatalogVersionService;
+import com.ecommerce.project.service.cache.CategorySnapshotService;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 캐시 무효화 메시지 구독 (Redis pub/sub)
+ * - 한 노드에서 상품을 수정하면 모든 노드의 L1 캐시에서 제거, 카테고리를 수정하면 카테고리 스냅샷 재구성
+ * - 카탈로그 버전 변경을 모든 노드에 전달 (응답 캐시 키)
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            ProductCacheService productCacheService,
+                                                                            CatalogVersionService catalogVersionService,
+                                                                            CategorySnapshotService categorySnapshotService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(productCacheService, new ChannelTopic(ProductCacheService.INVALIDATION_CHANNEL));
+        container.addMessageListener(categorySnapshotService, new ChannelTopic(ProductCacheService.INVALIDATION_CHANNEL));
+        container.addMessageListener(catalogVersionService, new ChannelTopic(CatalogVersionService.VERSION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.project.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품명 중복 방지 유니크 인덱스 생성 (ddl-auto 로는 표현식 인덱스를 만들 수 없음)
+ * - (category_id, lower(product_name)): 같은 카테고리 안에서 대소문자만 다른 이름도 중복으로 봄
+ * - addProduct 의 존재 확인 쿼리가 이 인덱스를 타고, 동시에 같은 이름이 들어와도 DB 가 막음
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductConstraintInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductConstraintInitializer.class);
+
+    public static final String UNIQUE_NAME_INDEX = "ux_products_category_lower_name";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + UNIQUE_NAME_INDEX + " " +
+                    "ON products (category_id, lower(product_name))");
+        } catch (RuntimeException e) {
+            // 기존 데이터에 중복이 있으면 생성 실패 → 정리 후 재기동하면 생성됨 (그동안은 존재 확인 쿼리로만 검사)
+            logger.warn("product unique name index not created (duplicate names?): {}", e.getMessage());
+        }
+    }
+}
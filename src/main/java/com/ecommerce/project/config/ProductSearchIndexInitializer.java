@@ -0,0 +1,42 @@
+package com.ecommerce.project.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 검색용 PostgreSQL 인덱스 생성 (ddl-auto 로는 확장/GIN 인덱스를 만들 수 없음)
+ * - pg_trgm: lower(product_name) LIKE '%kw%' / 유사도(%) 검색을 인덱스로 처리
+ * - tsvector: 이름 + 설명 전문 검색, 'simple' 설정 (한글은 형태소 분석 없이 공백 단위 토큰)
+ * - 모두 IF NOT EXISTS 라서 매 기동 시 실행해도 안전
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndexInitializer.class);
+
+    /** ProductSearchRepository 의 WHERE 절과 글자 하나까지 같아야 인덱스를 탐 */
+    public static final String FTS_DOCUMENT =
+            "to_tsvector('simple', coalesce(product_name, '') || ' ' || coalesce(description, ''))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_products_name_trgm " +
+                    "ON products USING gin (lower(product_name) gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_products_fts " +
+                    "ON products USING gin (" + FTS_DOCUMENT + ")");
+        } catch (RuntimeException e) {
+            // 확장 생성 권한이 없는 환경 등에서는 검색이 순차 스캔으로 동작할 뿐이므로 기동은 계속
+            logger.warn("product search index setup skipped: {}", e.getMessage());
+        }
+    }
+}
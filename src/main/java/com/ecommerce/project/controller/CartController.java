@@ -1,10 +1,8 @@
 package com.ecommerce.project.controller;
 
-import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.payload.AddToCartRequestDTO;
 import com.ecommerce.project.payload.CartDTO;
 import com.ecommerce.project.payload.CartItemDTO;
-import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.service.CartService;
 import com.ecommerce.project.util.AuthUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,9 +16,6 @@ import java.util.List;
 @RequestMapping("/api")
 public class CartController {
 
-    @Autowired
-    private CartRepository cartRepository;
-
     @Autowired
     private AuthUtil authUtil;
 
@@ -33,6 +28,12 @@ public class CartController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/cart/merge")
+    public ResponseEntity<CartDTO> mergeCart(@RequestBody List<CartItemDTO> cartItems){
+        CartDTO cartDTO = cartService.mergeCart(cartItems);
+        return new ResponseEntity<CartDTO>(cartDTO, HttpStatus.OK);
+    }
+
     @PostMapping("/carts/products/{productId}/quantity/{quantity}")
     public ResponseEntity<CartDTO> addProductToCart(@PathVariable Long productId,
                                                     @PathVariable Integer quantity){
@@ -48,10 +49,7 @@ public class CartController {
 
     @GetMapping("/carts/users/cart")
     public ResponseEntity<CartDTO> getCartById(){
-        String emailId = authUtil.loggedInEmail();
-        Cart cart = cartRepository.findCartByEmail(emailId);
-        Long cartId = cart.getCartId();
-        CartDTO cartDTO = cartService.getCart(emailId, cartId);
+        CartDTO cartDTO = cartService.getCart();
         return new ResponseEntity<CartDTO>(cartDTO, HttpStatus.OK);
     }
 
@@ -1,5 +1,6 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.payload.CursorResponse;
 import com.ecommerce.project.payload.ProductCardDTO;
 import com.ecommerce.project.service.like.ProductLikeQueryService;
 import com.ecommerce.project.service.like.RedisLikeService;
@@ -10,6 +11,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -27,4 +29,13 @@ public class MyPageController {
         String email = authUtil.loggedInEmail();
         return likeService.myLikedProducts(email, pageable);
     }
+
+    /** 커서 방식: 응답의 nextCursor 를 다음 요청의 cursor 로 전달 */
+    @GetMapping("/likes/my/cursor")
+    public CursorResponse<ProductCardDTO> myLikesByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "20", required = false) Integer size) {
+        String email = authUtil.loggedInEmail();
+        return likeService.myLikedProducts(email, cursor, size);
+    }
 }
@@ -1,11 +1,20 @@
 package com.ecommerce.project.controller;
 
 import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CursorResponse;
+import com.ecommerce.project.payload.FacetedProductResponse;
+import com.ecommerce.project.payload.PageResponse;
+import com.ecommerce.project.payload.ProductCardDTO;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.payload.ProductSuggestionDTO;
 import com.ecommerce.project.service.ProductService;
+import com.ecommerce.project.service.cache.CatalogResponseCache;
 import com.ecommerce.project.service.like.RedisLikeService;
+import com.ecommerce.project.service.search.ProductSuggestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +22,7 @@ import com.ecommerce.project.payload.ProductResponse;
 import org.springframework.web.multipart.MultipartFile;
 import com.ecommerce.project.config.AppConstants;
 import java.io.IOException;
+import java.util.List;
 import jakarta.validation.Valid;
 
 
@@ -26,6 +36,10 @@ public class ProductController {
 
     private final RedisLikeService likeService;
 
+    private final ProductSuggestService suggestService;
+
+    private final CatalogResponseCache catalogResponseCache;
+
     @PostMapping("/admin/categories/{categoryId}/product")
     public ResponseEntity<ProductDTO> addProduct(@Valid @RequestBody ProductDTO productDTO,
                                                  @PathVariable Long categoryId){
@@ -40,21 +54,85 @@ public class ProductController {
             @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ){
-        ProductResponse productResponse = productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder, keyword, category);
-        return new ResponseEntity<>(productResponse,HttpStatus.OK);
+        // 카탈로그 버전 + 조회 조건 단위 응답 캐시 (ETag 가 같으면 304)
+        String key = CatalogResponseCache.catalogKey("products", pageNumber, pageSize, sortBy,
+                sortOrder.toLowerCase(), keyword == null ? null : keyword.toLowerCase(), category);
+        return catalogResponseCache.respond(ifNoneMatch, key,
+                () -> productService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder, keyword, category));
     }
 
 
+    /** 커서(keyset) 방식 목록: 응답의 nextCursor 를 다음 요청의 cursor 로 전달, 전체 건수는 withTotal=true 일 때만 */
+    @GetMapping("/public/products/cursor")
+    public ResponseEntity<CursorResponse<ProductDTO>> getProductsByCursor(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            @RequestParam(name = "withTotal", defaultValue = "false", required = false) boolean withTotal
+    ){
+        CursorResponse<ProductDTO> response = productService.getProductsByCursor(cursor, pageSize, sortBy, sortOrder, keyword, category, withTotal);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * 다중 필터 목록 + 항목별 건수
+     * - 예: ?categoryIds=1,2&priceBands=10000-30000&discountBands=30-50&inStock=true&sellerIds=3
+     */
+    @GetMapping("/public/products/facets")
+    public ResponseEntity<FacetedProductResponse> getFacetedProducts(
+            @ModelAttribute ProductFilter filter,
+            @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ){
+        String key = CatalogResponseCache.catalogKey("facets", pageNumber, pageSize, sortBy,
+                sortOrder.toLowerCase(), filter.cacheKey());
+        return catalogResponseCache.respond(ifNoneMatch, key,
+                () -> productService.getFacetedProducts(filter, pageNumber, pageSize, sortBy, sortOrder));
+    }
+
+    /** 목록 카드 전용 (필요한 컬럼만 프로젝션 + 좋아요 수) */
+    @GetMapping("/public/products/cards")
+    public ResponseEntity<PageResponse<ProductCardDTO>> getProductCards(
+            @RequestParam(name = "keyword", required = false) String keyword,
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
+            @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
+            @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
+            @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ){
+        String key = CatalogResponseCache.catalogKey("cards", pageNumber, pageSize, sortBy,
+                sortOrder.toLowerCase(), keyword == null ? null : keyword.toLowerCase(), category);
+        return catalogResponseCache.respond(ifNoneMatch, key,
+                () -> productService.getProductCards(pageNumber, pageSize, sortBy, sortOrder, keyword, category));
+    }
+
+    /** 상품 상세 (L1/L2 캐시 경유) */
+    @GetMapping("/public/products/{productId}")
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long productId){
+        ProductDTO productDTO = productService.getProductById(productId);
+        return new ResponseEntity<>(productDTO, HttpStatus.OK);
+    }
+
     @GetMapping("/public/categories/{categoryId}/products")
     public ResponseEntity<ProductResponse> getProductsByCategory(@PathVariable Long categoryId,
                                                                  @RequestParam(name = "pageNumber", defaultValue = AppConstants.PAGE_NUMBER, required = false) Integer pageNumber,
                                                                  @RequestParam(name = "pageSize", defaultValue = AppConstants.PAGE_SIZE, required = false) Integer pageSize,
                                                                  @RequestParam(name = "sortBy", defaultValue = AppConstants.SORT_PRODUCTS_BY, required = false) String sortBy,
-                                                                 @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder){
-        ProductResponse productResponse = productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
-        return new ResponseEntity<>(productResponse, HttpStatus.OK);
+                                                                 @RequestParam(name = "sortOrder", defaultValue = AppConstants.SORT_DIR, required = false) String sortOrder,
+                                                                 @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        String key = CatalogResponseCache.catalogKey("category", categoryId, pageNumber, pageSize, sortBy, sortOrder.toLowerCase());
+        return catalogResponseCache.respond(ifNoneMatch, key,
+                () -> productService.searchByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder));
     }
 
     @GetMapping("/public/products/keyword/{keyword}")
@@ -67,6 +145,16 @@ public class ProductController {
         return new ResponseEntity<>(productResponse, HttpStatus.FOUND);
     }
 
+    // 검색어 자동완성 (결과가 없으면 빈 목록)
+    @GetMapping("/public/products/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10", required = false) Integer limit) {
+        List<ProductSuggestionDTO> suggestions =
+                suggestService.suggest(prefix, Math.min(limit, ProductSuggestService.MAX_SUGGESTIONS));
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+
     @PutMapping("/admin/products/{productId}")
     public ResponseEntity<ProductDTO> updateProduct(@Valid @RequestBody ProductDTO productDTO,
                                                     @PathVariable Long productId){
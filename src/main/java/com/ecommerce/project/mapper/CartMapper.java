@@ -0,0 +1,15 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.payload.CartDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", uses = ProductMapper.class, unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CartMapper {
+
+    /** 장바구니 → DTO (products 에는 라인별 장바구니 수량이 담김) */
+    @Mapping(target = "products", source = "cartItems")
+    CartDTO toDto(Cart cart);
+}
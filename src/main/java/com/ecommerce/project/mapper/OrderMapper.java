@@ -0,0 +1,25 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.Payment;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderItemDTO;
+import com.ecommerce.project.payload.PaymentDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", uses = {ProductMapper.class, AddressMapper.class},
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface OrderMapper {
+
+    /** 주문 → DTO (orderItems 는 호출 측에서 채움) */
+    @Mapping(target = "orderItems", ignore = true)
+    @Mapping(target = "addressId", source = "address.addressId")
+    OrderDTO toDto(Order order);
+
+    OrderItemDTO toDto(OrderItem orderItem);
+
+    PaymentDTO toDto(Payment payment);
+}
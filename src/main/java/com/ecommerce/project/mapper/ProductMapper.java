@@ -0,0 +1,38 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Product ↔ ProductDTO 변환 (MapStruct 가 컴파일 시점에 구현 생성, 리플렉션 없음)
+ * - 매핑되지 않은 대상 필드는 컴파일 오류 (모든 매퍼 공통), 의도적으로 비우는 필드는 ignore 로 명시
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ProductMapper {
+
+    @Mapping(target = "likeCount", ignore = true)
+    ProductDTO toDto(Product product);
+
+    /** 캐시에 보관된 DTO 를 호출 측이 수정해도 되도록 복사 */
+    ProductDTO copy(ProductDTO productDTO);
+
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    Product toEntity(ProductDTO productDTO);
+
+    /** 장바구니 라인 → 상품 DTO (quantity 는 재고가 아닌 장바구니 수량) */
+    @Mapping(target = "productId", source = "product.productId")
+    @Mapping(target = "productName", source = "product.productName")
+    @Mapping(target = "image", source = "product.image")
+    @Mapping(target = "description", source = "product.description")
+    @Mapping(target = "quantity", source = "quantity")
+    @Mapping(target = "price", source = "product.price")
+    @Mapping(target = "discount", source = "product.discount")
+    @Mapping(target = "specialPrice", source = "product.specialPrice")
+    @Mapping(target = "likeCount", ignore = true)
+    ProductDTO toDto(CartItem cartItem);
+}
@@ -26,4 +26,7 @@ public class Cart {
     private List<CartItem> cartItems = new ArrayList<>();
 
     private Double totalPrice = 0.0;
+
+    // 고정소수점 총액 (최소 단위, Money 참고) : 라인 소계의 합, totalPrice 는 표시용
+    private Long totalMinor = 0L;
 }
\ No newline at end of file
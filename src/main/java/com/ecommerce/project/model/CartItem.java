@@ -26,4 +26,8 @@ public class CartItem {
     private Integer quantity;
     private double discount;
     private double productPrice;
+
+    // 고정소수점 금액 (최소 단위, Money 참고) : 단가 / 라인 소계(단가 × 수량)
+    private Long productPriceMinor;
+    private Long subtotalMinor;
 }
\ No newline at end of file
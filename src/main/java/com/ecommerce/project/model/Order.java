@@ -35,6 +35,7 @@ public class Order {
     private Payment payment;
 
     private Double totalAmount;
+    private Long totalAmountMinor; // 고정소수점 총액 (최소 단위), totalAmount 는 표시용
     private String orderStatus;
 
     // Reference to Address
@@ -7,8 +7,6 @@ import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.ToString;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Data
@@ -45,6 +43,7 @@ public class Product {
     @JoinColumn(name = "seller_id")
     private User user;
 
-    @OneToMany(mappedBy = "product", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
-    private List<CartItem> products = new ArrayList<>();
+    // 장바구니 라인(CartItem) 역방향 컬렉션은 두지 않음
+    // - 상품 조회 때마다 해당 상품이 담긴 모든 cart_items 를 함께 읽게 되므로
+    // - 필요한 경우 CartItemRepository / CartRepository.findCartsByProductId 로 조회
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 좋아요 영속 사본 (원본은 Redis)
+ * - RedisLikeService 토글 이벤트를 LikeWriteBehindService 가 모아서 일괄 반영
+ * - Redis 유실 시 이 테이블로 Redis 를 재구성
+ */
+@Entity
+@Table(name = "product_likes",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_product_likes_product_user", columnNames = {"product_id", "user_email"})
+        },
+        indexes = {
+                @Index(name = "idx_product_likes_user", columnList = "user_email, created_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductLike {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // Redis 와 동일하게 정규화된(소문자) 이메일
+    @Column(name = "user_email", nullable = false, length = 100)
+    private String userEmail;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
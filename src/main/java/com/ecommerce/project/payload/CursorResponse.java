@@ -0,0 +1,18 @@
+package com.ecommerce.project.payload;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * 커서(seek) 방식 페이징 응답 DTO
+ * - 다음 페이지는 nextCursor 를 그대로 돌려보내 요청
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+public class CursorResponse<T> {
+    private List<T> content;     // 현재 페이지 데이터
+    private int pageSize;        // 요청한 페이지 크기
+    private String nextCursor;   // 다음 페이지 커서 (마지막 페이지면 null)
+    private boolean lastPage;    // 마지막 페이지 여부
+    private Long totalElements;  // 전체 데이터 수 (요청한 경우에만, 아니면 null)
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetedProductResponse {
+    private ProductResponse products;
+    // 항목명(category, price, discount, inStock, seller) → 값별 건수
+    private Map<String, List<FacetValueDTO>> facets;
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.project.payload;
 
+import com.querydsl.core.annotations.QueryProjection;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,4 +17,10 @@ public class ProductCardDTO {
     private Double price;
     private Double specialPrice;
     private Long likeCount; // Redis 카운트
+
+    /** 목록 조회 프로젝션 (QProductCardDTO, likeCount 는 호출 측에서 채움) */
+    @QueryProjection
+    public ProductCardDTO(Long productId, String productName, String image, Double price, Double specialPrice) {
+        this(productId, productName, image, price, specialPrice, null);
+    }
 }
@@ -1,5 +1,6 @@
 package com.ecommerce.project.payload;
 
+import com.querydsl.core.annotations.QueryProjection;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,5 +17,12 @@ public class ProductDTO {
     private double price;
     private double discount;
     private double specialPrice;
+    private Long likeCount; // Redis 카운트 (목록 조회 시에만 채움)
 
+    /** 커서 목록 조회 프로젝션 (QProductDTO, likeCount 는 호출 측에서 채움) */
+    @QueryProjection
+    public ProductDTO(Long productId, String productName, String image, String description,
+                      Integer quantity, double price, double discount, double specialPrice) {
+        this(productId, productName, image, description, quantity, price, discount, specialPrice, null);
+    }
 }
\ No newline at end of file
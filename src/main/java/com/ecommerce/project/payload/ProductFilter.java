@@ -0,0 +1,58 @@
+package com.ecommerce.project.payload;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 목록 다중 필터 (같은 항목 안에서는 OR, 항목끼리는 AND)
+ * - priceBands / discountBands 값은 구간 키 "하한-상한" (하한 포함 / 상한 미포함, 마지막 구간은 "하한-")
+ *   경계는 app.search.facets.price-bounds / discount-bounds 설정, 기본값 기준:
+ *   가격(specialPrice) "0-10000", "10000-30000", "30000-50000", "50000-100000", "100000-"
+ *   할인율(%) "0-10", "10-30", "30-50", "50-"
+ *   facets 응답의 value 를 그대로 넘기면 되고, 없는 키는 아무 상품과도 맞지 않음
+ */
+@Data
+@NoArgsConstructor
+public class ProductFilter {
+    private String keyword;
+    private List<Long> categoryIds;
+    private List<String> priceBands;
+    private List<String> discountBands;
+    private Boolean inStock;
+    private List<Long> sellerIds;
+
+    /**
+     * 응답 캐시 키 (toString 에 의존하지 않고 필드를 명시적으로 나열)
+     * - 같은 항목 안의 값은 OR 이므로 순서/중복 무시, 키워드는 검색과 같게 trim + 소문자 (공백만 있으면 없음과 같음)
+     * - 값은 URL 인코딩 → 입력에 구분자(; , =)가 있어도 다른 조건과 키가 겹치지 않음
+     */
+    public String cacheKey() {
+        String kw = keyword == null ? "" : encode(keyword.trim().toLowerCase());
+        return "kw=" + kw +
+               ";cat=" + normalize(categoryIds) +
+               ";price=" + normalize(priceBands) +
+               ";disc=" + normalize(discountBands) +
+               ";stock=" + (inStock == null ? "" : inStock) +
+               ";seller=" + normalize(sellerIds);
+    }
+
+    private static String normalize(List<?> values) {
+        if (values == null) return "";
+        return values.stream()
+                .filter(Objects::nonNull)
+                .map(v -> encode(v.toString()))
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
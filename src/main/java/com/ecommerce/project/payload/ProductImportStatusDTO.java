@@ -0,0 +1,31 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportStatusDTO {
+    private String jobId;
+    private String status;     // QUEUED, RUNNING, COMPLETED, FAILED
+    private long processed;    // 읽은 행 수
+    private long imported;     // 저장된 상품 수
+    private long failed;       // 오류 행 수
+    private List<RowError> errors; // 앞에서부터 최대 app.product-import.max-errors 건
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String message;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
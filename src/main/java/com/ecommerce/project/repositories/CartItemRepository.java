@@ -16,4 +16,9 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     @Modifying
     @Query("DELETE FROM CartItem ci WHERE ci.cart.id = ?1")
     void deleteAllByCartId(Long cartId);
+
+    // 남은 라인 소계 합 (최소 단위 컬럼이 비어 있는 예전 행은 원 단위 값에서 환산)
+    @Query(value = "SELECT COALESCE(SUM(COALESCE(subtotal_minor, quantity * ROUND(product_price * 100)::bigint)), 0)::bigint " +
+            "FROM cart_items WHERE cart_id = ?1", nativeQuery = true)
+    Long sumSubtotalMinorByCartId(Long cartId);
 }
\ No newline at end of file
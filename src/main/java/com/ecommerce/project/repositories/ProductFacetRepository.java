@@ -0,0 +1,210 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.payload.FacetValueDTO;
+import com.ecommerce.project.payload.ProductFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * 다중 필터 + 항목별 건수(facet) 조회
+ * - 항목별 건수는 GROUPING SETS 집계 쿼리 1회로 계산
+ *   (각 항목의 건수는 "그 항목을 뺀 나머지 필터"를 적용한 값 → 같은 항목 안에서 다른 값을 골라도 건수가 유지됨)
+ * - 목록은 같은 조건으로 id 만 페이지 조회 → 항목 수가 늘어도 쿼리 수는 2회 고정
+ * - 가격/할인율 구간 경계는 설정값 (app.search.facets.*), 구간 키 형식은 ProductFilter 참고
+ */
+@Repository
+public class ProductFacetRepository {
+
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_PRICE = "price";
+    public static final String FACET_DISCOUNT = "discount";
+    public static final String FACET_IN_STOCK = "inStock";
+    public static final String FACET_SELLER = "seller";
+
+    private static final String FACET_SELECT =
+            "SELECT GROUPING(category_id) AS g_cat, GROUPING(price_band) AS g_price," +
+            "       GROUPING(discount_band) AS g_disc, GROUPING(in_stock) AS g_stock, GROUPING(seller_id) AS g_seller," +
+            "       category_id, category_name, price_band, discount_band, in_stock, seller_id, seller_name," +
+            "       count(*) FILTER (WHERE m_price AND m_disc AND m_stock AND m_seller) AS ex_cat," +
+            "       count(*) FILTER (WHERE m_cat AND m_disc AND m_stock AND m_seller) AS ex_price," +
+            "       count(*) FILTER (WHERE m_cat AND m_price AND m_stock AND m_seller) AS ex_disc," +
+            "       count(*) FILTER (WHERE m_cat AND m_price AND m_disc AND m_seller) AS ex_stock," +
+            "       count(*) FILTER (WHERE m_cat AND m_price AND m_disc AND m_stock) AS ex_seller," +
+            "       count(*) FILTER (WHERE m_cat AND m_price AND m_disc AND m_stock AND m_seller) AS matched" +
+            " FROM flagged" +
+            " GROUP BY GROUPING SETS ((category_id, category_name), (price_band), (discount_band), (in_stock)," +
+            "                         (seller_id, seller_name), ())";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final String baseCte;
+    private final String facetSql;
+
+    /**
+     * @param priceBounds    가격 구간 경계 (specialPrice 기준, 하한 포함 / 상한 미포함, 마지막은 상한 없음)
+     * @param discountBounds 할인율 구간 경계 (%)
+     */
+    public ProductFacetRepository(NamedParameterJdbcTemplate jdbc,
+                                  @Value("${app.search.facets.price-bounds:0,10000,30000,50000,100000}") long[] priceBounds,
+                                  @Value("${app.search.facets.discount-bounds:0,10,30,50}") long[] discountBounds) {
+        this.jdbc = jdbc;
+        this.baseCte = baseCte(bandCase("p.special_price", priceBounds), bandCase("p.discount", discountBounds));
+        this.facetSql = baseCte + FACET_SELECT;
+    }
+
+    private static String baseCte(String priceBand, String discountBand) {
+        return "WITH base AS (" +
+               "  SELECT p.product_id, p.product_name, p.price, p.special_price, p.discount," +
+               "         p.category_id, c.category_name, p.seller_id, u.username AS seller_name," +
+               "         " + priceBand + " AS price_band," +
+               "         " + discountBand + " AS discount_band," +
+               "         COALESCE(p.quantity, 0) > 0 AS in_stock" +
+               "  FROM products p" +
+               "  LEFT JOIN categories c ON c.category_id = p.category_id" +
+               "  LEFT JOIN users u ON u.user_id = p.seller_id" +
+               "  WHERE (CAST(:pattern AS text) IS NULL OR lower(p.product_name) LIKE :pattern ESCAPE '\\')" +
+               "), flagged AS (" +
+               "  SELECT base.*," +
+               "         (CAST(:hasCategory AS boolean) IS NOT TRUE OR category_id IN (:categoryIds)) AS m_cat," +
+               "         (CAST(:hasPrice AS boolean) IS NOT TRUE OR price_band IN (:priceBands)) AS m_price," +
+               "         (CAST(:hasDiscount AS boolean) IS NOT TRUE OR discount_band IN (:discountBands)) AS m_disc," +
+               "         (CAST(:inStock AS boolean) IS NULL OR in_stock = CAST(:inStock AS boolean)) AS m_stock," +
+               "         (CAST(:hasSeller AS boolean) IS NOT TRUE OR seller_id IN (:sellerIds)) AS m_seller" +
+               "  FROM base" +
+               ") ";
+    }
+
+    /** 필터 결과 id 페이지 + 항목별 건수 */
+    public FacetResult search(ProductFilter filter, Pageable pageable) {
+        MapSqlParameterSource params = toParams(filter)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        Map<String, List<FacetValueDTO>> facets = new LinkedHashMap<>();
+        for (String name : List.of(FACET_CATEGORY, FACET_PRICE, FACET_DISCOUNT, FACET_IN_STOCK, FACET_SELLER)) {
+            facets.put(name, new ArrayList<>());
+        }
+        long[] total = {0};
+
+        jdbc.query(facetSql, params, rs -> {
+            if (rs.getInt("g_cat") == 0) {
+                String id = rs.getString("category_id");
+                if (id != null) facets.get(FACET_CATEGORY).add(new FacetValueDTO(id, rs.getString("category_name"), rs.getLong("ex_cat")));
+            } else if (rs.getInt("g_price") == 0) {
+                String band = rs.getString("price_band");
+                facets.get(FACET_PRICE).add(new FacetValueDTO(band, band, rs.getLong("ex_price")));
+            } else if (rs.getInt("g_disc") == 0) {
+                String band = rs.getString("discount_band");
+                facets.get(FACET_DISCOUNT).add(new FacetValueDTO(band, band + "%", rs.getLong("ex_disc")));
+            } else if (rs.getInt("g_stock") == 0) {
+                String v = String.valueOf(rs.getBoolean("in_stock"));
+                facets.get(FACET_IN_STOCK).add(new FacetValueDTO(v, v, rs.getLong("ex_stock")));
+            } else if (rs.getInt("g_seller") == 0) {
+                String id = rs.getString("seller_id");
+                if (id != null) facets.get(FACET_SELLER).add(new FacetValueDTO(id, rs.getString("seller_name"), rs.getLong("ex_seller")));
+            } else {
+                total[0] = rs.getLong("matched"); // () 전체 집계 행
+            }
+        });
+
+        facets.get(FACET_PRICE).sort(Comparator.comparingLong(f -> lowerBound(f.getValue())));
+        facets.get(FACET_DISCOUNT).sort(Comparator.comparingLong(f -> lowerBound(f.getValue())));
+
+        List<Long> ids = total[0] == 0 ? List.of() : jdbc.queryForList(
+                baseCte +
+                "SELECT product_id FROM flagged" +
+                " WHERE m_cat AND m_price AND m_disc AND m_stock AND m_seller" +
+                " ORDER BY " + orderBy(pageable.getSort()) +
+                " LIMIT :limit OFFSET :offset",
+                params, Long.class);
+
+        return new FacetResult(new PageImpl<>(ids, pageable, total[0]), facets);
+    }
+
+    private MapSqlParameterSource toParams(ProductFilter filter) {
+        String keyword = filter.getKeyword();
+        String pattern = (keyword == null || keyword.isBlank())
+                ? null
+                : "%" + escapeLike(keyword.trim().toLowerCase()) + "%";
+        return new MapSqlParameterSource()
+                .addValue("pattern", pattern)
+                .addValue("hasCategory", notEmpty(filter.getCategoryIds()))
+                .addValue("categoryIds", orPlaceholder(filter.getCategoryIds(), -1L))
+                .addValue("hasPrice", notEmpty(filter.getPriceBands()))
+                .addValue("priceBands", orPlaceholder(filter.getPriceBands(), ""))
+                .addValue("hasDiscount", notEmpty(filter.getDiscountBands()))
+                .addValue("discountBands", orPlaceholder(filter.getDiscountBands(), ""))
+                .addValue("inStock", filter.getInStock())
+                .addValue("hasSeller", notEmpty(filter.getSellerIds()))
+                .addValue("sellerIds", orPlaceholder(filter.getSellerIds(), -1L));
+    }
+
+    private static boolean notEmpty(List<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    // 빈 IN () 은 문법 오류이므로 필터가 없을 때도 자리값 하나를 넣음 (has* 플래그로 무시됨)
+    private static <T> List<T> orPlaceholder(List<T> values, T placeholder) {
+        return notEmpty(values) ? values : List.of(placeholder);
+    }
+
+    /**
+     * 구간 키 CASE 식 ("0-10000", ..., "100000-")
+     * - 첫 경계보다 작은 값은 첫 구간으로
+     */
+    static String bandCase(String column, long[] bounds) {
+        if (bounds.length < 2) {
+            throw new IllegalArgumentException("구간 경계는 2개 이상이어야 합니다: " + Arrays.toString(bounds));
+        }
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("구간 경계는 오름차순이어야 합니다: " + Arrays.toString(bounds));
+            }
+        }
+        StringBuilder sb = new StringBuilder("CASE");
+        for (int i = bounds.length - 1; i >= 0; i--) {
+            sb.append(" WHEN ").append(column).append(" >= ").append(bounds[i])
+              .append(" THEN '").append(bandKey(bounds, i)).append("'");
+        }
+        return sb.append(" ELSE '").append(bandKey(bounds, 0)).append("' END").toString();
+    }
+
+    private static String bandKey(long[] bounds, int i) {
+        return bounds[i] + "-" + (i + 1 < bounds.length ? String.valueOf(bounds[i + 1]) : "");
+    }
+
+    /** 구간 키의 하한 ("10000-30000" → 10000, "100000-" → 100000) */
+    static long lowerBound(String band) {
+        return Long.parseLong(band.substring(0, band.indexOf('-')));
+    }
+
+    /** 정렬 컬럼 화이트리스트 (SQL 에 직접 들어가므로 사용자 입력을 그대로 쓰지 않음) */
+    static String orderBy(Sort sort) {
+        List<String> parts = new ArrayList<>();
+        for (Sort.Order o : sort) {
+            String dir = o.isAscending() ? " ASC" : " DESC";
+            switch (o.getProperty()) {
+                case "productName"  -> parts.add("product_name" + dir);
+                case "price"        -> parts.add("price" + dir);
+                case "specialPrice" -> parts.add("special_price" + dir);
+                case "discount"     -> parts.add("discount" + dir);
+                default             -> parts.add("product_id" + dir);
+            }
+        }
+        parts.add("product_id DESC"); // 동률 시 순서 고정
+        return String.join(", ", parts);
+    }
+
+    private static String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public record FacetResult(Page<Long> ids, Map<String, List<FacetValueDTO>> facets) {}
+}
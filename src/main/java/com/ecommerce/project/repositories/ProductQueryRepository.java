@@ -0,0 +1,158 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.payload.ProductCardDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.QProductCardDTO;
+import com.ecommerce.project.payload.QProductDTO;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ecommerce.project.model.QProduct.product;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductQueryRepository {
+
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * 목록 카드용 조회 (엔티티 대신 필요한 컬럼만 DTO 로 바로 프로젝션)
+     * - 생성자 프로젝션(@QueryProjection)이라 DTO 필드/타입이 바뀌면 컴파일 단계에서 드러남
+     * - Product/Category/User 엔티티를 영속성 컨텍스트에 올리지 않으므로 dirty-checking 도 없음
+     * - likeCount 는 호출 측에서 Redis 배치 조회로 채움
+     */
+    public Page<ProductCardDTO> findCards(String keyword, String category, Pageable pageable) {
+        BooleanBuilder where = catalogFilter(keyword, category);
+
+        List<ProductCardDTO> content = queryFactory
+                .select(new QProductCardDTO(
+                        product.productId,
+                        product.productName,
+                        product.image,
+                        product.price,
+                        product.specialPrice))
+                .from(product)
+                .where(where)
+                .orderBy(toOrderSpecifiers(pageable.getSort()).toArray(new OrderSpecifier<?>[0]))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        Long totalL = queryFactory
+                .select(product.productId.count())
+                .from(product)
+                .where(where)
+                .fetchOne();
+        long total = (totalL == null) ? 0L : totalL;
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * 커서(keyset) 방식 목록 조회
+     * - (정렬키, productId) 가 직전 페이지 마지막 행보다 뒤인 행만 조회하므로 OFFSET 스캔이 없음
+     * - lastId 가 null 이면 첫 페이지
+     */
+    public List<ProductDTO> findAfter(String keyword, String category, String sortBy, boolean asc,
+                                      Object lastValue, Long lastId, int limit) {
+        BooleanBuilder where = catalogFilter(keyword, category);
+        if (lastId != null) {
+            where.and(seek(sortBy, asc, lastValue, lastId));
+        }
+
+        ComparableExpressionBase<?> key = sortPath(sortBy);
+        return queryFactory
+                .select(new QProductDTO(
+                        product.productId,
+                        product.productName,
+                        product.image,
+                        product.description,
+                        product.quantity,
+                        product.price,
+                        product.discount,
+                        product.specialPrice))
+                .from(product)
+                .where(where)
+                .orderBy(asc ? key.asc() : key.desc(), asc ? product.productId.asc() : product.productId.desc())
+                .limit(limit)
+                .fetch();
+    }
+
+    /** 커서 방식 전체 건수 (요청 시에만) */
+    public long countCatalog(String keyword, String category) {
+        Long total = queryFactory
+                .select(product.productId.count())
+                .from(product)
+                .where(catalogFilter(keyword, category))
+                .fetchOne();
+        return (total == null) ? 0L : total;
+    }
+
+    /** 키워드/카테고리 공통 필터 */
+    private BooleanBuilder catalogFilter(String keyword, String category) {
+        BooleanBuilder where = new BooleanBuilder();
+        if (keyword != null && !keyword.isEmpty()) {
+            where.and(product.productName.lower().like("%" + keyword.toLowerCase() + "%"));
+        }
+        if (category != null && !category.isEmpty()) {
+            where.and(product.category.categoryName.like(category));
+        }
+        return where;
+    }
+
+    /** (key, id) > (lastValue, lastId) 조건 (내림차순이면 <) */
+    private BooleanExpression seek(String sortBy, boolean asc, Object lastValue, Long lastId) {
+        BooleanExpression idAfter = asc ? product.productId.gt(lastId) : product.productId.lt(lastId);
+        return switch (sortBy) {
+            case "productName" -> seek(product.productName, (String) lastValue, asc, idAfter);
+            case "price"        -> seek(product.price, (Double) lastValue, asc, idAfter);
+            case "specialPrice" -> seek(product.specialPrice, (Double) lastValue, asc, idAfter);
+            case "discount"     -> seek(product.discount, (Double) lastValue, asc, idAfter);
+            default             -> idAfter;
+        };
+    }
+
+    private <T extends Comparable<?>> BooleanExpression seek(ComparableExpression<T> key, T value, boolean asc, BooleanExpression idAfter) {
+        return (asc ? key.gt(value) : key.lt(value)).or(key.eq(value).and(idAfter));
+    }
+
+    private <T extends Number & Comparable<?>> BooleanExpression seek(NumberExpression<T> key, T value, boolean asc, BooleanExpression idAfter) {
+        return (asc ? key.gt(value) : key.lt(value)).or(key.eq(value).and(idAfter));
+    }
+
+    /** 정렬 키 화이트리스트 */
+    private ComparableExpressionBase<?> sortPath(String sortBy) {
+        return switch (sortBy) {
+            case "productName"  -> product.productName;
+            case "price"        -> product.price;
+            case "specialPrice" -> product.specialPrice;
+            case "discount"     -> product.discount;
+            default             -> product.productId;
+        };
+    }
+
+    /** Sort → QueryDSL OrderSpecifier 변환 (화이트리스트 방식) */
+    private List<OrderSpecifier<?>> toOrderSpecifiers(Sort sort) {
+        List<OrderSpecifier<?>> specs = new ArrayList<>();
+        for (Sort.Order s : sort) {
+            ComparableExpressionBase<?> path = sortPath(s.getProperty());
+            specs.add(s.isAscending() ? path.asc() : path.desc());
+        }
+        specs.add(product.productId.desc()); // 동률 시 순서 고정
+        return specs;
+    }
+}
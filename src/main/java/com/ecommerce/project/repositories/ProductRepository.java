@@ -7,12 +7,27 @@ import com.ecommerce.project.model.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
 
     Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+
+    /** 같은 카테고리에 대소문자 무시 같은 이름이 있는지 (ux_products_category_lower_name 인덱스 사용) */
+    @Query("select count(p) > 0 from Product p " +
+           "where p.category.categoryId = :categoryId and lower(p.productName) = lower(:productName)")
+    boolean existsByCategoryIdAndProductNameIgnoreCase(@Param("categoryId") Long categoryId,
+                                                       @Param("productName") String productName);
+
+    /** 대량 가져오기용: 주어진 카테고리들에 이미 있는 (categoryId, lower(productName)) 목록 */
+    @Query("select p.category.categoryId, lower(p.productName) from Product p " +
+           "where p.category.categoryId in :categoryIds and lower(p.productName) in :names")
+    List<Object[]> findExistingNames(@Param("categoryIds") Collection<Long> categoryIds,
+                                     @Param("names") Collection<String> names);
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.config.ProductSearchIndexInitializer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상품 검색 (PostgreSQL pg_trgm + tsvector)
+ * - 전문 검색(@@), 부분 일치(LIKE, trigram GIN 인덱스) 중 하나라도 맞으면 결과
+ * - 둘 다 없을 때만 오타 허용(% 유사도) 검색 (짧은 상품명끼리는 유사 후보가 많아 항상 섞으면 느림)
+ * - 관련도 정렬: ts_rank → similarity → productId
+ * - 인덱스는 ProductSearchIndexInitializer 가 생성
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductSearchRepository {
+
+    public static final String SORT_BY_RELEVANCE = "relevance";
+
+    private static final String DOC = ProductSearchIndexInitializer.FTS_DOCUMENT;
+
+    private static final String MATCH =
+            DOC + " @@ plainto_tsquery('simple', :kw) OR lower(product_name) LIKE :pattern ESCAPE '\\'";
+
+    private static final String FUZZY_MATCH = "lower(product_name) % :kwLower";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /** 검색 결과 한 행 (전체 건수는 윈도 함수로 같은 쿼리에서) */
+    record IdRow(long productId, long total) {}
+
+    /** 검색 결과 id 페이지 (정렬 순서 유지) */
+    public Page<Long> searchIds(String keyword, Pageable pageable) {
+        String kwLower = keyword.trim().toLowerCase();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("kw", keyword)
+                .addValue("kwLower", kwLower)
+                .addValue("pattern", "%" + escapeLike(kwLower) + "%")
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+
+        Page<Long> page = searchIds(MATCH, params, pageable);
+        if (page.getTotalElements() == 0) {
+            page = searchIds(FUZZY_MATCH, params, pageable);
+        }
+        return page;
+    }
+
+    /**
+     * 조건에 맞는 id 한 페이지
+     * - 전체 건수는 count(*) OVER () 로 페이지 쿼리에서 함께 받아 조건을 한 번만 평가
+     * - 일치 행을 MATERIALIZED CTE 로 먼저 모음: 그냥 LIMIT 을 붙이면 플래너가 윈도 집계가 전체 행을 읽는다는 걸
+     *   반영하지 못하고 PK 역순 스캔 + 필터(전체 테이블)를 고름
+     * - 마지막 페이지 뒤를 요청해 행이 없을 때만 별도 count
+     */
+    private Page<Long> searchIds(String match, MapSqlParameterSource params, Pageable pageable) {
+        List<IdRow> rows = jdbc.query(
+                "WITH hits AS MATERIALIZED (" +
+                "SELECT product_id, product_name, description, price, special_price, discount" +
+                " FROM products WHERE " + match + ")" +
+                " SELECT product_id, count(*) OVER () AS total FROM hits" +
+                " ORDER BY " + orderBy(pageable.getSort()) +
+                " LIMIT :limit OFFSET :offset",
+                params, (rs, rowNum) -> new IdRow(rs.getLong("product_id"), rs.getLong("total")));
+
+        long total;
+        if (!rows.isEmpty()) {
+            total = rows.get(0).total();
+        } else if (pageable.getOffset() == 0) {
+            total = 0L;
+        } else {
+            Long counted = jdbc.queryForObject("SELECT count(*) FROM products WHERE " + match, params, Long.class);
+            total = (counted == null) ? 0L : counted;
+        }
+        return new PageImpl<>(rows.stream().map(IdRow::productId).toList(), pageable, total);
+    }
+
+    /** 정렬 컬럼 화이트리스트 (SQL 에 직접 들어가므로 사용자 입력을 그대로 쓰지 않음, hits CTE 에 있는 컬럼만) */
+    private String orderBy(Sort sort) {
+        List<String> parts = new ArrayList<>();
+        for (Sort.Order o : sort) {
+            String dir = o.isAscending() ? " ASC" : " DESC";
+            switch (o.getProperty()) {
+                case SORT_BY_RELEVANCE -> {
+                    parts.add("ts_rank(" + DOC + ", plainto_tsquery('simple', :kw)) DESC");
+                    parts.add("similarity(lower(product_name), :kwLower) DESC");
+                }
+                case "productName"  -> parts.add("product_name" + dir);
+                case "price"        -> parts.add("price" + dir);
+                case "specialPrice" -> parts.add("special_price" + dir);
+                case "discount"     -> parts.add("discount" + dir);
+                default             -> parts.add("product_id" + dir);
+            }
+        }
+        parts.add("product_id DESC"); // 동률 시 순서 고정
+        return String.join(", ", parts);
+    }
+
+    private String escapeLike(String s) {
+        return s.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
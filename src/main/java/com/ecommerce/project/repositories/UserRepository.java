@@ -2,6 +2,7 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,6 +14,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    // 엔티티(와 OneToOne 장바구니)를 읽지 않고 username 만 조회
+    @Query("SELECT u.userName FROM User u WHERE u.email = ?1")
+    Optional<String> findUserNameByEmail(String email);
+
     Boolean existsByUserName(String username);
 
     Boolean existsByEmail(String email);
@@ -2,7 +2,6 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.payload.CartDTO;
 import com.ecommerce.project.payload.CartItemDTO;
-import jakarta.transaction.Transactional;
 
 import java.util.List;
 
@@ -11,14 +10,13 @@ public interface CartService {
 
     List<CartDTO> getAllCarts();
 
-    CartDTO getCart(String emailId, Long cartId);
+    CartDTO getCart();
 
-    @Transactional
     CartDTO updateProductQuantityInCart(Long productId, Integer quantity);
 
     String deleteProductFromCart(Long cartId, Long productId);
 
-    void updateProductInCarts(Long cartId, Long productId);
-
     String createOrUpdateCartWithItems(List<CartItemDTO> cartItems);
+
+    CartDTO mergeCart(List<CartItemDTO> cartItems);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CartMapper;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.CartItem;
 import com.ecommerce.project.model.Product;
@@ -11,15 +12,24 @@ import com.ecommerce.project.payload.ProductDTO;
 import com.ecommerce.project.repositories.CartItemRepository;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import com.ecommerce.project.service.cart.CartCheckpointService;
+import com.ecommerce.project.service.cart.RedisCartStore;
 import com.ecommerce.project.util.AuthUtil;
+import com.ecommerce.project.util.Money;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class CartServiceImpl implements CartService{
@@ -36,85 +46,47 @@ public class CartServiceImpl implements CartService{
     CartItemRepository cartItemRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    CartMapper cartMapper;
+
+    @Autowired
+    ProductCacheService productCacheService;
+
+    @Autowired
+    RedisCartStore cartStore;
+
+    @Autowired
+    CartCheckpointService cartCheckpointService;
 
     @Override
     public CartDTO addProductToCart(Long productId, Integer quantity) {
-        // 1) 현재 사용자(또는 컨텍스트) 기준 Cart 확보/생성
-        Cart cart = createCart();
+        // 1) 현재 사용자 (인증 정보만 사용, DB 조회 없음)
+        String userName = authUtil.loggedInUserName();
 
-        // 2) 상품 조회
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        // 2) 상품 조회 (검증/가격은 캐시)
+        ProductDTO product = productCacheService.getProduct(productId);
 
         // 3) 재고 기본 검증
         if (product.getQuantity() == 0) {
             throw new APIException(product.getProductName() + " is not available");
         }
 
-        // 4) 기존 카트 아이템 조회
-        //    주의: repository 메서드 시그니처 파라미터 순서가 (cartId, productId)인지 (productId, cartId)인지
-        //    현재 프로젝트 정의에 맞게 그대로 두세요.
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cart.getCartId(), productId);
-
-        if (cartItem != null) {
-            // === 이미 존재하면 수량을 "1"만 증가 ===
-            int newQty = cartItem.getQuantity() + 1;
-
-            // 재고 초과 방지
-            if (newQty > product.getQuantity()) {
-                throw new APIException("Please, make an order of the " + product.getProductName()
-                        + " less than or equal to the quantity " + product.getQuantity() + ".");
-            }
-
-            // 수량 반영
-            cartItem.setQuantity(newQty);
-            cartItemRepository.save(cartItem);
-
-            // 총액에 단가만큼(+1분) 추가
-            cart.setTotalPrice(cart.getTotalPrice() + product.getSpecialPrice());
-            cartRepository.save(cart);
-
-        } else {
-            // === 없으면 새로 추가 (요청 수량 사용) ===
-            if (quantity == null || quantity < 1) {
-                quantity = 1;
-            }
-
-            if (product.getQuantity() < quantity) {
-                throw new APIException("Please, make an order of the " + product.getProductName()
-                        + " less than or equal to the quantity " + product.getQuantity() + ".");
-            }
-
-            CartItem newCartItem = new CartItem();
-            newCartItem.setProduct(product);
-            newCartItem.setCart(cart);
-            newCartItem.setQuantity(quantity);
-            newCartItem.setDiscount(product.getDiscount());
-            newCartItem.setProductPrice(product.getSpecialPrice());
-
-            cartItemRepository.save(newCartItem);
-
-            // 총액 반영
-            cart.setTotalPrice(cart.getTotalPrice() + (product.getSpecialPrice() * quantity));
-            cartRepository.save(cart);
+        if (quantity == null || quantity < 1) {
+            quantity = 1;
         }
+        final int requested = quantity;
 
-        // ※ product.setQuantity(product.getQuantity());  // 효과 없는 코드이므로 제거
-
-        // 5) Cart → DTO 매핑
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-        List<CartItem> cartItems = cart.getCartItems();
-        Stream<ProductDTO> productStream = cartItems.stream().map(item -> {
-            ProductDTO map = modelMapper.map(item.getProduct(), ProductDTO.class);
-            map.setQuantity(item.getQuantity()); // 장바구니 상의 수량
-            return map;
-        });
+        // 4) Redis 장바구니에 원자적으로 반영
+        //    이미 있으면 수량 "1"만 증가, 없으면 요청 수량으로 추가 (재고 초과 검증 포함)
+        RedisCartStore.Result result = mutateLiveCart(userName, () -> cartStore.add(userName, productId, requested,
+                product.getQuantity(), Money.toMinor(product.getSpecialPrice()), product.getDiscount()));
 
-        cartDTO.setProducts(productStream.toList());
+        if (result.status() == RedisCartStore.Status.OUT_OF_STOCK) {
+            throw new APIException("Please, make an order of the " + product.getProductName()
+                    + " less than or equal to the quantity " + product.getQuantity() + ".");
+        }
 
-        return cartDTO;
+        // 5) 장바구니 → DTO (products 에는 장바구니 상의 수량이 담김)
+        return toDto(result.cart());
     }
 
     @Override
@@ -125,110 +97,89 @@ public class CartServiceImpl implements CartService{
             throw new APIException("No cart exists");
         }
 
-        List<CartDTO> cartDTOs = carts.stream().map(cart -> {
-            CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-            List<ProductDTO> products = cart.getCartItems().stream().map(cartItem -> {
-                ProductDTO productDTO = modelMapper.map(cartItem.getProduct(), ProductDTO.class);
-                productDTO.setQuantity(cartItem.getQuantity()); // Set the quantity from CartItem
-                return productDTO;
-            }).collect(Collectors.toList());
-
-
-            cartDTO.setProducts(products);
-
-            return cartDTO;
-
-        }).collect(Collectors.toList());
+        List<CartDTO> cartDTOs = carts.stream()
+                .map(cartMapper::toDto)
+                .collect(Collectors.toList());
 
         return cartDTOs;
     }
 
+    /** 로그인 사용자 장바구니 (라이브 장바구니 기준, 적재 전이면 DB 에서 한 번 적재) */
     @Override
-    public CartDTO getCart(String emailId, Long cartId) {
-        Cart cart = cartRepository.findCartByEmailAndCartId(emailId, cartId);
-        if (cart == null){
-            throw new ResourceNotFoundException("Cart", "cartId", cartId);
+    public CartDTO getCart() {
+        String userName = authUtil.loggedInUserName();
+        RedisCartStore.Snapshot cart = cartStore.read(userName);
+        if (cart == null) {
+            loadLiveCart(userName);
+            cart = cartStore.read(userName);
         }
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-        cart.getCartItems().forEach(c ->
-                c.getProduct().setQuantity(c.getQuantity()));
-        List<ProductDTO> products = cart.getCartItems().stream()
-                .map(p -> modelMapper.map(p.getProduct(), ProductDTO.class))
-                .toList();
-        cartDTO.setProducts(products);
-        return cartDTO;
+        if (cart == null) {
+            throw new IllegalStateException("cart could not be loaded for user: " + userName);
+        }
+        return toDto(cart);
     }
 
-    @Transactional
     @Override
     public CartDTO updateProductQuantityInCart(Long productId, Integer quantity) {
-
-        String emailId = authUtil.loggedInEmail();
-        Cart userCart = cartRepository.findCartByEmail(emailId);
-        Long cartId  = userCart.getCartId();
-
-        Cart cart = cartRepository.findById(cartId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+        String userName = authUtil.loggedInUserName();
+        ProductDTO product = productCacheService.getProduct(productId);
 
         if (product.getQuantity() == 0) {
             throw new APIException(product.getProductName() + " is not available");
         }
 
-        if (product.getQuantity() < quantity) {
-            throw new APIException("Please, make an order of the " + product.getProductName()
-                    + " less than or equal to the quantity " + product.getQuantity() + ".");
-        }
-
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
+        // 수량 증감 (0 이 되면 라인 삭제), 남는 라인은 현재 단가/할인율로 갱신
+        RedisCartStore.Result result = mutateLiveCart(userName, () -> cartStore.changeQuantity(userName, productId,
+                quantity, product.getQuantity(), Money.toMinor(product.getSpecialPrice()), product.getDiscount()));
 
-        if (cartItem == null) {
-            throw new APIException("Product " + product.getProductName() + " not available in the cart!!!");
+        switch (result.status()) {
+            case NOT_IN_CART -> throw new APIException("Product " + product.getProductName() + " not available in the cart!!!");
+            case NEGATIVE_QUANTITY -> throw new APIException("The resulting quantity cannot be negative.");
+            case OUT_OF_STOCK -> throw new APIException("Please, make an order of the " + product.getProductName()
+                    + " less than or equal to the quantity " + product.getQuantity() + ".");
+            default -> { }
         }
 
-        // Calculate new quantity
-        int newQuantity = cartItem.getQuantity() + quantity;
-
-        // Validation to prevent negative quantities
-        if (newQuantity < 0) {
-            throw new APIException("The resulting quantity cannot be negative.");
-        }
+        return toDto(result.cart());
+    }
 
-        if (newQuantity == 0){
-            deleteProductFromCart(cartId, productId);
-        } else {
-            cartItem.setProductPrice(product.getSpecialPrice());
-            cartItem.setQuantity(cartItem.getQuantity() + quantity);
-            cartItem.setDiscount(product.getDiscount());
-            cart.setTotalPrice(cart.getTotalPrice() + (cartItem.getProductPrice() * quantity));
-            cartRepository.save(cart);
+    /** Redis 장바구니 변경 (아직 적재되지 않았으면 DB 에서 적재 후 한 번 더 시도) */
+    private RedisCartStore.Result mutateLiveCart(String userName, Supplier<RedisCartStore.Result> mutation) {
+        RedisCartStore.Result result = mutation.get();
+        if (result.status() == RedisCartStore.Status.NOT_LOADED) {
+            loadLiveCart(userName);
+            result = mutation.get();
         }
-
-        CartItem updatedItem = cartItemRepository.save(cartItem);
-        if(updatedItem.getQuantity() == 0){
-            cartItemRepository.deleteById(updatedItem.getCartItemId());
+        if (result.status() == RedisCartStore.Status.NOT_LOADED) {
+            throw new IllegalStateException("cart could not be loaded for user: " + userName);
         }
+        return result;
+    }
 
+    private void loadLiveCart(String userName) {
+        Cart cart = createCart();
+        cartCheckpointService.load(userName, cart.getCartId());
+    }
 
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-        List<CartItem> cartItems = cart.getCartItems();
-
-        Stream<ProductDTO> productStream = cartItems.stream().map(item -> {
-            ProductDTO prd = modelMapper.map(item.getProduct(), ProductDTO.class);
-            prd.setQuantity(item.getQuantity());
-            return prd;
-        });
-
-
-        cartDTO.setProducts(productStream.toList());
-
-        return cartDTO;
+    private static void setTotalMinor(Cart cart, long totalMinor) {
+        cart.setTotalMinor(totalMinor);
+        cart.setTotalPrice(Money.toMajor(totalMinor));
     }
 
+    /** 장바구니 → DTO (상품 정보는 캐시, 수량은 장바구니 수량) */
+    private CartDTO toDto(RedisCartStore.Snapshot cart) {
+        List<ProductDTO> products = new ArrayList<>(cart.lines().size());
+        for (RedisCartStore.Line line : cart.lines()) {
+            try {
+                ProductDTO product = productCacheService.getProduct(line.productId());
+                product.setQuantity(line.quantity());
+                products.add(product);
+            } catch (ResourceNotFoundException e) {
+                // 그 사이 삭제된 상품은 표시하지 않음 (체크포인트에서도 건너뜀)
+            }
+        }
+        return new CartDTO(cart.cartId(), cart.totalPrice(), products);
+    }
 
     private Cart createCart() {
         Cart userCart  = cartRepository.findCartByEmail(authUtil.loggedInEmail());
@@ -238,6 +189,7 @@ public class CartServiceImpl implements CartService{
 
         Cart cart = new Cart();
         cart.setTotalPrice(0.00);
+        cart.setTotalMinor(0L);
         cart.setUser(authUtil.loggedInUser());
         Cart newCart =  cartRepository.save(cart);
 
@@ -251,46 +203,28 @@ public class CartServiceImpl implements CartService{
         Cart cart = cartRepository.findById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
 
+        // 라이브 장바구니에서도 제거 (아직 체크포인트 전인 라인은 DB 에 없을 수 있음)
+        // 주문 등 바깥 트랜잭션이 롤백되면 장바구니가 그대로 남도록 커밋 후에 제거
+        boolean removedLive = cartStore.removeAfterCommit(cart.getUser().getUserName(), productId);
+
         CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
 
         if (cartItem == null) {
-            throw new ResourceNotFoundException("Product", "productId", productId);
+            if (!removedLive) {
+                throw new ResourceNotFoundException("Product", "productId", productId);
+            }
+            return "Product " + productCacheService.getProduct(productId).getProductName() + " removed from the cart !!!";
         }
 
-        cart.setTotalPrice(cart.getTotalPrice() -
-                (cartItem.getProductPrice() * cartItem.getQuantity()));
-
         cartItemRepository.deleteCartItemByProductIdAndCartId(cartId, productId);
 
+        // 총액은 빼지 않고 남은 라인 소계로 다시 계산 (읽어 둔 총액이 오래된 값이어도 맞게)
+        setTotalMinor(cart, cartItemRepository.sumSubtotalMinorByCartId(cartId));
+
         return "Product " + cartItem.getProduct().getProductName() + " removed from the cart !!!";
     }
 
 
-    @Override
-    public void updateProductInCarts(Long cartId, Long productId) {
-        Cart cart = cartRepository.findById(cartId)
-                .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
-
-        CartItem cartItem = cartItemRepository.findCartItemByProductIdAndCartId(cartId, productId);
-
-        if (cartItem == null) {
-            throw new APIException("Product " + product.getProductName() + " not available in the cart!!!");
-        }
-
-        double cartPrice = cart.getTotalPrice()
-                - (cartItem.getProductPrice() * cartItem.getQuantity());
-
-        cartItem.setProductPrice(product.getSpecialPrice());
-
-        cart.setTotalPrice(cartPrice
-                + (cartItem.getProductPrice() * cartItem.getQuantity()));
-
-        cartItem = cartItemRepository.save(cartItem);
-    }
-
     @Transactional
     @Override
     public String createOrUpdateCartWithItems(List<CartItemDTO> cartItems) {
@@ -302,42 +236,74 @@ public class CartServiceImpl implements CartService{
         if (existingCart == null) {
             existingCart = new Cart();
             existingCart.setTotalPrice(0.00);
+            existingCart.setTotalMinor(0L);
             existingCart.setUser(authUtil.loggedInUser());
             existingCart = cartRepository.save(existingCart);
-        } else {
-            // Clear all current items in the existing cart
-            cartItemRepository.deleteAllByCartId(existingCart.getCartId());
         }
 
-        double totalPrice = 0.00;
-
-        // Process each item in the request to add to the cart
+        // 같은 상품이 여러 번 오면 수량을 합침
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
         for (CartItemDTO cartItemDTO : cartItems) {
-            Long productId = cartItemDTO.getProductId();
-            Integer quantity = cartItemDTO.getQuantity();
-
-            // Find the product by ID
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
-
-            // Directly update product stock and total price
-            // product.setQuantity(product.getQuantity() - quantity);
-            totalPrice += product.getSpecialPrice() * quantity;
-
-            // Create and save cart item
-            CartItem cartItem = new CartItem();
-            cartItem.setProduct(product);
-            cartItem.setCart(existingCart);
-            cartItem.setQuantity(quantity);
-            cartItem.setProductPrice(product.getSpecialPrice());
-            cartItem.setDiscount(product.getDiscount());
-            cartItemRepository.save(cartItem);
+            quantities.merge(cartItemDTO.getProductId(), cartItemDTO.getQuantity(), Integer::sum);
         }
 
-        // Update the cart's total price and save
-        existingCart.setTotalPrice(totalPrice);
-        cartRepository.save(existingCart);
+        // 상품은 한 번에 조회
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+
+        List<RedisCartStore.Line> lines = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product == null) {
+                throw new ResourceNotFoundException("Product", "productId", productId);
+            }
+            lines.add(new RedisCartStore.Line(productId, quantity, Money.toMinor(product.getSpecialPrice()), product.getDiscount()));
+        });
+
+        // 기존 라인 삭제 + 배치 삽입 + 총액 갱신 (총액은 라인에서 한 번에 계산)
+        cartCheckpointService.writeCart(new RedisCartStore.Snapshot(existingCart.getCartId(), lines));
+
+        // DB 를 직접 다시 썼으므로 라이브 장바구니는 버리고 다음 접근 시 재적재
+        cartStore.evict(authUtil.loggedInUserName());
         return "Cart created/updated with the new items successfully";
     }
 
-}
\ No newline at end of file
+    /**
+     * 로컬(비로그인) 장바구니를 로그인 사용자 장바구니에 병합
+     * - 양쪽에 있는 상품은 수량을 합치고, 재고를 넘는 수량은 재고까지로 자름 (요청 전체를 거절하지 않음)
+     * - 없는(삭제된) 상품은 건너뛰고, 사용자 장바구니에만 있는 라인은 그대로 둠
+     * - 수량이 바뀐 라인만 쓰고, 바뀐 라인이 있을 때만 DB 에 반영
+     * - 같은 요청을 다시 보내면 수량이 다시 더해지므로 클라이언트는 병합 후 로컬 장바구니를 비움
+     */
+    @Override
+    public CartDTO mergeCart(List<CartItemDTO> cartItems) {
+        String userName = authUtil.loggedInUserName();
+
+        // 같은 상품이 여러 번 오면 수량을 합치고, 수량이 1 미만인 라인은 무시
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CartItemDTO cartItemDTO : cartItems) {
+            if (cartItemDTO.getProductId() == null || cartItemDTO.getQuantity() == null) continue;
+            quantities.merge(cartItemDTO.getProductId(), cartItemDTO.getQuantity(), Integer::sum);
+        }
+
+        List<RedisCartStore.Line> lines = new ArrayList<>(quantities.size());
+        Map<Long, Integer> stock = new HashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            if (quantity < 1) return;
+            ProductDTO product;
+            try {
+                product = productCacheService.getProduct(productId);
+            } catch (ResourceNotFoundException e) {
+                return; // 로컬 장바구니에 남아 있던 삭제된 상품
+            }
+            lines.add(new RedisCartStore.Line(productId, quantity, Money.toMinor(product.getSpecialPrice()), product.getDiscount()));
+            stock.put(productId, product.getQuantity());
+        });
+
+        RedisCartStore.Result result = mutateLiveCart(userName, () -> cartStore.merge(userName, lines, stock));
+        if (result.changed() > 0) {
+            cartCheckpointService.checkpoint(userName);
+        }
+        return toDto(result.cart());
+    }
+}
@@ -1,15 +1,18 @@
 package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CategoryMapper;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.service.cache.CategorySnapshotService;
+import com.ecommerce.project.service.cache.ProductCacheService;
 import org.springframework.stereotype.Service;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import com.ecommerce.project.payload.CategoryDTO;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Sort;
 import java.util.stream.Collectors;
 import java.util.Optional;
@@ -38,50 +41,62 @@ public class CategoryServiceImpl implements CategoryService{
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CategoryMapper categoryMapper;
 
-    @Override
-    public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        // equalsIgnoreCase는 동등한지 보는데 ASC,asc 다 가능
-        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
-                // 참일때
-                ? Sort.by(sortBy).ascending()
-                //거짓일때
-                : Sort.by(sortBy).descending();
+    @Autowired
+    private ProductCacheService productCacheService;
 
-        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Category> categoryPage = categoryRepository.findAll(pageDetails);
+    @Autowired
+    private CategorySnapshotService categorySnapshotService;
 
-        List<Category> categories = categoryPage.getContent();
-        if (categories.isEmpty())
+    @Override
+    public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        // 카테고리 스냅샷(메모리)에서 정렬/페이징 → DB 조회 없음
+        List<CategoryDTO> all = categorySnapshotService.getAll();
+        if (all.isEmpty())
             throw new APIException("No category created till now.");
 
-        // 기존 categories의 데이터들을 각각 category이름으로  -> 옆에있는 함수들을 적용
-        // category를 CategoryDTO형식으로 변환
-        List<CategoryDTO> categoryDTOS = categories.stream()
-                .map(category -> modelMapper.map(category, CategoryDTO.class))
+        Comparator<CategoryDTO> comparator = "categoryName".equals(sortBy)
+                ? Comparator.comparing(CategoryDTO::getCategoryName)
+                : Comparator.comparing(CategoryDTO::getCategoryId);
+        // equalsIgnoreCase는 동등한지 보는데 ASC,asc 다 가능
+        if (!sortOrder.equalsIgnoreCase("asc")) {
+            comparator = comparator.reversed();
+        }
+
+        int from = (int) Math.min((long) pageNumber * pageSize, all.size());
+        int to = Math.min(from + pageSize, all.size());
+        List<CategoryDTO> categoryDTOS = all.stream()
+                .sorted(comparator)
+                .skip(from)
+                .limit(to - from)
+                .map(c -> new CategoryDTO(c.getCategoryId(), c.getCategoryName()))
                 .toList();
 
+        int totalPages = (int) Math.ceil((double) all.size() / pageSize);
+
         CategoryResponse categoryResponse = new CategoryResponse();
 
         categoryResponse.setContent(categoryDTOS);
-        categoryResponse.setPageNumber(categoryPage.getNumber());
-        categoryResponse.setPageSize(categoryPage.getSize());
-        categoryResponse.setTotalElements(categoryPage.getTotalElements());
-        categoryResponse.setTotalPages(categoryPage.getTotalPages());
-        categoryResponse.setLastPage(categoryPage.isLast());
+        categoryResponse.setPageNumber(pageNumber);
+        categoryResponse.setPageSize(pageSize);
+        categoryResponse.setTotalElements((long) all.size());
+        categoryResponse.setTotalPages(totalPages);
+        categoryResponse.setLastPage(pageNumber >= totalPages - 1);
         return categoryResponse;
     }
 
     @Override
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
-        Category category = modelMapper.map(categoryDTO, Category.class);
-        Category categoryFromDb = categoryRepository.findByCategoryName(category.getCategoryName());
-        if (categoryFromDb != null)
+        Category category = categoryMapper.toEntity(categoryDTO);
+        // 이름 중복은 스냅샷의 이름 맵으로 확인
+        if (categorySnapshotService.existsByName(category.getCategoryName()))
             throw new APIException("Category with the name " + category.getCategoryName() + " already exists !!!");
         // category.setCategoryId(nextId++);
         Category savedCategory = categoryRepository.save(category);
-        return modelMapper.map(savedCategory, CategoryDTO.class);
+        categorySnapshotService.markChanged();
+        productCacheService.evictCategory(savedCategory.getCategoryId());
+        return categoryMapper.toDto(savedCategory);
 
     }
 
@@ -95,7 +110,9 @@ public class CategoryServiceImpl implements CategoryService{
 
 
         categoryRepository.delete(category);
-        return modelMapper.map(category, CategoryDTO.class);
+        categorySnapshotService.markChanged();
+        productCacheService.evictCategory(categoryId);
+        return categoryMapper.toDto(category);
     }
 
 
@@ -107,13 +124,15 @@ public class CategoryServiceImpl implements CategoryService{
         Category savedCategory = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category","categoryId",categoryId));
 
-        Category category = modelMapper.map(categoryDTO, Category.class);
+        Category category = categoryMapper.toEntity(categoryDTO);
 
 
         category.setCategoryId(categoryId);
         // 성공했을때의 리턴값을 다시 정의하기 위해 재정의
         savedCategory = categoryRepository.save(category);
-        return modelMapper.map(savedCategory, CategoryDTO.class);
+        categorySnapshotService.markChanged();
+        productCacheService.evictCategory(categoryId);
+        return categoryMapper.toDto(savedCategory);
     }
 
 
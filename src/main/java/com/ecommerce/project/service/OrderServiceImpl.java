@@ -2,19 +2,23 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.OrderMapper;
 import com.ecommerce.project.model.*;
 import com.ecommerce.project.payload.*;
 import com.ecommerce.project.repositories.*;
 import com.ecommerce.project.repositories.point.PointService;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import com.ecommerce.project.service.cart.CartCheckpointService;
 import com.ecommerce.project.util.AuthUtil;
+import com.ecommerce.project.util.Money;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.ComparableExpressionBase;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
@@ -54,31 +58,54 @@ public class OrderServiceImpl implements OrderService {
     CartService cartService;
 
     @Autowired
-    ModelMapper modelMapper;
+    OrderMapper orderMapper;
 
     @Autowired
     ProductRepository productRepository;
 
+    @Autowired
+    ProductCacheService productCacheService;
+
+    @Autowired
+    CartCheckpointService cartCheckpointService;
+
     @Autowired
     private AuthUtil authUtil;
 
     private final JPAQueryFactory queryFactory;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
 
 
 
     @Override
     @Transactional
     public OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage) {
+        String userName = userRepository.findUserNameByEmail(emailId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", emailId));
+
+        // 라이브 장바구니(Redis)를 주문 트랜잭션 안에서 DB 에 먼저 반영 (JDBC)
+        cartCheckpointService.checkpoint(userName);
+        // 이미 읽혀 있던 User → Cart(OneToOne) 엔티티가 체크포인트 이전 상태로 남지 않도록 영속성 컨텍스트를 비움
+        entityManager.flush();
+        entityManager.clear();
+
+        User user = userRepository.findByEmail(emailId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", emailId));
+
         Cart cart = cartRepository.findCartByEmail(emailId);
         if (cart == null) {
             throw new ResourceNotFoundException("Cart", "email", emailId);
         }
 
-        long cartTotal = Math.round(cart.getTotalPrice());
-
-        User user = userRepository.findByEmail(emailId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", emailId));
+        // 총액은 저장된 값 대신 라인 소계를 정수로 다시 합산 (결제 금액에 누적 오차가 들어가지 않도록)
+        long cartTotalMinor = 0;
+        for (CartItem item : cart.getCartItems()) {
+            long subtotal = item.getSubtotalMinor() != null ? item.getSubtotalMinor()
+                    : Money.subtotal(Money.toMinor(item.getProductPrice()), item.getQuantity());
+            cartTotalMinor = Math.addExact(cartTotalMinor, subtotal);
+        }
+        long cartTotal = Money.toWholeUnits(cartTotalMinor);
 
         // (선택) 프리뷰로 서버에서 한번 더 계산하여 조작 방지
         long pointsToUse = 0L; // TODO: 프론트에서 넘어온 값으로 교체
@@ -94,7 +121,8 @@ public class OrderServiceImpl implements OrderService {
         Order order = new Order();
         order.setEmail(emailId);
         order.setOrderDate(LocalDate.now());
-        order.setTotalAmount(cart.getTotalPrice());
+        order.setTotalAmount(Money.toMajor(cartTotalMinor));
+        order.setTotalAmountMinor(cartTotalMinor);
         order.setOrderStatus("Order Accepted !");
         order.setAddress(address);
 
@@ -133,13 +161,14 @@ public class OrderServiceImpl implements OrderService {
 
             // Save product back to the database
             productRepository.save(product);
+            productCacheService.evictProduct(product.getProductId());
 
             // Remove items from cart
             cartService.deleteProductFromCart(cart.getCartId(), item.getProduct().getProductId());
         });
 
-        OrderDTO orderDTO = modelMapper.map(savedOrder, OrderDTO.class);
-        orderItems.forEach(item -> orderDTO.getOrderItems().add(modelMapper.map(item, OrderItemDTO.class)));
+        OrderDTO orderDTO = orderMapper.toDto(savedOrder);
+        orderDTO.setOrderItems(orderItems.stream().map(orderMapper::toDto).collect(Collectors.toList()));
 
         orderDTO.setAddressId(addressId);
 
@@ -164,7 +193,8 @@ public class OrderServiceImpl implements OrderService {
                                                 item.getProduct().getQuantity(),
                                                 item.getProduct().getPrice(),
                                                 item.getProduct().getDiscount(),
-                                                item.getProduct().getSpecialPrice()
+                                                item.getProduct().getSpecialPrice(),
+                                                null
                                         ),
                                         item.getQuantity(),
                                         item.getDiscount(),
@@ -289,7 +319,7 @@ public class OrderServiceImpl implements OrderService {
                 ProductDTO productDTO = (prd == null) ? null : new ProductDTO(
                         prd.getProductId(), prd.getProductName(), prd.getImage(),
                         prd.getDescription(), prd.getQuantity(), prd.getPrice(),
-                        prd.getDiscount(), prd.getSpecialPrice()
+                        prd.getDiscount(), prd.getSpecialPrice(), null
                 );
                 dto.getOrderItems().add(new OrderItemDTO(
                         oi.getOrderItemId(), productDTO, oi.getQuantity(),
@@ -1,8 +1,13 @@
 package com.ecommerce.project.service;
 
 import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CursorResponse;
+import com.ecommerce.project.payload.FacetedProductResponse;
 import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.PageResponse;
+import com.ecommerce.project.payload.ProductCardDTO;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
 import com.ecommerce.project.payload.ProductResponse;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
@@ -14,6 +19,14 @@ public interface ProductService {
 
     ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category);
 
+    PageResponse<ProductCardDTO> getProductCards(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category);
+
+    CursorResponse<ProductDTO> getProductsByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder, String keyword, String category, boolean withTotal);
+
+    FacetedProductResponse getFacetedProducts(ProductFilter filter, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+
+    ProductDTO getProductById(Long productId);
+
     ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
     ProductResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
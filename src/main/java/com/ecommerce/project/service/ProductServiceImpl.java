@@ -1,32 +1,63 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.config.ProductConstraintInitializer;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.ProductMapper;
 import com.ecommerce.project.model.Cart;
-import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
-import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.model.ProductLike;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.CursorResponse;
+import com.ecommerce.project.payload.FacetedProductResponse;
+import com.ecommerce.project.payload.PageResponse;
+import com.ecommerce.project.payload.ProductCardDTO;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.ProductFilter;
 import com.ecommerce.project.payload.ProductResponse;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductFacetRepository;
+import com.ecommerce.project.repositories.ProductQueryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.ProductSearchRepository;
+import com.ecommerce.project.service.cache.CategorySnapshotService;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import com.ecommerce.project.service.cart.CartCheckpointService;
+import com.ecommerce.project.service.cart.CartPriceFanOutService;
 import com.ecommerce.project.service.like.RedisLikeService;
+import com.ecommerce.project.service.search.ProductSearchIndex;
+import com.ecommerce.project.service.search.ProductSuggestService;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -37,14 +68,41 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private CartCheckpointService cartCheckpointService;
+
+    @Autowired
+    private CartPriceFanOutService cartPriceFanOutService;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductQueryRepository productQueryRepository;
+
+    @Autowired
+    private ProductSearchRepository productSearchRepository;
+
+    @Autowired
+    private ProductFacetRepository productFacetRepository;
+
+    @Autowired
+    private ProductCacheService productCacheService;
+
+    @Autowired
+    private CategorySnapshotService categorySnapshotService;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductSuggestService productSuggestService;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
 
     @Autowired
     private FileService fileService;
@@ -57,31 +115,46 @@ public class ProductServiceImpl implements ProductService {
 
     private final RedisLikeService likeService;
 
+    // 커서 방식에서 허용하는 정렬 키
+    private static final Set<String> CURSOR_SORT_KEYS = Set.of("productId", "productName", "price", "specialPrice", "discount");
+
+    // 인메모리 색인 대체 검색에서 페이징 대상으로 삼는 최대 결과 수
+    private static final int MAX_INDEX_SEARCH_RESULTS = 1000;
+
+    // 커서 방식 한 페이지 최대 크기 (넘으면 이 값으로 줄임)
+    static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     @Override
     public ProductDTO addProduct(Long categoryId, ProductDTO productDTO) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Category", "categoryId", categoryId));
-
-        boolean isProductNotPresent = true;
+        // 카테고리 존재 확인은 스냅샷, 연관관계는 DB 조회 없는 참조 프록시
+        CategoryDTO category = categorySnapshotService.get(categoryId);
 
-        List<Product> products = category.getProducts();
-        for (Product value : products) {
-            if (value.getProductName().equals(productDTO.getProductName())) {
-                isProductNotPresent = false;
-                break;
-            }
-        }
+        // 카테고리의 상품 전체를 읽지 않고 (category_id, lower(product_name)) 인덱스로 존재 여부만 조회
+        boolean isProductNotPresent = !productRepository
+                .existsByCategoryIdAndProductNameIgnoreCase(categoryId, productDTO.getProductName());
 
         if (isProductNotPresent) {
-            Product product = modelMapper.map(productDTO, Product.class);
+            Product product = productMapper.toEntity(productDTO);
             product.setImage("default.png");
-            product.setCategory(category);
+            product.setCategory(categoryRepository.getReferenceById(categoryId));
             double specialPrice = product.getPrice() -
                     ((product.getDiscount() * 0.01) * product.getPrice());
             product.setSpecialPrice(specialPrice);
-            Product savedProduct = productRepository.save(product);
-            return modelMapper.map(savedProduct, ProductDTO.class);
+            Product savedProduct;
+            try {
+                savedProduct = productRepository.save(product);
+            } catch (DataIntegrityViolationException e) {
+                // 존재 확인과 저장 사이에 같은 이름이 먼저 들어온 경우 (유니크 인덱스가 막음), 다른 제약 위반은 그대로 전파
+                if (!isDuplicateName(e)) throw e;
+                throw new APIException("Product already exist!!");
+            }
+            likeService.addToRank(savedProduct.getProductId());
+            Product indexed = savedProduct;
+            afterCommit(() -> productSearchIndex.upsert(indexed.getProductId(), indexed.getProductName(),
+                    indexed.getDescription(), category.getCategoryName()));
+            afterCommit(productSuggestService::markDirty);
+            productCacheService.evictProduct(savedProduct.getProductId());
+            return productMapper.toDto(savedProduct);
         } else {
             throw new APIException("Product already exist!!");
         }
@@ -89,36 +162,54 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category) {
-        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
-                ? Sort.by(sortBy).ascending()
-                : Sort.by(sortBy).descending();
+        boolean sortByLikes = AppConstants.SORT_BY_LIKES.equalsIgnoreCase(sortBy);
+        boolean hasKeyword = keyword != null && !keyword.isEmpty();
+        boolean hasCategory = category != null && !category.isEmpty();
+
+        // 인기순 + 필터 없음 → Redis 순위 ZSET 으로 페이징
+        if (sortByLikes && !hasKeyword && !hasCategory) {
+            return getProductsByLikeRank(pageNumber, pageSize, !sortOrder.equalsIgnoreCase("asc"));
+        }
+
+        Pageable pageDetails;
+        if (sortByLikes) {
+            // 필터가 있으면 product_likes 집계로 정렬 (아래 spec 에서 orderBy 지정)
+            pageDetails = PageRequest.of(pageNumber, pageSize);
+        } else {
+            Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                    ? Sort.by(sortBy).ascending()
+                    : Sort.by(sortBy).descending();
+            pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+        }
 
-        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
         Specification<Product> spec = Specification.where(null);
-        if (keyword != null && !keyword.isEmpty()) {
+        if (hasKeyword) {
             spec = spec.and((root, query, criteriaBuilder) ->
                     criteriaBuilder.like(criteriaBuilder.lower(root.get("productName")), "%" + keyword.toLowerCase() + "%"));
         }
 
-        if (category != null && !category.isEmpty()) {
+        if (hasCategory) {
             spec = spec.and((root, query, criteriaBuilder) ->
                     criteriaBuilder.like(root.get("category").get("categoryName"), category));
         }
 
+        if (sortByLikes) {
+            boolean asc = sortOrder.equalsIgnoreCase("asc");
+            spec = spec.and((root, query, criteriaBuilder) -> {
+                Subquery<Long> likes = query.subquery(Long.class);
+                Root<ProductLike> like = likes.from(ProductLike.class);
+                likes.select(criteriaBuilder.count(like))
+                        .where(criteriaBuilder.equal(like.get("productId"), root.get("productId")));
+                query.orderBy(asc ? criteriaBuilder.asc(likes) : criteriaBuilder.desc(likes),
+                        criteriaBuilder.desc(root.get("productId")));
+                return null;
+            });
+        }
+
         Page<Product> pageProducts = productRepository.findAll(spec, pageDetails);
 
         List<Product> products = pageProducts.getContent();
-
-        List<ProductDTO> productDTOS = products.stream()
-                .map(product -> {
-                    ProductDTO productDTO = modelMapper.map(product, ProductDTO.class);
-                    productDTO.setImage(constructImageUrl(product.getImage()));
-                    Long productId = product.getProductId ();
-                    long c = likeService.getCount(productId);
-                    System.out.println ("likeCount = " + c);
-                    return productDTO;
-                })
-                .toList();
+        List<ProductDTO> productDTOS = toCatalogDTOs(products);
 
         ProductResponse productResponse = new ProductResponse();
         productResponse.setContent(productDTOS);
@@ -130,22 +221,206 @@ public class ProductServiceImpl implements ProductService {
         return productResponse;
     }
 
+    @Override
+    public FacetedProductResponse getFacetedProducts(ProductFilter filter, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+
+        // 항목별 건수 집계 1회 + id 페이지 1회, 상품은 id 로 한 번에 로드
+        ProductFacetRepository.FacetResult result = productFacetRepository.search(filter, pageDetails);
+        Page<Long> pageIds = result.ids();
+        List<Product> products = findAllInOrder(pageIds.getContent());
+
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(toCatalogDTOs(products));
+        productResponse.setPageNumber(pageIds.getNumber());
+        productResponse.setPageSize(pageIds.getSize());
+        productResponse.setTotalElements(pageIds.getTotalElements());
+        productResponse.setTotalPages(pageIds.getTotalPages());
+        productResponse.setLastPage(pageIds.isLast());
+        return new FacetedProductResponse(productResponse, result.facets());
+    }
+
+    @Override
+    public PageResponse<ProductCardDTO> getProductCards(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category) {
+        Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+
+        Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
+        Page<ProductCardDTO> page = productQueryRepository.findCards(keyword, category, pageDetails);
+
+        List<ProductCardDTO> cards = page.getContent();
+        Map<Long, Long> likeCounts = likeService.getCounts(
+                cards.stream().map(ProductCardDTO::getProductId).toList());
+        cards.forEach(card -> {
+            card.setImage(constructImageUrl(card.getImage()));
+            card.setLikeCount(likeCounts.getOrDefault(card.getProductId(), 0L));
+        });
+
+        return PageResponse.<ProductCardDTO>builder()
+                .content(cards)
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .lastPage(page.isLast())
+                .build();
+    }
+
+    @Override
+    public CursorResponse<ProductDTO> getProductsByCursor(String cursor, Integer pageSize, String sortBy, String sortOrder,
+                                                          String keyword, String category, boolean withTotal) {
+        if (pageSize == null || pageSize < 1) {
+            throw new APIException("Page size must be greater than 0");
+        }
+        pageSize = Math.min(pageSize, MAX_CURSOR_PAGE_SIZE);
+        boolean asc = sortOrder.equalsIgnoreCase("asc");
+        String sortKey = CURSOR_SORT_KEYS.contains(sortBy) ? sortBy : AppConstants.SORT_PRODUCTS_BY;
+
+        Long lastId = null;
+        Object lastValue = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor, sortKey);
+            lastId = Long.valueOf(parts[0]);
+            lastValue = parseCursorValue(sortKey, parts[2]);
+        }
+
+        // 다음 페이지 존재 여부를 알기 위해 1개 더 조회
+        List<ProductDTO> rows = productQueryRepository.findAfter(keyword, category, sortKey, asc, lastValue, lastId, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<ProductDTO> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        Map<Long, Long> likeCounts = likeService.getCounts(
+                content.stream().map(ProductDTO::getProductId).toList());
+        content.forEach(dto -> {
+            dto.setImage(constructImageUrl(dto.getImage()));
+            dto.setLikeCount(likeCounts.getOrDefault(dto.getProductId(), 0L));
+        });
+
+        String nextCursor = hasNext ? encodeCursor(sortKey, content.get(content.size() - 1)) : null;
+
+        return CursorResponse.<ProductDTO>builder()
+                .content(content)
+                .pageSize(pageSize)
+                .nextCursor(nextCursor)
+                .lastPage(!hasNext)
+                .totalElements(withTotal ? productQueryRepository.countCatalog(keyword, category) : null)
+                .build();
+    }
+
+    /** 커서 = base64url("lastId:sortBy:lastValue") - 클라이언트에는 불투명 문자열 */
+    static String encodeCursor(String sortKey, ProductDTO last) {
+        Object value = switch (sortKey) {
+            case "productName"  -> last.getProductName();
+            case "price"        -> last.getPrice();
+            case "specialPrice" -> last.getSpecialPrice();
+            case "discount"     -> last.getDiscount();
+            default             -> last.getProductId();
+        };
+        String raw = last.getProductId() + ":" + sortKey + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeCursor(String cursor, String sortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || !parts[1].equals(sortKey)) {
+                throw new APIException("Cursor does not match sortBy: " + sortKey);
+            }
+            Long.parseLong(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Invalid cursor: " + cursor);
+        }
+    }
+
+    static Object parseCursorValue(String sortKey, String value) {
+        try {
+            return switch (sortKey) {
+                case "productName" -> value;
+                case "price", "specialPrice", "discount" -> Double.valueOf(value);
+                default -> null;
+            };
+        } catch (NumberFormatException e) {
+            throw new APIException("Invalid cursor value: " + value);
+        }
+    }
+
+    /** 인기순 페이지: 순위 ZSET 에서 id 페이지를 받고 IN 쿼리 1회로 상품 조회 */
+    private ProductResponse getProductsByLikeRank(Integer pageNumber, Integer pageSize, boolean desc) {
+        long offset = (long) pageNumber * pageSize;
+        List<Long> ids = likeService.getRankedProductIds(offset, pageSize, desc);
+        long total = likeService.getRankSize();
+        List<Product> products = findAllInOrder(ids);
+
+        int totalPages = (pageSize == 0) ? 1 : (int) Math.ceil((double) total / pageSize);
+
+        ProductResponse productResponse = new ProductResponse();
+        productResponse.setContent(toCatalogDTOs(products));
+        productResponse.setPageNumber(pageNumber);
+        productResponse.setPageSize(pageSize);
+        productResponse.setTotalElements(total);
+        productResponse.setTotalPages(totalPages);
+        productResponse.setLastPage(pageNumber + 1 >= totalPages);
+        return productResponse;
+    }
+
+    /** id 목록 순서대로 상품 조회 (IN 쿼리 1회, 삭제된 id 는 제외) */
+    private List<Product> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Product> byId = new HashMap<>();
+        for (Product product : productRepository.findAllById(ids)) {
+            byId.put(product.getProductId(), product);
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /** 목록용 DTO 변환 (이미지 URL + 페이지 단위 좋아요 수 배치 조회) */
+    private List<ProductDTO> toCatalogDTOs(List<Product> products) {
+        Map<Long, Long> likeCounts = likeService.getCounts(
+                products.stream().map(Product::getProductId).toList());
+
+        return products.stream()
+                .map(product -> {
+                    ProductDTO productDTO = productMapper.toDto(product);
+                    productDTO.setImage(constructImageUrl(product.getImage()));
+                    productDTO.setLikeCount(likeCounts.getOrDefault(product.getProductId(), 0L));
+                    return productDTO;
+                })
+                .toList();
+    }
+
     private String constructImageUrl(String imageName) {
         return imageBaseUrl.endsWith("/") ? imageBaseUrl + imageName : imageBaseUrl + "/" + imageName;
     }
 
+    @Override
+    public ProductDTO getProductById(Long productId) {
+        ProductDTO productDTO = productCacheService.getProduct(productId);
+        productDTO.setImage(constructImageUrl(productDTO.getImage()));
+        productDTO.setLikeCount(likeService.getCounts(List.of(productId)).getOrDefault(productId, 0L));
+        return productDTO;
+    }
+
     @Override
     public ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Category", "categoryId", categoryId));
+        // 존재 확인은 카테고리 스냅샷, 조회 조건에는 DB 조회 없는 참조 프록시 사용
+        CategoryDTO category = categorySnapshotService.get(categoryId);
 
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> pageProducts = productRepository.findByCategoryOrderByPriceAsc(category, pageDetails);
+        Page<Product> pageProducts = productRepository.findByCategoryOrderByPriceAsc(
+                categoryRepository.getReferenceById(categoryId), pageDetails);
 
         List<Product> products = pageProducts.getContent();
 
@@ -154,7 +429,7 @@ public class ProductServiceImpl implements ProductService {
         }
 
         List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .map(product -> productMapper.toDto(product))
                 .toList();
 
         ProductResponse productResponse = new ProductResponse();
@@ -174,11 +449,18 @@ public class ProductServiceImpl implements ProductService {
                 : Sort.by(sortBy).descending();
 
         Pageable pageDetails = PageRequest.of(pageNumber, pageSize, sortByAndOrder);
-        Page<Product> pageProducts = productRepository.findByProductNameLikeIgnoreCase('%' + keyword + '%', pageDetails);
+        // pg_trgm / tsvector 인덱스 기반 검색 (sortBy=relevance 면 관련도순)
+        Page<Long> pageProducts;
+        try {
+            pageProducts = productSearchRepository.searchIds(keyword, pageDetails);
+        } catch (DataAccessException e) {
+            // pg_trgm 미설치 등으로 DB 검색이 실패하면 인메모리 색인으로 대체 (관련도순)
+            pageProducts = searchFromIndex(keyword, pageDetails);
+        }
 
-        List<Product> products = pageProducts.getContent();
+        List<Product> products = findAllInOrder(pageProducts.getContent());
         List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .map(product -> productMapper.toDto(product))
                 .toList();
 
         if(products.isEmpty()){
@@ -195,12 +477,55 @@ public class ProductServiceImpl implements ProductService {
         return productResponse;
     }
 
+    /** 트랜잭션 안이면 커밋 후에만 실행 (롤백되면 실행하지 않음), 밖이면 바로 실행 */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /** 상품명 유니크 인덱스 위반인지 (FK / NOT NULL / 길이 위반 등은 false) */
+    static boolean isDuplicateName(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException cve
+                    && ProductConstraintInitializer.UNIQUE_NAME_INDEX.equalsIgnoreCase(cve.getConstraintName())) {
+                return true;
+            }
+            if (t instanceof SQLException sql && "23505".equals(sql.getSQLState())
+                    && sql.getMessage() != null && sql.getMessage().contains(ProductConstraintInitializer.UNIQUE_NAME_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Page<Long> searchFromIndex(String keyword, Pageable pageable) {
+        if (!productSearchIndex.isComplete()) {
+            // 메모리 상한으로 일부 상품이 빠진 색인이면 결과가 누락되지 않도록 단순 LIKE 조회 (pg_trgm 불필요)
+            Pageable byId = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("productId").descending());
+            return productRepository.findByProductNameLikeIgnoreCase("%" + keyword + "%", byId)
+                    .map(Product::getProductId);
+        }
+        List<Long> ids = productSearchIndex.search(keyword, MAX_INDEX_SEARCH_RESULTS);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(ids.subList(from, to), pageable, ids.size());
+    }
+
     @Override
+    @Transactional // 캐시 무효화/장바구니 가격 반영이 커밋 후에 한 번 더(또는 커밋 후에만) 실행되도록
     public ProductDTO updateProduct(Long productId, ProductDTO productDTO) {
         Product productFromDb = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
-        Product product = modelMapper.map(productDTO, Product.class);
+        Product product = productMapper.toEntity(productDTO);
 
         productFromDb.setProductName(product.getProductName());
         productFromDb.setDescription(product.getDescription());
@@ -209,25 +534,26 @@ public class ProductServiceImpl implements ProductService {
         productFromDb.setPrice(product.getPrice());
         productFromDb.setSpecialPrice(product.getSpecialPrice());
 
-        Product savedProduct = productRepository.save(productFromDb);
-
-        List<Cart> carts = cartRepository.findCartsByProductId(productId);
-
-        List<CartDTO> cartDTOs = carts.stream().map(cart -> {
-            CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-
-            List<ProductDTO> products = cart.getCartItems().stream()
-                    .map(p -> modelMapper.map(p.getProduct(), ProductDTO.class)).collect(Collectors.toList());
-
-            cartDTO.setProducts(products);
-
-            return cartDTO;
-
-        }).collect(Collectors.toList());
-
-        cartDTOs.forEach(cart -> cartService.updateProductInCarts(cart.getCartId(), productId));
-
-        return modelMapper.map(savedProduct, ProductDTO.class);
+        Product savedProduct;
+        try {
+            // 트랜잭션 안에서도 제약 위반이 여기서 드러나도록 바로 flush
+            savedProduct = productRepository.saveAndFlush(productFromDb);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateName(e)) throw e;
+            throw new APIException("Product already exist!!");
+        }
+        // 롤백되면 색인에 남지 않도록 커밋 후 반영 (값은 세션이 열려 있을 때 미리 읽음)
+        String name = savedProduct.getProductName();
+        String description = savedProduct.getDescription();
+        String categoryName = savedProduct.getCategory() != null ? savedProduct.getCategory().getCategoryName() : null;
+        afterCommit(() -> productSearchIndex.upsert(productId, name, description, categoryName));
+        afterCommit(productSuggestService::markDirty);
+        productCacheService.evictProduct(productId);
+
+        // 이 상품이 담긴 장바구니 단가 반영은 비동기 일괄 작업으로
+        cartPriceFanOutService.submit(productId, savedProduct.getSpecialPrice(), savedProduct.getDiscount());
+
+        return productMapper.toDto(savedProduct);
     }
 
     @Override
@@ -236,11 +562,16 @@ public class ProductServiceImpl implements ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
         // DELETE
+        cartCheckpointService.flushDirty();
         List<Cart> carts = cartRepository.findCartsByProductId(productId);
         carts.forEach(cart -> cartService.deleteProductFromCart(cart.getCartId(), productId));
 
         productRepository.delete(product);
-        return modelMapper.map(product, ProductDTO.class);
+        likeService.removeFromRank(productId);
+        afterCommit(() -> productSearchIndex.remove(productId));
+        afterCommit(productSuggestService::markDirty);
+        productCacheService.evictProduct(productId);
+        return productMapper.toDto(product);
     }
 
     @Override
@@ -252,7 +583,8 @@ public class ProductServiceImpl implements ProductService {
         productFromDb.setImage(fileName);
 
         Product updatedProduct = productRepository.save(productFromDb);
-        return modelMapper.map(updatedProduct, ProductDTO.class);
+        productCacheService.evictProduct(productId);
+        return productMapper.toDto(updatedProduct);
     }
 
 
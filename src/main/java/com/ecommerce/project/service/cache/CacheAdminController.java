@@ -0,0 +1,20 @@
+package com.ecommerce.project.service.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class CacheAdminController {
+
+    private final ProductCacheService productCacheService;
+
+    /** 상품/카테고리 캐시 L1/L2 적중·실패 통계 */
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return productCacheService.stats();
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.project.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * 공개 카탈로그 목록 응답 캐시 + ETag
+ * - 키: 카탈로그 버전 + 정규화된 조회 조건 → 상품 쓰기가 있으면 자동으로 새 키 사용
+ * - ETag: 직렬화한 응답 본문의 SHA-256 (strong) → If-None-Match 가 같으면 본문 없이 304
+ * - 좋아요 수는 버전과 무관하게 바뀌므로 TTL 을 짧게 유지
+ */
+@Service
+public class CatalogResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final CatalogVersionService versionService;
+    private final Cache<String, CachedResponse> cache;
+
+    public CatalogResponseCache(ObjectMapper objectMapper,
+                                CatalogVersionService versionService,
+                                @Value("${app.cache.catalog.max-size:1000}") long maxSize,
+                                @Value("${app.cache.catalog.ttl-seconds:30}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.versionService = versionService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 캐시된 응답 (없으면 loader 로 생성)
+     * @param key 정규화된 조회 조건 (catalogKey 로 생성)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> respond(String ifNoneMatch, String key, Supplier<T> loader) {
+        String versionedKey = versionService.current() + "|" + key;
+        CachedResponse cached = cache.get(versionedKey, k -> {
+            T body = loader.get();
+            return new CachedResponse(body, etag(body));
+        });
+
+        if (ifNoneMatch != null && matches(ifNoneMatch, cached.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cached.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(cached.etag()).body((T) cached.body());
+    }
+
+    /** 조회 조건 정규화 (앞뒤 공백/null 차이로 키가 갈리지 않도록, 대소문자 정규화는 호출 측에서) */
+    public static String catalogKey(String endpoint, Object... params) {
+        StringBuilder sb = new StringBuilder(endpoint);
+        for (Object p : params) {
+            sb.append('|');
+            if (p != null) sb.append(p.toString().trim());
+        }
+        return sb.toString();
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*") || c.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private String etag(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("failed to compute ETag", e);
+        }
+    }
+
+    private record CachedResponse(Object body, String etag) {}
+}
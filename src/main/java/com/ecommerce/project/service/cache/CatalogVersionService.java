@@ -0,0 +1,77 @@
+package com.ecommerce.project.service.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 카탈로그 버전 (상품/카테고리 쓰기마다 증가)
+ * - 원본은 Redis 카운터(catalog:version), 각 노드는 pub/sub 로 받은 값을 로컬에 보관
+ *   → 요청마다 Redis 를 읽지 않고 버전 확인
+ * - 응답 캐시 키에 포함되므로 버전이 바뀌면 이전 페이지는 더 이상 사용되지 않음
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersionService.class);
+
+    public static final String VERSION_CHANNEL = "catalog:version:changed";
+    private static final String VERSION_KEY = "catalog:version";
+
+    private final StringRedisTemplate redis;
+
+    private final AtomicLong version = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        try {
+            String v = redis.opsForValue().get(VERSION_KEY);
+            if (v != null) advanceTo(Long.parseLong(v));
+        } catch (RuntimeException e) {
+            logger.warn("catalog version not loaded from Redis: {}", e.getMessage());
+        }
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /** 상품/카테고리 쓰기 후 호출 */
+    public void bump() {
+        try {
+            Long next = redis.opsForValue().increment(VERSION_KEY);
+            if (next != null) {
+                advanceTo(next);
+                redis.convertAndSend(VERSION_CHANNEL, String.valueOf(next));
+                return;
+            }
+        } catch (RuntimeException e) {
+            // 다른 노드는 응답 캐시 TTL 만료로 정리됨
+            logger.warn("catalog version bump failed: {}", e.getMessage());
+        }
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            advanceTo(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            logger.debug("ignored catalog version message");
+        }
+    }
+
+    // 순서가 뒤바뀐 메시지로 버전이 되돌아가지 않도록 증가만 허용
+    private void advanceTo(long v) {
+        version.accumulateAndGet(v, Math::max);
+    }
+}
@@ -0,0 +1,152 @@
+package com.ecommerce.project.service.cache;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CategoryMapper;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 카테고리 전체를 불변 스냅샷으로 메모리에 보관
+ * - 조회는 스냅샷만 사용 (DB 접근 없음), 이름/아이디 조회는 맵 조회
+ * - 생성/수정/삭제 시 DB 에서 다시 읽어 새 스냅샷으로 통째로 교체 (읽는 쪽은 락 없음)
+ * - 다른 노드의 변경은 캐시 무효화 채널의 "category:{id}" 메시지로 받아 다시 읽음
+ * - 메시지를 놓친 경우(재연결, 구독 전 변경)에 대비해 Redis 버전(category:snapshot:version)을 주기적으로 비교하고,
+ *   Redis 를 쓸 수 없을 때도 max-age 가 지나면 다시 읽음
+ */
+@Service
+@RequiredArgsConstructor
+public class CategorySnapshotService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategorySnapshotService.class);
+
+    private static final String CATEGORY_MESSAGE_PREFIX = "category:";
+    private static final String VERSION_KEY = "category:snapshot:version";
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryMapper categoryMapper;
+    private final StringRedisTemplate redis;
+
+    @Value("${app.cache.category.max-age-ms:600000}")
+    private long maxAgeMs;
+
+    private volatile Snapshot snapshot;
+
+    /** 전체 카테고리 (categoryId 순), 반환 목록은 수정 불가 */
+    public List<CategoryDTO> getAll() {
+        return current().all();
+    }
+
+    /** 아이디 조회 (없으면 ResourceNotFoundException) */
+    public CategoryDTO get(Long categoryId) {
+        CategoryDTO category = current().byId().get(categoryId);
+        if (category == null) {
+            throw new ResourceNotFoundException("Category", "categoryId", categoryId);
+        }
+        return copy(category);
+    }
+
+    /** 아이디 존재 확인 */
+    public boolean contains(Long categoryId) {
+        return categoryId != null && current().byId().containsKey(categoryId);
+    }
+
+    /** 이름 중복 확인 */
+    public boolean existsByName(String categoryName) {
+        return categoryName != null && current().byName().containsKey(categoryName);
+    }
+
+    /** 카테고리 생성/수정/삭제 후 호출 → 버전 증가 후 스냅샷 교체 */
+    public void markChanged() {
+        try {
+            redis.opsForValue().increment(VERSION_KEY);
+        } catch (RuntimeException e) {
+            // 다른 노드는 pub/sub 메시지 또는 max-age 로 다시 읽음
+            logger.warn("category snapshot version bump failed: {}", e.getMessage());
+        }
+        reload();
+    }
+
+    /** DB 에서 다시 읽어 스냅샷 교체 (버전은 DB 를 읽기 전에 확인해 두어 그 사이 변경이 다음 점검에 잡히도록) */
+    public synchronized void reload() {
+        String version = readVersion();
+        List<CategoryDTO> all = categoryRepository.findAll().stream()
+                .map(categoryMapper::toDto)
+                .sorted(Comparator.comparing(CategoryDTO::getCategoryId))
+                .toList();
+        Map<Long, CategoryDTO> byId = all.stream()
+                .collect(Collectors.toUnmodifiableMap(CategoryDTO::getCategoryId, Function.identity()));
+        Map<String, CategoryDTO> byName = all.stream()
+                .collect(Collectors.toUnmodifiableMap(CategoryDTO::getCategoryName, Function.identity(), (a, b) -> a));
+        snapshot = new Snapshot(all, byId, byName, version, System.currentTimeMillis());
+    }
+
+    /** 놓친 변경 확인: Redis 버전이 다르거나 max-age 가 지났으면 다시 읽음 */
+    @Scheduled(fixedDelayString = "${app.cache.category.check-interval-ms:10000}")
+    public void checkVersion() {
+        Snapshot s = snapshot;
+        if (s == null) return; // 아직 한 번도 조회되지 않음 (첫 조회 때 읽음)
+        try {
+            String version = readVersion();
+            boolean expired = System.currentTimeMillis() - s.loadedAt() >= maxAgeMs;
+            if (expired || (version != null && !version.equals(s.version()))) {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("category snapshot check failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!new String(message.getBody(), StandardCharsets.UTF_8).startsWith(CATEGORY_MESSAGE_PREFIX)) return;
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // 다음 버전 점검 때 다시 시도, 그동안은 이전 스냅샷 사용
+            logger.warn("category snapshot reload failed: {}", e.getMessage());
+        }
+    }
+
+    /** Redis 버전 (없으면 "0", Redis 장애 시 null) */
+    private String readVersion() {
+        try {
+            String v = redis.opsForValue().get(VERSION_KEY);
+            return v == null ? "0" : v;
+        } catch (RuntimeException e) {
+            logger.debug("category snapshot version not read: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) reload();
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    private CategoryDTO copy(CategoryDTO c) {
+        return new CategoryDTO(c.getCategoryId(), c.getCategoryName());
+    }
+
+    private record Snapshot(List<CategoryDTO> all, Map<Long, CategoryDTO> byId, Map<String, CategoryDTO> byName,
+                            String version, long loadedAt) {}
+}
@@ -0,0 +1,239 @@
+package com.ecommerce.project.service.cache;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 상품 2단계 조회 캐시 (카테고리는 CategorySnapshotService)
+ * - L1: 노드별 Caffeine (크기 + TTL 제한), L2: 공유 Redis (JSON, TTL)
+ * - L1 → L2 → DB 순으로 읽고, 아래 단계에서 읽은 값은 위 단계에 채움
+ * - 수정/삭제 시 L2 삭제 + 키별 무효화 버전 증가 + pub/sub 로 모든 노드의 L1 무효화 + 카탈로그 버전 증가
+ * - 캐시 값은 엔티티가 아닌 DTO (영속성 컨텍스트와 무관, 노드 간 직렬화 가능)
+ */
+@Service
+public class ProductCacheService implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCacheService.class);
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
+    private static final String PRODUCT_PREFIX = "product:";
+    private static final String CATEGORY_PREFIX = "category:";
+    // 무효화 버전 키 보관 기간 (진행 중인 조회보다 충분히 길게)
+    private static final Duration VERSION_TTL = Duration.ofDays(1);
+
+    /**
+     * 버전이 그대로일 때만 L2 에 씀
+     * KEYS[1]=캐시 키, KEYS[2]=버전 키, ARGV[1]=조회 시점 버전('' = 없음), ARGV[2]=값, ARGV[3]=TTL(ms)
+     */
+    private static final DefaultRedisScript<Long> PUT_IF_VERSION_SCRIPT = new DefaultRedisScript<>("""
+            local v = redis.call('GET', KEYS[2]) or ''
+            if v ~= ARGV[1] then return 0 end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    /**
+     * 버전 증가 + L2 삭제
+     * KEYS[1]=캐시 키, KEYS[2]=버전 키, ARGV[1]=버전 키 TTL(ms)
+     */
+    private static final DefaultRedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final CatalogVersionService catalogVersionService;
+    private final Duration l2Ttl;
+
+    private final Cache<Long, ProductDTO> products;
+
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+    private final LongAdder l2Errors = new LongAdder();
+
+    public ProductCacheService(StringRedisTemplate redis,
+                               ObjectMapper objectMapper,
+                               ProductRepository productRepository,
+                               ProductMapper productMapper,
+                               CatalogVersionService catalogVersionService,
+                               @Value("${app.cache.l1.max-size:10000}") long l1MaxSize,
+                               @Value("${app.cache.l1.ttl-seconds:60}") long l1TtlSeconds,
+                               @Value("${app.cache.l2.ttl-seconds:600}") long l2TtlSeconds) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.catalogVersionService = catalogVersionService;
+        this.l2Ttl = Duration.ofSeconds(l2TtlSeconds);
+        this.products = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(Duration.ofSeconds(l1TtlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /** 상품 조회 (없으면 ResourceNotFoundException), 반환값은 복사본이므로 수정해도 됨 */
+    public ProductDTO getProduct(Long productId) {
+        ProductDTO cached = products.get(productId, id -> readThrough(PRODUCT_PREFIX + id, ProductDTO.class,
+                () -> productRepository.findById(id).map(productMapper::toDto).orElse(null)));
+        if (cached == null) {
+            throw new ResourceNotFoundException("Product", "productId", productId);
+        }
+        return productMapper.copy(cached);
+    }
+
+    /** 상품 추가/수정/삭제/이미지·재고 변경 후 호출 */
+    public void evictProduct(Long productId) {
+        evict(PRODUCT_PREFIX + productId);
+    }
+
+    /** 카테고리 생성/수정/삭제 후 호출 (다른 노드는 카테고리 스냅샷을 다시 읽음) */
+    public void evictCategory(Long categoryId) {
+        evict(CATEGORY_PREFIX + categoryId);
+    }
+
+    /** 다른 노드(또는 자신)가 보낸 무효화 메시지 → L1 만 제거 */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /** 적중/실패 통계 */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("l1.products", toMap(products.stats(), products.estimatedSize()));
+        out.put("l2", Map.of(
+                "hits", l2Hits.sum(),
+                "misses", l2Misses.sum(),
+                "errors", l2Errors.sum()));
+        return out;
+    }
+
+    /**
+     * L1 미스 시 L2 → DB 순으로 조회
+     * - L2 값과 함께 무효화 버전을 읽어 두고, DB 에서 읽은 값은 그 사이 버전이 바뀌지 않았을 때만 L2 에 씀
+     *   (무효화 전에 이전 값을 읽은 조회가 무효화 뒤에 L2 를 다시 채우지 못하도록)
+     */
+    private <T> T readThrough(String key, Class<T> type, Supplier<T> loader) {
+        String redisKey = cacheKey(key);
+        String versionKey = versionKey(key);
+        String version = null;
+        try {
+            List<String> values = redis.opsForValue().multiGet(List.of(redisKey, versionKey));
+            String json = values == null ? null : values.get(0);
+            version = values == null ? null : values.get(1);
+            if (json != null) {
+                l2Hits.increment();
+                return objectMapper.readValue(json, type);
+            }
+            l2Misses.increment();
+        } catch (RuntimeException | JsonProcessingException e) {
+            // Redis 장애 시 DB 로 바로 조회
+            l2Errors.increment();
+            logger.debug("L2 cache read failed for {}: {}", redisKey, e.getMessage());
+        }
+
+        T loaded = loader.get();
+        if (loaded != null) {
+            try {
+                redis.execute(PUT_IF_VERSION_SCRIPT, List.of(redisKey, versionKey),
+                        version == null ? "" : version,
+                        objectMapper.writeValueAsString(loaded),
+                        Long.toString(l2Ttl.toMillis()));
+            } catch (RuntimeException | JsonProcessingException e) {
+                l2Errors.increment();
+                logger.debug("L2 cache write failed for {}: {}", redisKey, e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    private void evict(String key) {
+        broadcastEvict(key);
+        // 트랜잭션 안이면 커밋 전에 다시 채워진 이전 값을 커밋 후 한 번 더 제거
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    broadcastEvict(key);
+                }
+            });
+        }
+    }
+
+    private void broadcastEvict(String key) {
+        evictLocal(key);
+        catalogVersionService.bump();
+        try {
+            redis.execute(EVICT_SCRIPT, List.of(cacheKey(key), versionKey(key)), Long.toString(VERSION_TTL.toMillis()));
+            redis.convertAndSend(INVALIDATION_CHANNEL, key);
+        } catch (RuntimeException e) {
+            // 다른 노드 L1 은 TTL 만료로 정리됨
+            l2Errors.increment();
+            logger.warn("cache invalidation broadcast failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void evictLocal(String key) {
+        if (key.startsWith(PRODUCT_PREFIX)) {
+            evictLocal(products, key.substring(PRODUCT_PREFIX.length()));
+        }
+    }
+
+    private void evictLocal(Cache<Long, ?> cache, String id) {
+        try {
+            cache.invalidate(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            logger.debug("ignored invalidation message: {}", id);
+        }
+    }
+
+    private String cacheKey(String key) {
+        return "cache:" + key;
+    }
+
+    private String versionKey(String key) {
+        return "cache:ver:" + key;
+    }
+
+    private Map<String, Object> toMap(CacheStats s, long size) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", size);
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+}
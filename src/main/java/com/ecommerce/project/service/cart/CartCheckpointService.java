@@ -0,0 +1,197 @@
+package com.ecommerce.project.service.cart;
+
+import com.ecommerce.project.util.Money;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 라이브 장바구니(Redis) → PostgreSQL carts / cart_items 체크포인트
+ * - 스케줄러가 cart:dirty 에서 사용자를 꺼내 DB 와 달라진 라인만 한 트랜잭션으로 반영
+ * - 주문 직전에는 checkpoint() 로 해당 사용자만 동기 반영 (주문 트랜잭션에 합류)
+ * - 반영 중 다시 변경되면 스크립트가 dirty 에 다시 넣으므로 다음 주기에 최신 상태로 덮어씀
+ */
+@Service
+public class CartCheckpointService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartCheckpointService.class);
+
+    // 최소 단위 컬럼이 아직 비어 있는 예전 행은 원 단위 값에서 환산
+    private static final String SELECT_ITEMS_SQL =
+            "SELECT product_id, quantity, discount, " +
+            "COALESCE(product_price_minor, ROUND(product_price * 100)::bigint) AS product_price_minor " +
+            "FROM cart_items WHERE cart_id = ?";
+    private static final String DELETE_ITEM_SQL =
+            "DELETE FROM cart_items WHERE cart_id = ? AND product_id = ?";
+    private static final String UPDATE_ITEM_SQL =
+            "UPDATE cart_items SET quantity = ?, product_price = ?, product_price_minor = ?, subtotal_minor = ?, discount = ? " +
+            "WHERE cart_id = ? AND product_id = ?";
+    // 그 사이 삭제된 상품 라인은 건너뜀 (FK 위반으로 체크포인트 전체가 막히지 않도록)
+    private static final String INSERT_ITEM_SQL =
+            "INSERT INTO cart_items (cart_id, product_id, quantity, product_price, product_price_minor, subtotal_minor, discount) " +
+            "SELECT ?, p.product_id, ?, ?, ?, ?, ? FROM products p WHERE p.product_id = ?";
+    private static final String UPDATE_TOTAL_SQL =
+            "UPDATE carts SET total_price = ?, total_minor = ? WHERE cart_id = ?";
+    // 라인은 그대로여도 저장된 총액이 다르면 바로잡음 (같으면 쓰지 않음)
+    private static final String REPAIR_TOTAL_SQL =
+            "UPDATE carts SET total_price = ?, total_minor = ? " +
+            "WHERE cart_id = ? AND (total_minor IS DISTINCT FROM ? OR total_price IS DISTINCT FROM ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisCartStore cartStore;
+    private final int batchSize;
+
+    public CartCheckpointService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 RedisCartStore cartStore,
+                                 @Value("${app.cart.checkpoint.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cartStore = cartStore;
+        this.batchSize = batchSize;
+    }
+
+    /** DB 장바구니를 Redis 에 적재 (이미 적재되어 있으면 그대로 둠) */
+    public void load(String userName, long cartId) {
+        cartStore.load(userName, cartId, readLines(cartId));
+    }
+
+    /** 주기적 반영 */
+    @Scheduled(fixedDelayString = "${app.cart.checkpoint.interval-ms:2000}")
+    public void scheduledCheckpoint() {
+        flushDirty();
+    }
+
+    /** 종료 시 남은 변경 반영 */
+    @PreDestroy
+    public void shutdown() {
+        flushDirty();
+    }
+
+    /**
+     * dirty 사용자 장바구니를 모두 DB 에 반영
+     * @return 반영한 장바구니 수
+     */
+    public int flushDirty() {
+        int written = 0;
+        List<String> users;
+        while (!(users = cartStore.popDirty(batchSize)).isEmpty()) {
+            for (int i = 0; i < users.size(); i++) {
+                try {
+                    if (write(users.get(i))) written++;
+                } catch (RuntimeException ex) {
+                    // 꺼낸 사용자는 다시 dirty 로 돌려 두고 다음 주기에 재시도
+                    users.subList(i, users.size()).forEach(cartStore::markDirty);
+                    logger.warn("cart checkpoint failed ({} carts requeued): {}", users.size() - i, ex.getMessage());
+                    return written;
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 한 사용자 장바구니 동기 반영 (dirty 여부와 무관하게 현재 Redis 상태로 덮어씀)
+     * - 호출 측 트랜잭션이 롤백되면 DB 는 이전 상태로 돌아가므로 다시 dirty 로 표시
+     */
+    public void checkpoint(String userName) {
+        cartStore.clearDirty(userName);
+        try {
+            write(userName);
+        } catch (RuntimeException ex) {
+            cartStore.markDirty(userName);
+            throw ex;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        cartStore.markDirty(userName);
+                    }
+                }
+            });
+        }
+    }
+
+    private boolean write(String userName) {
+        RedisCartStore.Snapshot cart = cartStore.read(userName);
+        if (cart == null || cart.cartId() == null) return false; // 만료되었거나 적재 전
+
+        writeCart(cart);
+        return true;
+    }
+
+    /**
+     * 장바구니 한 건을 DB 에 반영 (호출 측 트랜잭션이 있으면 합류)
+     * - 현재 DB 라인을 한 번 읽어 비교한 뒤 추가/변경/삭제된 라인만 각각 배치로 씀
+     * - 바뀐 라인이 없으면 총액이 어긋난 경우에만 총액을 씀
+     * @return 추가/변경/삭제한 라인 수
+     */
+    public int writeCart(RedisCartStore.Snapshot cart) {
+        long cartId = cart.cartId();
+        Integer changed = transactionTemplate.execute(status -> {
+            Map<Long, RedisCartStore.Line> stored = new HashMap<>();
+            Set<Long> duplicated = new HashSet<>();
+            for (RedisCartStore.Line line : readLines(cartId)) {
+                if (stored.put(line.productId(), line) != null) duplicated.add(line.productId());
+            }
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            List<Object[]> deletes = new ArrayList<>();
+            Set<Long> live = new HashSet<>();
+            for (RedisCartStore.Line line : cart.lines()) {
+                live.add(line.productId());
+                RedisCartStore.Line old = stored.get(line.productId());
+                if (old == null || duplicated.contains(line.productId())) {
+                    // 예전 데이터에 같은 상품이 여러 줄 있으면 지우고 한 줄로 다시 씀
+                    if (old != null) deletes.add(new Object[]{cartId, line.productId()});
+                    inserts.add(new Object[]{cartId, line.quantity(), Money.toMajor(line.priceMinor()), line.priceMinor(),
+                            line.subtotalMinor(), line.discount(), line.productId()});
+                } else if (!old.equals(line)) {
+                    updates.add(new Object[]{line.quantity(), Money.toMajor(line.priceMinor()), line.priceMinor(),
+                            line.subtotalMinor(), line.discount(), cartId, line.productId()});
+                }
+            }
+            for (Long productId : stored.keySet()) {
+                if (!live.contains(productId)) deletes.add(new Object[]{cartId, productId});
+            }
+
+            if (inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty()) {
+                jdbcTemplate.update(REPAIR_TOTAL_SQL, cart.totalPrice(), cart.totalMinor(), cartId,
+                        cart.totalMinor(), cart.totalPrice());
+                return 0;
+            }
+            if (!deletes.isEmpty()) jdbcTemplate.batchUpdate(DELETE_ITEM_SQL, deletes);
+            if (!updates.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, updates);
+            if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, inserts);
+            jdbcTemplate.update(UPDATE_TOTAL_SQL, cart.totalPrice(), cart.totalMinor(), cartId);
+            return inserts.size() + updates.size() + deletes.size();
+        });
+        return changed == null ? 0 : changed;
+    }
+
+    private List<RedisCartStore.Line> readLines(long cartId) {
+        return jdbcTemplate.query(SELECT_ITEMS_SQL, (rs, i) -> new RedisCartStore.Line(
+                rs.getLong("product_id"),
+                rs.getInt("quantity"),
+                rs.getLong("product_price_minor"),
+                rs.getDouble("discount")), cartId);
+    }
+}
@@ -0,0 +1,289 @@
+package com.ecommerce.project.service.cart;
+
+import com.ecommerce.project.util.Money;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 상품 가격 변경 → 장바구니 라인 단가 반영 (비동기, 일괄)
+ * - 관리자 요청은 Redis 대기열(cart:reprice:pending)에 "단가|할인율|진행 위치"만 기록하고 바로 반환
+ *   (같은 상품의 대기 중인 변경은 마지막 가격으로 덮어씀, 재시작/배포 후에도 남아 있음)
+ * - cart_item_id 기준 청크마다 set-based UPDATE 1번으로 단가/소계 변경, 총액은 SQL 로 재계산
+ * - 청크가 커밋된 뒤에만 진행 위치를 갱신하고, 끝까지 반영된 뒤에만 대기열에서 제거 (실패 시 주기적으로 재시도)
+ * - 아직 DB 에 반영되지 않은 라이브 장바구니(Redis)는 drain 한 번마다 먼저 체크포인트하고, 바뀐 장바구니의 Redis 라인도 갱신
+ * - 상품별 잠금은 청크마다 연장 (오래 걸리는 인기 상품도 다른 노드와 동시에 처리하지 않음)
+ */
+@Service
+public class CartPriceFanOutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartPriceFanOutService.class);
+
+    private static final String PENDING_KEY = "cart:reprice:pending";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(5);
+
+    // 청크 단위 단가/소계 변경 (cart_item_id 키셋 페이지), 바뀐 라인의 장바구니/사용자 반환
+    private static final String REPRICE_CHUNK_SQL =
+            "WITH chunk AS (" +
+            "    SELECT ci.cart_item_id, ci.cart_id, u.username FROM cart_items ci " +
+            "    LEFT JOIN carts c ON c.cart_id = ci.cart_id LEFT JOIN users u ON u.user_id = c.user_id " +
+            "    WHERE ci.product_id = ? AND ci.cart_item_id > ? ORDER BY ci.cart_item_id LIMIT ?) " +
+            "UPDATE cart_items ci SET product_price = ?, product_price_minor = ?, " +
+            "    subtotal_minor = ci.quantity * ?::bigint, discount = ? " +
+            "FROM chunk WHERE ci.cart_item_id = chunk.cart_item_id " +
+            "RETURNING chunk.cart_item_id, chunk.cart_id, chunk.username";
+    private static final String RECOMPUTE_TOTALS_SQL =
+            "UPDATE carts c SET total_minor = s.total, total_price = (s.total / 100.0)::double precision " +
+            "FROM (SELECT cart_id, COALESCE(SUM(COALESCE(subtotal_minor, " +
+            "              quantity * ROUND(product_price * 100)::bigint)), 0) AS total " +
+            "      FROM cart_items WHERE cart_id = ANY(?) GROUP BY cart_id) s " +
+            "WHERE c.cart_id = s.cart_id";
+
+    /**
+     * 대기열 항목 교체 (값이 그대로일 때만, 그 사이 새 가격이 들어왔으면 0)
+     * KEYS[1]=대기열, ARGV[1]=상품 id, ARGV[2]=기대 값, ARGV[3]=새 값 (없으면 삭제)
+     */
+    private static final DefaultRedisScript<Long> COMPARE_AND_SET_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], ARGV[1]) ~= ARGV[2] then return 0 end
+            if ARGV[3] == nil or ARGV[3] == '' then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+            else
+                redis.call('HSET', KEYS[1], ARGV[1], ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    /**
+     * 잠금 연장 (아직 내 잠금일 때만)
+     * KEYS[1]=잠금 키, ARGV[1]=내 토큰, ARGV[2]=TTL(ms)
+     */
+    private static final DefaultRedisScript<Long> EXTEND_LOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    /**
+     * 잠금 해제 (만료 후 다른 노드가 잡은 잠금은 지우지 않음)
+     * KEYS[1]=잠금 키, ARGV[1]=내 토큰
+     */
+    private static final DefaultRedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    /** 대기열 값: 단가(최소 단위) | 할인율 | 마지막으로 반영한 cart_item_id */
+    record PriceChange(long productId, long priceMinor, double discount, long lastCartItemId) {
+        String encode() {
+            return priceMinor + "|" + discount + "|" + lastCartItemId;
+        }
+
+        static PriceChange decode(long productId, String value) {
+            String[] parts = value.split("\\|");
+            return new PriceChange(productId, Long.parseLong(parts[0]), Double.parseDouble(parts[1]),
+                    parts.length > 2 ? Long.parseLong(parts[2]) : 0L);
+        }
+
+        PriceChange advancedTo(long cartItemId) {
+            return new PriceChange(productId, priceMinor, discount, cartItemId);
+        }
+    }
+
+    private record Repriced(long cartItemId, long cartId, String userName) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redis;
+    private final RedisCartStore cartStore;
+    private final CartCheckpointService cartCheckpointService;
+    private final int batchSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "cart-price-fan-out"));
+    // 실행 대기 중인 drain 작업이 이미 있으면 더 넣지 않음
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    public CartPriceFanOutService(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  StringRedisTemplate redis,
+                                  RedisCartStore cartStore,
+                                  CartCheckpointService cartCheckpointService,
+                                  @Value("${app.cart.price-fan-out.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.redis = redis;
+        this.cartStore = cartStore;
+        this.cartCheckpointService = cartCheckpointService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 가격 변경 등록 (트랜잭션 안이면 커밋 후에 등록)
+     * @param specialPrice 할인 적용 후 단가 (원 단위)
+     */
+    public void submit(long productId, double specialPrice, double discount) {
+        PriceChange change = new PriceChange(productId, Money.toMinor(specialPrice), discount, 0L);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(change);
+                }
+            });
+        } else {
+            enqueue(change);
+        }
+    }
+
+    private void enqueue(PriceChange change) {
+        // 대기 중인 같은 상품의 이전 가격은 덮어씀 (진행 위치도 처음부터)
+        redis.opsForHash().put(PENDING_KEY, Long.toString(change.productId()), change.encode());
+        kick();
+    }
+
+    /** 실패했거나 재시작 전에 남은 항목 재시도 */
+    @Scheduled(fixedDelayString = "${app.cart.price-fan-out.retry-interval-ms:10000}")
+    public void scheduledRetry() {
+        kick();
+    }
+
+    private void kick() {
+        if (drainQueued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                drainQueued.set(false);
+                drain();
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow(); // 남은 항목은 Redis 대기열에 있으므로 다음 기동 때 이어서 반영
+    }
+
+    /** 대기열이 빌 때까지 반영 (실패하거나 다른 노드가 처리 중이면 다음 주기로 넘김) */
+    void drain() {
+        while (true) {
+            Map<Object, Object> entries;
+            try {
+                entries = redis.opsForHash().entries(PENDING_KEY);
+            } catch (RuntimeException ex) {
+                logger.warn("cart price fan-out queue read failed: {}", ex.getMessage());
+                return;
+            }
+            if (entries.isEmpty()) return;
+
+            // 라이브 장바구니에만 있는 라인도 DB 에서 찾을 수 있도록 먼저 반영 (상품 수와 무관하게 한 번)
+            try {
+                cartCheckpointService.flushDirty();
+            } catch (RuntimeException ex) {
+                logger.warn("cart checkpoint before price fan-out failed (will retry): {}", ex.getMessage());
+                return;
+            }
+
+            boolean allDone = true;
+            for (Map.Entry<Object, Object> e : entries.entrySet()) {
+                long productId = Long.parseLong(String.valueOf(e.getKey()));
+                allDone &= run(PriceChange.decode(productId, String.valueOf(e.getValue())));
+            }
+            if (!allDone) return;
+        }
+    }
+
+    /** @return 끝까지 반영했거나 새 가격으로 대체되었으면 true */
+    private boolean run(PriceChange change) {
+        Lock lock = new Lock("cart:reprice:lock:" + change.productId(), UUID.randomUUID().toString());
+        Boolean locked = redis.opsForValue().setIfAbsent(lock.key(), lock.token(), LOCK_TTL);
+        if (!Boolean.TRUE.equals(locked)) return false;
+        try {
+            long started = System.currentTimeMillis();
+            int lines = fanOut(change, lock);
+            if (lines >= 0) {
+                logger.info("cart price fan-out for product {}: {} lines repriced in {} ms",
+                        change.productId(), lines, System.currentTimeMillis() - started);
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            logger.warn("cart price fan-out failed for product {} (will retry): {}", change.productId(), ex.getMessage());
+            return false;
+        } finally {
+            redis.execute(RELEASE_LOCK_SCRIPT, List.of(lock.key()), lock.token());
+        }
+    }
+
+    private record Lock(String key, String token) {}
+
+    /** @return 단가를 바꾼 라인 수, 처리 중 새 가격으로 대체되었으면 -1 */
+    private int fanOut(PriceChange change, Lock lock) {
+        PriceChange current = change;
+        int total = 0;
+        while (true) {
+            long afterId = current.lastCartItemId();
+            PriceChange c = current;
+            List<Repriced> chunk = transactionTemplate.execute(status -> repriceChunk(c, afterId));
+            if (chunk == null || chunk.isEmpty()) break;
+
+            long lastId = afterId;
+            Set<String> users = new HashSet<>();
+            for (Repriced r : chunk) {
+                lastId = Math.max(lastId, r.cartItemId());
+                if (r.userName() != null) users.add(r.userName());
+            }
+            // Redis 에 적재된 장바구니도 같은 단가로 (적재되지 않은 장바구니는 무시됨)
+            for (String userName : users) {
+                cartStore.reprice(userName, change.productId(), change.priceMinor(), change.discount());
+            }
+            total += chunk.size();
+
+            // 다음 청크 전에 잠금 연장 (그 사이 만료되어 다른 노드가 가져갔으면 중단, 진행 위치는 아래에서 기록되지 않음)
+            Long extended = redis.execute(EXTEND_LOCK_SCRIPT, List.of(lock.key()), lock.token(),
+                    Long.toString(LOCK_TTL.toMillis()));
+            if (extended == null || extended != 1L) {
+                throw new IllegalStateException("fan-out lock lost for product " + change.productId());
+            }
+
+            // 커밋된 청크까지 진행 위치 기록 (그 사이 새 가격이 들어왔으면 중단하고 새 가격을 처음부터)
+            PriceChange next = current.advancedTo(lastId);
+            if (!compareAndSet(current, next.encode())) return -1;
+            current = next;
+            if (chunk.size() < batchSize) break;
+        }
+        return compareAndSet(current, "") ? total : -1;
+    }
+
+    private boolean compareAndSet(PriceChange expected, String newValue) {
+        Long res = redis.execute(COMPARE_AND_SET_SCRIPT, List.of(PENDING_KEY),
+                Long.toString(expected.productId()), expected.encode(), newValue);
+        return res != null && res == 1L;
+    }
+
+    private List<Repriced> repriceChunk(PriceChange change, long afterId) {
+        List<Repriced> repriced = jdbcTemplate.query(REPRICE_CHUNK_SQL, (rs, i) -> new Repriced(
+                        rs.getLong("cart_item_id"), rs.getLong("cart_id"), rs.getString("username")),
+                change.productId(), afterId, batchSize,
+                Money.toMajor(change.priceMinor()), change.priceMinor(), change.priceMinor(), change.discount());
+        if (repriced.isEmpty()) return repriced;
+
+        Long[] cartIds = repriced.stream().map(Repriced::cartId).distinct().toArray(Long[]::new);
+        jdbcTemplate.update(RECOMPUTE_TOTALS_SQL, ps -> {
+            Array array = ps.getConnection().createArrayOf("bigint", cartIds);
+            ps.setArray(1, array);
+        });
+        return repriced;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.project.service.cart;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * 장바구니 금액 정합성 점검
+ * - cart_id 구간 단위로 훑으면서 라인 소계(수량 × 단가)와 장바구니 총액(소계 합)을 SQL 로 다시 계산
+ * - 값이 다른 행만 갱신하므로 정상 상태에서는 읽기만 함
+ * - 최소 단위 컬럼이 비어 있는 예전 행은 원 단위 값에서 환산해 채움 (최초 실행 시 백필 역할)
+ */
+@Service
+public class CartTotalReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartTotalReconciler.class);
+
+    private static final String ID_RANGE_SQL =
+            "SELECT MIN(cart_id) AS min_id, MAX(cart_id) AS max_id FROM carts";
+    private static final String REPAIR_LINES_SQL =
+            "UPDATE cart_items SET " +
+            "product_price_minor = COALESCE(product_price_minor, ROUND(product_price * 100)::bigint), " +
+            "subtotal_minor = quantity * COALESCE(product_price_minor, ROUND(product_price * 100)::bigint) " +
+            "WHERE cart_id >= ? AND cart_id < ? " +
+            "AND (product_price_minor IS NULL OR subtotal_minor IS DISTINCT FROM quantity * product_price_minor)";
+    private static final String REPAIR_TOTALS_SQL =
+            "UPDATE carts c SET total_minor = s.total, total_price = (s.total / 100.0)::double precision " +
+            "FROM (SELECT c2.cart_id, COALESCE(SUM(ci.subtotal_minor), 0) AS total " +
+            "      FROM carts c2 LEFT JOIN cart_items ci ON ci.cart_id = c2.cart_id " +
+            "      WHERE c2.cart_id >= ? AND c2.cart_id < ? GROUP BY c2.cart_id) s " +
+            "WHERE c.cart_id = s.cart_id " +
+            "AND (c.total_minor IS DISTINCT FROM s.total " +
+            "     OR c.total_price IS DISTINCT FROM (s.total / 100.0)::double precision)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CartTotalReconciler(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.cart.reconcile.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.reconcile.interval-ms:3600000}",
+               initialDelayString = "${app.cart.reconcile.initial-delay-ms:60000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            logger.warn("cart total reconciliation failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * 전체 장바구니 점검 (구간마다 짧은 트랜잭션)
+     * @return 바로잡은 장바구니 수
+     */
+    public int reconcile() {
+        Map<String, Object> range = jdbcTemplate.queryForMap(ID_RANGE_SQL);
+        if (range.get("min_id") == null) return 0;
+        long minId = ((Number) range.get("min_id")).longValue();
+        long maxId = ((Number) range.get("max_id")).longValue();
+
+        int repairedLines = 0;
+        int repairedCarts = 0;
+        for (long from = minId; from <= maxId; from += batchSize) {
+            long lo = from;
+            long hi = from + batchSize;
+            int[] repaired = transactionTemplate.execute(status -> new int[]{
+                    jdbcTemplate.update(REPAIR_LINES_SQL, lo, hi),
+                    jdbcTemplate.update(REPAIR_TOTALS_SQL, lo, hi)});
+            if (repaired != null) {
+                repairedLines += repaired[0];
+                repairedCarts += repaired[1];
+            }
+        }
+        if (repairedLines > 0 || repairedCarts > 0) {
+            logger.info("cart totals reconciled: {} lines, {} carts repaired", repairedLines, repairedCarts);
+        }
+        return repairedCarts;
+    }
+}
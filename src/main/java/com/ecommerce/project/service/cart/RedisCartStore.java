@@ -0,0 +1,360 @@
+package com.ecommerce.project.service.cart;
+
+import com.ecommerce.project.util.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * 사용자별 라이브 장바구니 (Redis 해시)
+ * - cart:{username} 해시: "_id" = DB cart_id, "{productId}" = "수량|단가(최소 단위)|할인율"
+ * - 변경은 Lua 스크립트로 원자적으로 1회 왕복, 변경된 사용자는 cart:dirty 집합에 기록
+ * - DB(carts / cart_items) 반영은 CartCheckpointService 가 주기적으로, 그리고 주문 시 동기로 수행
+ * - 해시가 없으면(NOT_LOADED) 호출 측이 DB 에서 적재한 뒤 다시 시도
+ */
+@Service
+public class RedisCartStore {
+
+    private static final String DIRTY_KEY = "cart:dirty";
+    private static final String CART_ID_FIELD = "_id";
+
+    private final StringRedisTemplate redis;
+    private final String ttlSeconds;
+
+    public RedisCartStore(StringRedisTemplate redis,
+                          @Value("${app.cart.ttl-seconds:604800}") long ttlSeconds) {
+        this.redis = redis;
+        this.ttlSeconds = Long.toString(ttlSeconds);
+    }
+
+    private String cartKey(String userName) {
+        if (userName == null || userName.isBlank()) {
+            throw new IllegalArgumentException("userName must not be null/blank");
+        }
+        return "cart:" + userName;
+    }
+
+    public enum Status { OK, NOT_LOADED, OUT_OF_STOCK, NOT_IN_CART, NEGATIVE_QUANTITY }
+
+    /** 장바구니 라인 (단가는 최소 단위, Money 참고) */
+    public record Line(long productId, int quantity, long priceMinor, double discount) {
+        public long subtotalMinor() {
+            return Money.subtotal(priceMinor, quantity);
+        }
+    }
+
+    /** 장바구니 전체 (총액은 라인 소계의 정수 합이므로 따로 저장하지 않음) */
+    public record Snapshot(Long cartId, List<Line> lines) {
+        public long totalMinor() {
+            long total = 0;
+            for (Line line : lines) {
+                total = Math.addExact(total, line.subtotalMinor());
+            }
+            return total;
+        }
+
+        public double totalPrice() {
+            return Money.toMajor(totalMinor());
+        }
+    }
+
+    /** 변경 결과 (status 가 OK 일 때만 cart 가 채워짐, changed = 바뀐 라인 수) */
+    public record Result(Status status, int changed, Snapshot cart) {}
+
+    /**
+     * 담기 스크립트
+     * KEYS[1]=장바구니 해시, KEYS[2]=dirty 집합
+     * ARGV[1]=상품 id, ARGV[2]=요청 수량, ARGV[3]=재고, ARGV[4]=단가, ARGV[5]=할인율, ARGV[6]=사용자, ARGV[7]=TTL(초)
+     * - 이미 담긴 상품이면 수량만 1 증가 (담을 때의 단가 유지), 없으면 요청 수량으로 추가
+     * 반환: {1, HGETALL} / {-1}=미적재 / {-2}=재고 초과
+     */
+    private static final DefaultRedisScript<List> ADD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return {-1} end
+            local cur = redis.call('HGET', KEYS[1], ARGV[1])
+            local value
+            if cur then
+                local sep = string.find(cur, '|', 1, true)
+                local qty = tonumber(string.sub(cur, 1, sep - 1)) + 1
+                if qty > tonumber(ARGV[3]) then return {-2} end
+                value = qty .. string.sub(cur, sep)
+            else
+                if tonumber(ARGV[2]) > tonumber(ARGV[3]) then return {-2} end
+                value = ARGV[2] .. '|' .. ARGV[4] .. '|' .. ARGV[5]
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], value)
+            redis.call('SADD', KEYS[2], ARGV[6])
+            redis.call('EXPIRE', KEYS[1], ARGV[7])
+            return {1, redis.call('HGETALL', KEYS[1])}
+            """, List.class);
+
+    /**
+     * 수량 증감 스크립트 (0 이 되면 라인 삭제, 남는 라인은 현재 단가/할인율로 갱신)
+     * ARGV[1]=상품 id, ARGV[2]=증감, ARGV[3]=재고, ARGV[4]=단가, ARGV[5]=할인율, ARGV[6]=사용자, ARGV[7]=TTL(초)
+     * 반환: {1, HGETALL} / {-1}=미적재 / {-2}=재고 초과 / {-3}=장바구니에 없음 / {-4}=음수 수량
+     */
+    private static final DefaultRedisScript<List> CHANGE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return {-1} end
+            local cur = redis.call('HGET', KEYS[1], ARGV[1])
+            if not cur then return {-3} end
+            local delta = tonumber(ARGV[2])
+            local qty = tonumber(string.match(cur, '^[^|]+')) + delta
+            if qty < 0 then return {-4} end
+            if delta > 0 and qty > tonumber(ARGV[3]) then return {-2} end
+            if qty == 0 then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+            else
+                redis.call('HSET', KEYS[1], ARGV[1], qty .. '|' .. ARGV[4] .. '|' .. ARGV[5])
+            end
+            redis.call('SADD', KEYS[2], ARGV[6])
+            redis.call('EXPIRE', KEYS[1], ARGV[7])
+            return {1, redis.call('HGETALL', KEYS[1])}
+            """, List.class);
+
+    /**
+     * 라인 삭제 스크립트 (ARGV[1]=상품 id, ARGV[2]=사용자, ARGV[3]=TTL(초))
+     * 반환: {1, HGETALL} / {-1}=미적재 / {-3}=장바구니에 없음
+     */
+    private static final DefaultRedisScript<List> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return {-1} end
+            if redis.call('HDEL', KEYS[1], ARGV[1]) == 0 then return {-3} end
+            redis.call('SADD', KEYS[2], ARGV[2])
+            redis.call('EXPIRE', KEYS[1], ARGV[3])
+            return {1, redis.call('HGETALL', KEYS[1])}
+            """, List.class);
+
+    /**
+     * 단가 갱신 스크립트 (상품 가격 변경 시, 수량은 유지)
+     * ARGV[1]=상품 id, ARGV[2]=단가, ARGV[3]=할인율, ARGV[4]=사용자
+     * 반환: 1=갱신 / 0=해당 라인 없음
+     */
+    private static final DefaultRedisScript<Long> REPRICE_SCRIPT = new DefaultRedisScript<>("""
+            local cur = redis.call('HGET', KEYS[1], ARGV[1])
+            if not cur then return 0 end
+            redis.call('HSET', KEYS[1], ARGV[1], string.match(cur, '^[^|]+') .. '|' .. ARGV[2] .. '|' .. ARGV[3])
+            redis.call('SADD', KEYS[2], ARGV[4])
+            return 1
+            """, Long.class);
+
+    /**
+     * 병합 스크립트: 게스트 장바구니 라인을 사용자 장바구니에 더함
+     * ARGV[1]=사용자, ARGV[2]=TTL(초), ARGV[3..]=상품 id / 수량 / 재고 / "단가|할인율" 4개씩
+     * - 양쪽에 있는 라인은 수량을 합치고 담을 때의 단가 유지, 사용자 장바구니에만 있는 라인은 그대로
+     * - 합친 수량은 재고까지로 자르고, 이미 재고보다 많이 담긴 라인은 줄이지 않음
+     * - 수량이 늘어난 라인만 쓰고, 바뀐 것이 없으면 dirty 표시도 하지 않음
+     * 반환: {바뀐 라인 수, HGETALL} / {-1}=미적재
+     */
+    private static final DefaultRedisScript<List> MERGE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return {-1} end
+            local changed = 0
+            for i = 3, #ARGV, 4 do
+                local pid = ARGV[i]
+                local have, rest = 0, '|' .. ARGV[i + 3]
+                local cur = redis.call('HGET', KEYS[1], pid)
+                if cur then
+                    local sep = string.find(cur, '|', 1, true)
+                    have = tonumber(string.sub(cur, 1, sep - 1))
+                    rest = string.sub(cur, sep)
+                end
+                local qty = math.min(have + tonumber(ARGV[i + 1]), tonumber(ARGV[i + 2]))
+                if qty > have then
+                    redis.call('HSET', KEYS[1], pid, qty .. rest)
+                    changed = changed + 1
+                end
+            end
+            if changed > 0 then redis.call('SADD', KEYS[2], ARGV[1]) end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return {changed, redis.call('HGETALL', KEYS[1])}
+            """, List.class);
+
+    /**
+     * DB 적재 스크립트 (다른 요청이 먼저 적재했으면 그대로 둠)
+     * ARGV[1]=TTL(초), ARGV[2..]=필드/값 쌍
+     */
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            for i = 2, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    /** 상품 담기 */
+    public Result add(String userName, long productId, int quantity, int stock, long priceMinor, double discount) {
+        return mutate(ADD_SCRIPT, userName, String.valueOf(productId), Integer.toString(quantity),
+                Integer.toString(stock), Long.toString(priceMinor), Double.toString(discount), userName, ttlSeconds);
+    }
+
+    /** 수량 증감 */
+    public Result changeQuantity(String userName, long productId, int delta, int stock, long priceMinor, double discount) {
+        return mutate(CHANGE_SCRIPT, userName, String.valueOf(productId), Integer.toString(delta),
+                Integer.toString(stock), Long.toString(priceMinor), Double.toString(discount), userName, ttlSeconds);
+    }
+
+    /** 라인 삭제 */
+    public Result remove(String userName, long productId) {
+        return mutate(REMOVE_SCRIPT, userName, String.valueOf(productId), userName, ttlSeconds);
+    }
+
+    /**
+     * 라인 삭제 (트랜잭션 안이면 커밋된 뒤에만 삭제)
+     * - DB 삭제와 같은 트랜잭션에서 호출될 때 롤백되면 라이브 장바구니도 그대로 남아야 함
+     * @return 현재 라이브 장바구니에 해당 라인이 있는지 여부
+     */
+    public boolean removeAfterCommit(String userName, long productId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return remove(userName, productId).status() == Status.OK;
+        }
+        Snapshot live = read(userName);
+        boolean present = live != null && live.lines().stream().anyMatch(l -> l.productId() == productId);
+        if (present) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(userName, productId);
+                }
+            });
+        }
+        return present;
+    }
+
+    /** 담겨 있는 라인의 단가/할인율 갱신 (적재되지 않은 장바구니는 DB 가 원본이므로 무시) */
+    public boolean reprice(String userName, long productId, long priceMinor, double discount) {
+        Long res = redis.execute(REPRICE_SCRIPT, List.of(cartKey(userName), DIRTY_KEY),
+                String.valueOf(productId), Long.toString(priceMinor), Double.toString(discount), userName);
+        return res != null && res == 1L;
+    }
+
+    /**
+     * 게스트 장바구니 병합 (라인마다 재고 상한, 수량이 늘어난 라인만 반영)
+     * @param stock 상품 id → 재고
+     */
+    public Result merge(String userName, List<Line> lines, Map<Long, Integer> stock) {
+        List<String> args = new ArrayList<>(2 + lines.size() * 4);
+        args.add(userName);
+        args.add(ttlSeconds);
+        for (Line line : lines) {
+            args.add(Long.toString(line.productId()));
+            args.add(Integer.toString(line.quantity()));
+            args.add(Integer.toString(stock.getOrDefault(line.productId(), 0)));
+            args.add(line.priceMinor() + "|" + line.discount());
+        }
+        return mutate(MERGE_SCRIPT, userName, args.toArray(String[]::new));
+    }
+
+    private Result mutate(DefaultRedisScript<List> script, String userName, String... args) {
+        List<?> res = redis.execute(script, List.of(cartKey(userName), DIRTY_KEY), (Object[]) args);
+        if (res == null || res.isEmpty()) {
+            throw new IllegalStateException("cart script returned no result for user: " + userName);
+        }
+        int code = ((Number) res.get(0)).intValue();
+        if (code >= 0 && res.size() > 1) {
+            // 병합은 바뀐 라인 수, 나머지 스크립트는 1
+            return new Result(Status.OK, code, parse((List<?>) res.get(1)));
+        }
+        return switch (code) {
+            case -1 -> new Result(Status.NOT_LOADED, 0, null);
+            case -2 -> new Result(Status.OUT_OF_STOCK, 0, null);
+            case -3 -> new Result(Status.NOT_IN_CART, 0, null);
+            case -4 -> new Result(Status.NEGATIVE_QUANTITY, 0, null);
+            default -> throw new IllegalStateException("unexpected cart script result: " + code);
+        };
+    }
+
+    /** 현재 장바구니 (적재되지 않았으면 null) */
+    public Snapshot read(String userName) {
+        Map<Object, Object> entries = redis.opsForHash().entries(cartKey(userName));
+        if (entries.isEmpty()) return null;
+        List<Object> flat = new ArrayList<>(entries.size() * 2);
+        entries.forEach((k, v) -> {
+            flat.add(k);
+            flat.add(v);
+        });
+        return parse(flat);
+    }
+
+    /** DB 에서 읽은 장바구니 적재 (이미 적재되어 있으면 false) */
+    public boolean load(String userName, long cartId, List<Line> lines) {
+        List<String> args = new ArrayList<>(2 + lines.size() * 2);
+        args.add(ttlSeconds);
+        args.add(CART_ID_FIELD);
+        args.add(Long.toString(cartId));
+        for (Line line : lines) {
+            args.add(Long.toString(line.productId()));
+            args.add(encode(line));
+        }
+        Long res = redis.execute(LOAD_SCRIPT, List.of(cartKey(userName)), args.toArray());
+        return res != null && res == 1L;
+    }
+
+    /**
+     * 라이브 장바구니 제거 (DB 를 직접 다시 쓴 경우, 다음 접근 시 DB 에서 재적재)
+     * - 트랜잭션 안이면 커밋 전에 이전 DB 상태로 재적재된 값을 커밋 후 한 번 더 제거
+     */
+    public void evict(String userName) {
+        deleteLive(userName);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteLive(userName);
+                }
+            });
+        }
+    }
+
+    private void deleteLive(String userName) {
+        redis.delete(cartKey(userName));
+        redis.opsForSet().remove(DIRTY_KEY, userName);
+    }
+
+    /** DB 반영 대상 사용자 최대 count 명을 꺼냄 */
+    public List<String> popDirty(int count) {
+        List<String> users = redis.opsForSet().pop(DIRTY_KEY, count);
+        return users == null ? List.of() : users;
+    }
+
+    public void markDirty(String userName) {
+        redis.opsForSet().add(DIRTY_KEY, userName);
+    }
+
+    public void clearDirty(String userName) {
+        redis.opsForSet().remove(DIRTY_KEY, userName);
+    }
+
+    private static String encode(Line line) {
+        return line.quantity() + "|" + line.priceMinor() + "|" + line.discount();
+    }
+
+    /** HGETALL 결과(필드, 값 교대) → Snapshot */
+    private static Snapshot parse(List<?> flat) {
+        Long cartId = null;
+        List<Line> lines = new ArrayList<>();
+        for (int i = 0; i + 1 < flat.size(); i += 2) {
+            String field = String.valueOf(flat.get(i));
+            String value = String.valueOf(flat.get(i + 1));
+            if (CART_ID_FIELD.equals(field)) {
+                cartId = Long.parseLong(value);
+                continue;
+            }
+            String[] parts = value.split("\\|");
+            lines.add(new Line(Long.parseLong(field), (int) Double.parseDouble(parts[0]),
+                    parsePriceMinor(parts[1]), Double.parseDouble(parts[2])));
+        }
+        lines.sort(Comparator.comparingLong(Line::productId));
+        return new Snapshot(cartId, lines);
+    }
+
+    /** 단가: 최소 단위 정수 (이전 형식인 원 단위 실수도 읽음) */
+    private static long parsePriceMinor(String value) {
+        if (value.indexOf('.') < 0 && value.indexOf('E') < 0) {
+            return Long.parseLong(value);
+        }
+        return Money.toMinor(Double.parseDouble(value));
+    }
+}
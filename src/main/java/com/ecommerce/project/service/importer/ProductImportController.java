@@ -0,0 +1,60 @@
+package com.ecommerce.project.service.importer;
+
+import com.ecommerce.project.payload.ProductImportStatusDTO;
+import com.ecommerce.project.util.AuthUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/products/import")
+@RequiredArgsConstructor
+public class ProductImportController {
+
+    private final ProductImportService importService;
+
+    private final AuthUtil authUtil;
+
+    /**
+     * 상품 대량 가져오기 시작 (CSV 헤더 / NDJSON 필드: productName, description, quantity, price, discount, categoryId)
+     * - 202 와 jobId 를 바로 반환, 진행 상황은 GET /{jobId}
+     * - 멀티파트는 전역 업로드 제한(spring.servlet.multipart) 안의 작은 파일용
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImportStatusDTO> startImport(@RequestParam("file") MultipartFile file,
+                                                              @RequestParam(name = "format", required = false) String format) throws IOException {
+        ProductImportStatusDTO status = importService.start(file, format, currentSellerId());
+        return new ResponseEntity<>(status, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * 큰 파일: 요청 본문에 파일 내용을 그대로 전송 (Content-Type: text/csv 또는 application/x-ndjson)
+     * - 크기 제한은 app.product-import.max-bytes (이 엔드포인트에만 적용)
+     */
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ProductImportStatusDTO> startRawImport(HttpServletRequest request,
+                                                                 @RequestParam(name = "format", required = false) String format) throws IOException {
+        ProductImportStatusDTO status = importService.start(request.getInputStream(), format, request.getContentType(), currentSellerId());
+        return new ResponseEntity<>(status, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ProductImportStatusDTO> getImportStatus(@PathVariable String jobId) {
+        return new ResponseEntity<>(importService.getStatus(jobId), HttpStatus.OK);
+    }
+
+    // 로그인한 판매자가 올리면 판매자로 지정 (비로그인/조회 실패 시 지정하지 않음)
+    private Long currentSellerId() {
+        try {
+            return authUtil.loggedInUserId();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.project.service.importer;
+
+import com.ecommerce.project.payload.ProductImportStatusDTO;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** 가져오기 작업 진행 상황 (처리 스레드가 갱신, 조회 API 가 읽음) */
+class ProductImportJob {
+
+    enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    final String id = UUID.randomUUID().toString();
+    final AtomicLong processed = new AtomicLong();
+    final AtomicLong imported = new AtomicLong();
+    final AtomicLong failed = new AtomicLong();
+
+    private final int maxErrors;
+    private final List<ProductImportStatusDTO.RowError> errors = new ArrayList<>();
+
+    volatile Status status = Status.QUEUED;
+    volatile Instant startedAt;
+    volatile Instant finishedAt;
+    volatile String message;
+
+    ProductImportJob(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /** 오류 행 기록 (메모리 상한을 위해 앞의 maxErrors 건만 보관, 건수는 모두 셈) */
+    void rowFailed(long line, String reason) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportStatusDTO.RowError(line, reason));
+            }
+        }
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    ProductImportStatusDTO toStatus() {
+        List<ProductImportStatusDTO.RowError> copy;
+        synchronized (errors) {
+            copy = List.copyOf(errors);
+        }
+        return new ProductImportStatusDTO(id, status.name(), processed.get(), imported.get(), failed.get(),
+                copy, startedAt, finishedAt, message);
+    }
+}
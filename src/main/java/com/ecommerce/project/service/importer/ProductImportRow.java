@@ -0,0 +1,18 @@
+package com.ecommerce.project.service.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** 가져오기 파일의 한 행 (CSV 헤더명 / NDJSON 필드명) */
+@Data
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductImportRow {
+    private String productName;
+    private String description;
+    private Integer quantity;
+    private Double price;
+    private Double discount;
+    private Long categoryId;
+}
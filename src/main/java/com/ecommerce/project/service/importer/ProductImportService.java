@@ -0,0 +1,381 @@
+package com.ecommerce.project.service.importer;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.payload.ProductImportStatusDTO;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.cache.CatalogVersionService;
+import com.ecommerce.project.service.cache.CategorySnapshotService;
+import com.ecommerce.project.service.like.RedisLikeService;
+import com.ecommerce.project.service.search.ProductSearchIndex;
+import com.ecommerce.project.service.search.ProductSuggestService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 대량 가져오기 (CSV / NDJSON)
+ * - 업로드 파일을 임시 파일로 옮긴 뒤 전용 스레드에서 한 행씩 읽어 처리 → 파일 크기와 무관하게 메모리 일정
+ * - batchSize 행마다 한 트랜잭션으로 persist → flush → clear (hibernate.jdbc.batch_size 로 JDBC 배치 INSERT,
+ *   id 는 products_seq 의 allocationSize 단위로 미리 할당됨)
+ * - 행 단위 검증(엔티티 제약 + 카테고리 + 이름 중복) 실패는 줄 번호와 함께 기록하고 계속 진행
+ * - 진행 상황은 jobId 로 조회
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportService.class);
+
+    // 끝난 작업 결과 보관 기간
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(24);
+
+    public enum Format { CSV, NDJSON }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final CategorySnapshotService categorySnapshotService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSuggestService productSuggestService;
+    private final RedisLikeService likeService;
+    private final CatalogVersionService catalogVersionService;
+    private final int batchSize;
+    private final int maxErrors;
+    private final long maxBytes;
+
+    // 한 번에 하나씩 처리 (DB 부하 제한), 나머지는 대기
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "product-import"));
+    private final Map<String, ProductImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ProductImportService(EntityManager entityManager,
+                                TransactionTemplate transactionTemplate,
+                                ProductRepository productRepository,
+                                CategorySnapshotService categorySnapshotService,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                ProductSearchIndex productSearchIndex,
+                                ProductSuggestService productSuggestService,
+                                RedisLikeService likeService,
+                                CatalogVersionService catalogVersionService,
+                                @Value("${app.product-import.batch-size:500}") int batchSize,
+                                @Value("${app.product-import.max-errors:1000}") int maxErrors,
+                                @Value("${app.product-import.max-bytes:536870912}") long maxBytes) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.productRepository = productRepository;
+        this.categorySnapshotService = categorySnapshotService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.productSearchIndex = productSearchIndex;
+        this.productSuggestService = productSuggestService;
+        this.likeService = likeService;
+        this.catalogVersionService = catalogVersionService;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 가져오기 시작 (즉시 반환, 처리는 백그라운드)
+     * @param format null 이면 파일 확장자(.csv / .ndjson, .jsonl)로 판단
+     * @param sellerId 상품의 판매자 (없으면 null)
+     */
+    public ProductImportStatusDTO start(MultipartFile file, String format, Long sellerId) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new APIException("Import file is empty");
+        }
+        if (file.getSize() > maxBytes) {
+            throw new APIException("Import file is too large (max " + maxBytes + " bytes)");
+        }
+        Format resolved = resolveFormat(format, file.getOriginalFilename());
+
+        // 요청이 끝나면 멀티파트 임시 파일이 지워지므로 작업용 임시 파일로 옮김
+        Path tmp = Files.createTempFile("product-import-", "." + resolved.name().toLowerCase());
+        file.transferTo(tmp);
+        return submit(tmp, resolved, sellerId);
+    }
+
+    /**
+     * 요청 본문(raw CSV / NDJSON)으로 가져오기 시작 (큰 파일용, 멀티파트 크기 제한과 무관)
+     * - 본문을 작업용 임시 파일로 복사하면서 app.product-import.max-bytes 를 넘으면 중단
+     * @param format null 이면 Content-Type(text/csv, application/x-ndjson)으로 판단
+     */
+    public ProductImportStatusDTO start(InputStream body, String format, String contentType, Long sellerId) throws IOException {
+        Format resolved = resolveFormat(format != null && !format.isBlank() ? format : formatOf(contentType), null);
+
+        Path tmp = Files.createTempFile("product-import-", "." + resolved.name().toLowerCase());
+        long copied;
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            copied = copyLimited(body, out, maxBytes);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        if (copied < 0) {
+            Files.deleteIfExists(tmp);
+            throw new APIException("Import file is too large (max " + maxBytes + " bytes)");
+        }
+        if (copied == 0) {
+            Files.deleteIfExists(tmp);
+            throw new APIException("Import file is empty");
+        }
+        return submit(tmp, resolved, sellerId);
+    }
+
+    private ProductImportStatusDTO submit(Path tmp, Format format, Long sellerId) {
+        pruneFinishedJobs();
+        ProductImportJob job = new ProductImportJob(maxErrors);
+        jobs.put(job.id, job);
+        executor.submit(() -> run(job, tmp, format, sellerId));
+        return job.toStatus();
+    }
+
+    /** 최대 limit 바이트까지 복사 (넘으면 -1) */
+    static long copyLimited(InputStream in, OutputStream out, long limit) throws IOException {
+        byte[] buf = new byte[64 * 1024];
+        long total = 0;
+        int n;
+        while ((n = in.read(buf)) != -1) {
+            total += n;
+            if (total > limit) return -1;
+            out.write(buf, 0, n);
+        }
+        return total;
+    }
+
+    private static String formatOf(String contentType) {
+        if (contentType == null) return null;
+        String type = contentType.toLowerCase();
+        if (type.startsWith("text/csv")) return "csv";
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) return "ndjson";
+        return null;
+    }
+
+    public ProductImportStatusDTO getStatus(String jobId) {
+        ProductImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("ProductImportJob", "jobId", jobId);
+        }
+        return job.toStatus();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ProductImportJob job, Path file, Format format, Long sellerId) {
+        job.status = ProductImportJob.Status.RUNNING;
+        job.startedAt = Instant.now();
+        try (ProductRowReader reader = open(file, format)) {
+            List<PendingRow> chunk = new ArrayList<>(batchSize);
+            ProductRowReader.ParsedRow parsed;
+            while ((parsed = reader.next()) != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("import interrupted");
+                }
+                job.processed.incrementAndGet();
+                if (parsed.row() == null) {
+                    job.rowFailed(parsed.line(), parsed.error());
+                    continue;
+                }
+                Product product = toProduct(parsed.row());
+                String error = validate(parsed.row(), product);
+                if (error != null) {
+                    job.rowFailed(parsed.line(), error);
+                    continue;
+                }
+                chunk.add(new PendingRow(parsed.line(), parsed.row().getCategoryId(), product));
+                if (chunk.size() >= batchSize) {
+                    writeChunk(job, chunk, sellerId);
+                    chunk.clear();
+                }
+            }
+            writeChunk(job, chunk, sellerId);
+            job.status = ProductImportJob.Status.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            job.status = ProductImportJob.Status.FAILED;
+            job.message = e.getMessage();
+            logger.warn("product import {} failed after {} rows: {}", job.id, job.processed.get(), e.getMessage());
+        } finally {
+            job.finishedAt = Instant.now();
+            productSuggestService.markDirty();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.debug("import temp file not deleted: {}", file);
+            }
+        }
+        logger.info("product import {} {}: processed={}, imported={}, failed={}",
+                job.id, job.status, job.processed.get(), job.imported.get(), job.failed.get());
+    }
+
+    /** 한 청크 저장: 이름 중복 일괄 확인 → 한 트랜잭션으로 배치 INSERT (실패 시 행 단위로 재시도) */
+    private void writeChunk(ProductImportJob job, List<PendingRow> chunk, Long sellerId) {
+        if (chunk.isEmpty()) return;
+
+        List<PendingRow> rows = rejectDuplicates(job, chunk);
+        if (rows.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(rows, sellerId));
+        } catch (RuntimeException batchError) {
+            // 그 사이 같은 이름이 들어온 경우 등: 어느 행인지 알기 위해 한 행씩 다시 저장
+            rows.forEach(r -> r.product().setProductId(null));
+            List<PendingRow> saved = new ArrayList<>();
+            for (PendingRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(row), sellerId));
+                    saved.add(row);
+                } catch (RuntimeException rowError) {
+                    row.product().setProductId(null);
+                    job.rowFailed(row.line(), rootMessage(rowError));
+                }
+            }
+            afterSaved(job, saved);
+            return;
+        }
+        afterSaved(job, rows);
+    }
+
+    private void persist(List<PendingRow> rows, Long sellerId) {
+        for (PendingRow row : rows) {
+            Product product = row.product();
+            product.setCategory(entityManager.getReference(Category.class, row.categoryId()));
+            if (sellerId != null) {
+                product.setUser(entityManager.getReference(User.class, sellerId));
+            }
+            entityManager.persist(product);
+        }
+        entityManager.flush();
+        entityManager.clear(); // 영속성 컨텍스트가 커지지 않도록
+    }
+
+    /** DB 에 이미 있거나 청크 안에서 반복되는 (카테고리, 이름) 행 제외 */
+    private List<PendingRow> rejectDuplicates(ProductImportJob job, List<PendingRow> chunk) {
+        Set<Long> categoryIds = chunk.stream().map(PendingRow::categoryId).collect(Collectors.toSet());
+        Set<String> names = chunk.stream().map(r -> r.product().getProductName().toLowerCase()).collect(Collectors.toSet());
+
+        Set<String> taken = new HashSet<>();
+        for (Object[] existing : productRepository.findExistingNames(categoryIds, names)) {
+            taken.add(existing[0] + ":" + existing[1]);
+        }
+
+        List<PendingRow> out = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            String key = row.categoryId() + ":" + row.product().getProductName().toLowerCase();
+            if (!taken.add(key)) {
+                job.rowFailed(row.line(), "Product already exist: " + row.product().getProductName());
+            } else {
+                out.add(row);
+            }
+        }
+        return out;
+    }
+
+    /** 저장된 상품을 검색 색인/인기 순위/카탈로그 버전에 반영 */
+    private void afterSaved(ProductImportJob job, List<PendingRow> saved) {
+        if (saved.isEmpty()) return;
+        job.imported.addAndGet(saved.size());
+
+        for (PendingRow row : saved) {
+            Product p = row.product();
+            productSearchIndex.upsert(p.getProductId(), p.getProductName(), p.getDescription(),
+                    categorySnapshotService.get(row.categoryId()).getCategoryName());
+        }
+        try {
+            likeService.rebuildRank(saved.stream().map(r -> r.product().getProductId()).toList());
+        } catch (RuntimeException e) {
+            // 순위는 관리자 rank rebuild 로 복구 가능
+            logger.warn("like rank not updated for imported products: {}", e.getMessage());
+        }
+        catalogVersionService.bump();
+    }
+
+    private Product toProduct(ProductImportRow row) {
+        Product product = new Product();
+        product.setProductName(row.getProductName());
+        product.setDescription(row.getDescription());
+        product.setQuantity(row.getQuantity() == null ? 0 : row.getQuantity());
+        product.setPrice(row.getPrice() == null ? 0 : row.getPrice());
+        product.setDiscount(row.getDiscount() == null ? 0 : row.getDiscount());
+        product.setImage("default.png");
+        // addProduct 와 같은 계산
+        product.setSpecialPrice(product.getPrice() - ((product.getDiscount() * 0.01) * product.getPrice()));
+        return product;
+    }
+
+    /** 행 검증 (엔티티 제약 + 값 범위 + 카테고리), 통과하면 null */
+    private String validate(ProductImportRow row, Product product) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<Product> v : validator.validate(product)) {
+            errors.add(v.getPropertyPath() + ": " + v.getMessage());
+        }
+        if (row.getPrice() == null) errors.add("price: required");
+        else if (row.getPrice() < 0) errors.add("price: must not be negative");
+        if (product.getDiscount() < 0 || product.getDiscount() > 100) errors.add("discount: must be between 0 and 100");
+        if (product.getQuantity() < 0) errors.add("quantity: must not be negative");
+        if (row.getCategoryId() == null) errors.add("categoryId: required");
+        else if (!categorySnapshotService.contains(row.getCategoryId())) errors.add("categoryId: not found " + row.getCategoryId());
+        return errors.isEmpty() ? null : String.join(", ", errors);
+    }
+
+    private ProductRowReader open(Path file, Format format) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return format == Format.CSV ? ProductRowReader.csv(reader) : ProductRowReader.ndjson(reader, objectMapper);
+    }
+
+    private Format resolveFormat(String format, String filename) {
+        String f = format == null ? "" : format;
+        if (f.isBlank()) {
+            String name = filename == null ? "" : filename.toLowerCase();
+            f = name.endsWith(".csv") ? "csv" : (name.endsWith(".ndjson") || name.endsWith(".jsonl")) ? "ndjson" : "";
+        }
+        try {
+            return Format.valueOf(f.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new APIException("Unsupported import format (csv or ndjson): " + f);
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(j -> j.isFinished() && j.finishedAt != null && j.finishedAt.isBefore(cutoff));
+    }
+
+    private String rootMessage(Throwable e) {
+        Throwable t = e;
+        while (t.getCause() != null) t = t.getCause();
+        return t.getMessage();
+    }
+
+    private record PendingRow(long line, Long categoryId, Product product) {}
+}
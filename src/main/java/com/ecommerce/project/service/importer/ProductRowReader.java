@@ -0,0 +1,164 @@
+package com.ecommerce.project.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 가져오기 파일을 한 행씩 읽음 (파일 전체를 메모리에 올리지 않음)
+ * - CSV: 첫 줄은 헤더, 따옴표 안의 쉼표/줄바꿈/"" 이스케이프 지원
+ * - NDJSON: 한 줄에 JSON 객체 하나
+ */
+abstract class ProductRowReader implements Closeable {
+
+    /** 읽은 한 행 (row 가 null 이면 error 에 파싱 실패 사유) */
+    record ParsedRow(long line, ProductImportRow row, String error) {}
+
+    protected final BufferedReader reader;
+    protected long line;
+
+    ProductRowReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /** 다음 행, 파일 끝이면 null */
+    abstract ParsedRow next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    static ProductRowReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new NdjsonReader(reader, objectMapper);
+    }
+
+    static ProductRowReader csv(BufferedReader reader) throws IOException {
+        return new CsvReader(reader);
+    }
+
+    private static final class NdjsonReader extends ProductRowReader {
+        private final ObjectMapper objectMapper;
+
+        NdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        ParsedRow next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) return null;
+                line++;
+            } while (text.isBlank());
+            try {
+                return new ParsedRow(line, objectMapper.readValue(text, ProductImportRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(line, null, "invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvReader extends ProductRowReader {
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long recordStart;
+
+        CsvReader(BufferedReader reader) throws IOException {
+            super(reader);
+            List<String> header = readRecord();
+            if (header == null) return;
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        @Override
+        ParsedRow next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) return null;
+            } while (fields.size() == 1 && fields.get(0).isBlank());
+
+            long at = recordStart;
+            try {
+                ProductImportRow row = new ProductImportRow();
+                row.setProductName(text(fields, "productname"));
+                row.setDescription(text(fields, "description"));
+                row.setQuantity(number(fields, "quantity", Integer::valueOf));
+                row.setPrice(number(fields, "price", Double::valueOf));
+                row.setDiscount(number(fields, "discount", Double::valueOf));
+                row.setCategoryId(number(fields, "categoryid", Long::valueOf));
+                return new ParsedRow(at, row, null);
+            } catch (NumberFormatException e) {
+                return new ParsedRow(at, null, "invalid number: " + e.getMessage());
+            }
+        }
+
+        private String text(List<String> fields, String column) {
+            Integer i = columns.get(column);
+            if (i == null || i >= fields.size()) return null;
+            String v = fields.get(i).trim();
+            return v.isEmpty() ? null : v;
+        }
+
+        private <T> T number(List<String> fields, String column, Function<String, T> parser) {
+            String v = text(fields, column);
+            return v == null ? null : parser.apply(v);
+        }
+
+        /** 레코드 하나 (따옴표 안 줄바꿈이면 다음 줄까지 이어 읽음) */
+        private List<String> readRecord() throws IOException {
+            String text = reader.readLine();
+            if (text == null) return null;
+            line++;
+            recordStart = line;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (quoted) {
+                        if (c == '"') {
+                            if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                                field.append('"');
+                                i++;
+                            } else {
+                                quoted = false;
+                            }
+                        } else {
+                            field.append(c);
+                        }
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (!quoted) break;
+                text = reader.readLine();
+                if (text == null) break; // 닫히지 않은 따옴표는 파일 끝까지
+                line++;
+                field.append('\n');
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.project.service.like;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/likes")
+@RequiredArgsConstructor
+public class LikeAdminController {
+
+    private final LikeWriteBehindService writeBehindService;
+
+    /** 대기 중인 토글 이벤트를 즉시 DB 에 반영 */
+    @PostMapping("/flush")
+    public Map<String, Object> flush() {
+        return Map.of("written", writeBehindService.flush());
+    }
+
+    /** Redis 유실/콜드 스타트 시 DB(product_likes) 기준으로 Redis 재구성 */
+    @PostMapping("/rebuild")
+    public Map<String, Object> rebuild() {
+        return Map.of("restored", writeBehindService.rebuildRedisFromDb());
+    }
+
+    /** 인기 순위(like:rank)만 DB 상품 목록 기준으로 재계산 */
+    @PostMapping("/rank/rebuild")
+    public Map<String, Object> rebuildRank() {
+        return Map.of("ranked", writeBehindService.rebuildRankFromDb());
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.project.service.like;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 Redis 좋아요를 product_likes 로 1회 백필
+ * - 역인덱스 마이그레이션 다음, 순위 부트스트랩 전에 실행
+ * - 완료 표시(like:backfill:done)가 있으면 건너뜀
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class LikeDbBackfillRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeDbBackfillRunner.class);
+
+    private final LikeWriteBehindService writeBehindService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            writeBehindService.backfillDbFromRedis();
+        } catch (RuntimeException e) {
+            // 완료 표시가 남지 않으므로 다음 기동 때 다시 시도
+            logger.warn("product_likes backfill skipped: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.project.service.like;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자→상품 역인덱스 SET → ZSET 1회성 마이그레이션
+ * - 완료 표시(like:user-index:migrated)가 있으면 건너뜀 → SCAN 은 표시가 남기 전까지만
+ * - 이미 변환된 키는 SCAN 에 잡히지 않으므로 중간에 실패해도 다음 기동 때 이어서 변환
+ * - 표시 이후 구버전 노드가 만든 SET 을 다시 옮기려면 표시 키를 지우고 재기동 (app.like.migrate-user-index=false 로 끌 수 있음)
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.like.migrate-user-index", havingValue = "true", matchIfMissing = true)
+public class LikeIndexMigrationRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeIndexMigrationRunner.class);
+
+    private final RedisLikeService likeService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            long migrated = likeService.migrateUserIndexToZSet();
+            if (migrated > 0) logger.info("like user index migrated to ZSET: {} users", migrated);
+        } catch (RuntimeException e) {
+            // Redis 장애로 기동이 막히지 않도록 경고만 남김 (완료 표시가 없으므로 다음 기동 때 이어서 변환)
+            logger.warn("like user index migration skipped: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.project.service.like;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 인기 순위 ZSET(like:rank)이 없으면 DB 의 전체 상품으로 생성
+ * - 이후에는 토글/상품 추가/삭제 때마다 증분 갱신됨
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class LikeRankBootstrapRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeRankBootstrapRunner.class);
+
+    private final RedisLikeService likeService;
+    private final LikeWriteBehindService writeBehindService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (likeService.isRankInitialized()) return;
+            long n = writeBehindService.rebuildRankFromDb();
+            logger.info("like rank bootstrapped: {} products", n);
+        } catch (RuntimeException e) {
+            // Redis 장애로 기동이 막히지 않도록 경고만 남김 (관리자 rebuild 로 재시도 가능)
+            logger.warn("like rank bootstrap skipped: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.project.service.like;
+
+/**
+ * 좋아요 토글 결과 이벤트 (RedisLikeService → LikeWriteBehindService)
+ * @param userKey   정규화된 사용자 이메일
+ * @param liked     토글 후 상태
+ * @param timestamp 토글 시각(ms) - Redis ZSET score 와 동일
+ */
+public record LikeToggledEvent(long productId, String userKey, boolean liked, long timestamp) {}
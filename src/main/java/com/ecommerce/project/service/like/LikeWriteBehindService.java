@@ -0,0 +1,236 @@
+package com.ecommerce.project.service.like;
+
+import com.ecommerce.project.model.ProductLike;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 좋아요 write-behind (Redis → PostgreSQL product_likes)
+ * - 토글 이벤트를 크기 제한 큐에 쌓고 스케줄러가 주기적으로 일괄 반영
+ * - 큐가 가득 차면 토글한 스레드가 직접 flush 한 뒤 넣음 (back-pressure)
+ * - 같은 (상품, 사용자) 이벤트는 마지막 상태만 반영
+ * - 실패한 배치는 새 이벤트보다 먼저 재시도하므로 토글 순서가 뒤집히지 않음
+ */
+@Service
+public class LikeWriteBehindService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LikeWriteBehindService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_likes (product_id, user_email, created_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (product_id, user_email) DO NOTHING";
+    // 삭제된 상품의 좋아요는 건너뜀
+    private static final String BACKFILL_SQL =
+            "INSERT INTO product_likes (product_id, user_email, created_at) " +
+            "SELECT p.product_id, ?, ? FROM products p WHERE p.product_id = ? " +
+            "ON CONFLICT (product_id, user_email) DO NOTHING";
+    private static final String DELETE_SQL =
+            "DELETE FROM product_likes WHERE product_id = ? AND user_email = ?";
+    private static final String SELECT_ALL_SQL =
+            "SELECT product_id, user_email, created_at FROM product_likes";
+    private static final String SELECT_PRODUCT_IDS_SQL =
+            "SELECT product_id FROM products";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate; // 재구성용 (fetch size 지정)
+    private final RedisLikeService likeService;
+    private final BlockingQueue<LikeToggledEvent> queue;
+    private final int batchSize;
+
+    // 스케줄러와 back-pressure flush 가 동시에 돌지 않도록
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 반영에 실패해 재시도를 기다리는 배치 (flushLock 으로 보호)
+    private final Map<String, LikeToggledEvent> failed = new LinkedHashMap<>();
+
+    public LikeWriteBehindService(JdbcTemplate jdbcTemplate,
+                                  RedisLikeService likeService,
+                                  @Value("${app.like.write-behind.capacity:10000}") int capacity,
+                                  @Value("${app.like.write-behind.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(batchSize);
+        this.likeService = likeService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+    }
+
+    /** 토글 이벤트 수신 → 큐 적재 (가득 차면 직접 flush 후 재시도) */
+    @EventListener
+    public void onToggle(LikeToggledEvent event) {
+        if (queue.offer(event)) return;
+        flush();
+        if (!queue.offer(event)) {
+            // flush 후에도 자리가 없으면 DB 장애 상황 → 메모리 상한을 지키기 위해 버림
+            logger.warn("like write-behind queue full, dropped event: {}", event);
+        }
+    }
+
+    /** 주기적 일괄 반영 */
+    @Scheduled(fixedDelayString = "${app.like.write-behind.flush-interval-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    /** 종료 시 남은 이벤트 반영 */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 큐에 쌓인 이벤트를 batchSize 단위로 DB 에 반영
+     * - 실패한 배치는 큐 뒤로 돌리지 않고 그대로 보관했다가 다음 flush 에서 새 이벤트보다 먼저 재시도
+     *   (더 최근 토글이 예전 상태로 덮어써지지 않도록)
+     * @return 반영한 (상품, 사용자) 건수
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            int written = 0;
+            List<LikeToggledEvent> drained = new ArrayList<>(batchSize);
+            while (true) {
+                if (failed.isEmpty()) {
+                    if (queue.drainTo(drained, batchSize) == 0) break;
+                    coalesce(drained, failed);
+                    drained.clear();
+                }
+                if (!writeBatch(failed)) break; // 다음 주기에 같은 배치부터 재시도
+                written += failed.size();
+                failed.clear();
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** (상품, 사용자)별 마지막 상태만 남김 (뒤에 온 이벤트가 앞의 것을 덮어씀) */
+    private static void coalesce(List<LikeToggledEvent> events, Map<String, LikeToggledEvent> latest) {
+        for (LikeToggledEvent e : events) {
+            latest.put(e.productId() + ":" + e.userKey(), e);
+        }
+    }
+
+    private boolean writeBatch(Map<String, LikeToggledEvent> latest) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (LikeToggledEvent e : latest.values()) {
+            if (e.liked()) {
+                inserts.add(new Object[]{e.productId(), e.userKey(), Timestamp.from(Instant.ofEpochMilli(e.timestamp()))});
+            } else {
+                deletes.add(new Object[]{e.productId(), e.userKey()});
+            }
+        }
+
+        try {
+            if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            if (!deletes.isEmpty()) jdbcTemplate.batchUpdate(DELETE_SQL, deletes);
+            return true;
+        } catch (RuntimeException ex) {
+            logger.warn("like write-behind flush failed ({} pending, retried first): {}", latest.size(), ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * (1회성) Redis → DB 백필
+     * - write-behind 도입 전에 생긴 좋아요는 product_likes 에 없으므로 Redis 기준으로 채움
+     * - 이미 있는 행은 건너뛰므로 여러 번 실행해도 안전, 완료 후에는 표시를 남겨 다시 돌지 않음
+     * @return 백필 대상 좋아요 건수 (이미 완료되었으면 0)
+     */
+    public long backfillDbFromRedis() {
+        if (likeService.isDbBackfilled()) return 0;
+        flush(); // 대기 중인 토글 먼저 반영 (백필이 최신 취소를 되살리지 않도록)
+
+        long total = likeService.exportLikes(batchSize, chunk -> {
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            for (ProductLike like : chunk) {
+                rows.add(new Object[]{like.getUserEmail(), Timestamp.from(like.getCreatedAt()), like.getProductId()});
+            }
+            jdbcTemplate.batchUpdate(BACKFILL_SQL, rows);
+        });
+        likeService.markDbBackfilled();
+        logger.info("product_likes backfilled from Redis: {} likes", total);
+        return total;
+    }
+
+    /**
+     * DB → Redis 재구성 (콜드 스타트용)
+     * - 결과를 스트리밍으로 읽어 batchSize 단위로 Redis 에 파이프라인 반영
+     * @return 복원한 좋아요 건수
+     */
+    @Transactional // PostgreSQL 은 트랜잭션 안에서만 fetch size 단위로 커서를 읽음
+    public long rebuildRedisFromDb() {
+        backfillDbFromRedis(); // 백필 전이면 Redis 에만 있는 좋아요부터 DB 로 (재구성이 지우지 않도록)
+        flush(); // 아직 DB 에 안 들어간 이벤트 먼저 반영
+
+        List<ProductLike> chunk = new ArrayList<>(batchSize);
+        long[] total = {0};
+        streamingJdbcTemplate.query(SELECT_ALL_SQL, (RowCallbackHandler) rs -> {
+            chunk.add(ProductLike.builder()
+                    .productId(rs.getLong("product_id"))
+                    .userEmail(rs.getString("user_email"))
+                    .createdAt(rs.getTimestamp("created_at").toInstant())
+                    .build());
+            if (chunk.size() >= batchSize) {
+                likeService.restoreLikes(chunk);
+                total[0] += chunk.size();
+                chunk.clear();
+            }
+        });
+        likeService.restoreLikes(chunk);
+        total[0] += chunk.size();
+
+        rebuildRankFromDb();
+
+        logger.info("like data rebuilt from DB: {} rows", total[0]);
+        return total[0];
+    }
+
+    /**
+     * 전체 상품 id 를 스트리밍으로 읽어 인기 순위(like:rank) 재계산
+     * - 임시 키에 새로 만든 뒤 RENAME 으로 교체하므로 DB 에 없는 (삭제된) 상품은 순위에서 빠짐
+     * @return 순위에 등록한 상품 수
+     */
+    @Transactional
+    public long rebuildRankFromDb() {
+        String tmpKey = likeService.beginRankRebuild();
+        try {
+            List<Long> chunk = new ArrayList<>(batchSize);
+            long[] total = {0};
+            streamingJdbcTemplate.query(SELECT_PRODUCT_IDS_SQL, (RowCallbackHandler) rs -> {
+                chunk.add(rs.getLong("product_id"));
+                if (chunk.size() >= batchSize) {
+                    likeService.rebuildRank(chunk, tmpKey);
+                    total[0] += chunk.size();
+                    chunk.clear();
+                }
+            });
+            likeService.rebuildRank(chunk, tmpKey);
+            total[0] += chunk.size();
+            likeService.finishRankRebuild(tmpKey);
+            return total[0];
+        } catch (RuntimeException e) {
+            likeService.abortRankRebuild(tmpKey);
+            throw e;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.ecommerce.project.service.like;
 
+import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.model.QProduct;
+import com.ecommerce.project.payload.CursorResponse;
 import com.ecommerce.project.payload.ProductCardDTO;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
@@ -10,20 +12,26 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class ProductLikeQueryService {
 
+    private static final Pattern LEGACY_CURSOR = Pattern.compile ("\\d+(\\.\\d+)?");
+
     private final JPAQueryFactory queryFactory;
     private final RedisLikeService likeService;
 
     public Page<ProductCardDTO> myLikedProducts(String userEmail, Pageable pageable) {
-        // 1) Redis에서 내가 찜한 productId 목록 페이징 (간단 오프셋)
+        // 1) Redis에서 내가 찜한 productId 목록 페이징 (ZREVRANGE, 최근 좋아요 순)
         int offset = (int) pageable.getOffset ();
         int limit = pageable.getPageSize ();
         List<Long> pageIds = likeService.getUserLikedProductIds (userEmail, offset, limit);
@@ -33,24 +41,79 @@ public class ProductLikeQueryService {
             return new PageImpl<> (List.of (), pageable, total);
         }
 
+        List<ProductCardDTO> content = toCards (pageIds);
+
+        return new PageImpl<> (content, pageable, total);
+    }
+
+    /** 커서 방식: 최근 좋아요 순으로 다음 페이지 (cursor=null 이면 첫 페이지) */
+    public CursorResponse<ProductCardDTO> myLikedProducts(String userEmail, String cursor, int size) {
+        if (size <= 0) {
+            throw new APIException ("size must be greater than 0");
+        }
+        RedisLikeService.LikedCursor after = (cursor == null || cursor.isBlank ()) ? null : decodeCursor (cursor);
+
+        RedisLikeService.LikedIdsSlice slice = likeService.getUserLikedProductIdsAfter (userEmail, after, size);
+        String next = (slice.nextCursor () == null) ? null : encodeCursor (slice.nextCursor ());
+
+        return CursorResponse.<ProductCardDTO>builder ()
+                .content (toCards (slice.ids ()))
+                .pageSize (size)
+                .nextCursor (next)
+                .lastPage (next == null)
+                .build ();
+    }
+
+    /** 커서 = base64url("score:productId") - 클라이언트에는 불투명 문자열 */
+    static String encodeCursor(RedisLikeService.LikedCursor cursor) {
+        String raw = BigDecimal.valueOf (cursor.score ()).toPlainString () + ":" + cursor.productId ();
+        return Base64.getUrlEncoder ().withoutPadding ().encodeToString (raw.getBytes (StandardCharsets.UTF_8));
+    }
+
+    static RedisLikeService.LikedCursor decodeCursor(String cursor) {
+        try {
+            // 이전 형식(score 숫자만) 커서는 같은 score 를 건너뛰던 기존 동작대로 이어감
+            if (cursor.indexOf (':') < 0 && LEGACY_CURSOR.matcher (cursor).matches ()) {
+                return new RedisLikeService.LikedCursor (Double.parseDouble (cursor), null);
+            }
+            String raw = new String (Base64.getUrlDecoder ().decode (cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split (":", 2);
+            if (parts.length != 2) {
+                throw new APIException ("Invalid cursor: " + cursor);
+            }
+            return new RedisLikeService.LikedCursor (Double.parseDouble (parts[0]), Long.valueOf (parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new APIException ("Invalid cursor: " + cursor);
+        }
+    }
+
+    /** id 목록 → 카드 DTO (DB 1회 + Redis 카운트 배치 1회, id 목록 순서 유지) */
+    private List<ProductCardDTO> toCards(List<Long> ids) {
+        if (ids.isEmpty ()) {
+            return List.of ();
+        }
+
         QProduct p = QProduct.product;
 
-        // 2) DB에서 상세 조회 (정렬은 id desc 기준)
+        // 1) DB에서 상세 조회
         List<Product> entities = queryFactory
                 .selectFrom (p)
-                .where (p.productId.in (pageIds))
-                .orderBy (p.productId.desc ())
+                .where (p.productId.in (ids))
                 .fetch ();
 
-        // 3) Redis로 좋아요 수 배치 조회
-        Map<Long, Long> counts = likeService.getCounts (pageIds);
+        // 2) Redis로 좋아요 수 배치 조회
+        Map<Long, Long> counts = likeService.getCounts (ids);
 
-        // 4) DTO 매핑 (id desc 기준 정렬)
-        //    DB fetch 결과는 in-order가 보장되지 않을 수 있으니 정렬 한 번 더
-        entities.sort (Comparator.comparing (Product::getProductId).reversed ());
-
-        List<ProductCardDTO> content = new ArrayList<> (entities.size ());
+        // 3) DTO 매핑 (Redis 에서 받은 순서 = 최근 좋아요 순 유지)
+        Map<Long, Product> byId = new HashMap<> ();
         for (Product e : entities) {
+            byId.put (e.getProductId (), e);
+        }
+
+        List<ProductCardDTO> content = new ArrayList<> (ids.size ());
+        for (Long id : ids) {
+            Product e = byId.get (id);
+            if (e == null) continue; // 삭제된 상품
             content.add (ProductCardDTO.builder ()
                     .productId (e.getProductId ())
                     .productName (e.getProductName ())
@@ -60,7 +123,6 @@ public class ProductLikeQueryService {
                     .likeCount (counts.getOrDefault (e.getProductId (), 0L))
                     .build ());
         }
-
-        return new PageImpl<> (content, pageable, total);
+        return content;
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,27 @@
 package com.ecommerce.project.service.like;
 
 import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.ProductLike;
 import com.ecommerce.project.model.QProduct;
 import com.ecommerce.project.payload.ProductCardDTO;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,12 +32,25 @@ public class RedisLikeService {
 
     private final JPAQueryFactory queryFactory;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     // 상품 → 사용자 집합
     private String usersKey(long productId) { return "like:prod:" + productId + ":users"; }
     // 상품별 카운트 캐시
     private String countKey(long productId) { return "like:prod:" + productId + ":count"; }
-    // 사용자 → 상품 집합(역인덱스) : "내가 좋아요한 상품들"
-    private String userProductsKey(String userEmail) { return "like:user:" + userKey(userEmail) + ":products"; }
+    // 사용자 → 상품 ZSET(역인덱스, score=좋아요 시각 ms) : "내가 좋아요한 상품들"
+    private String userProductsKey(String userEmail) { return "like:user:" + userKey(userEmail) + ":liked"; }
+    // 전체 상품 인기 순위 ZSET (score=좋아요 수, 좋아요 0 인 상품도 포함)
+    private static final String RANK_KEY = "like:rank";
+    // (구) 사용자 → 상품 SET : ZSET 마이그레이션 대상
+    private static final String LEGACY_USER_PRODUCTS_PATTERN = "like:user:*:products";
+    private static final String USER_PRODUCTS_PATTERN = "like:user:*:liked";
+    // Redis → product_likes 1회성 백필 완료 표시
+    private static final String DB_BACKFILL_DONE_KEY = "like:backfill:done";
+    // 사용자→상품 SET → ZSET 마이그레이션 완료 표시
+    private static final String USER_INDEX_MIGRATED_KEY = "like:user-index:migrated";
+    // 이보다 작은 score 는 마이그레이션 때 넣은 productId (실제 좋아요 시각 아님)
+    private static final double MIN_EPOCH_MILLIS = 946684800000d; // 2000-01-01
 
     /** 이메일 정규화 (null/blank 방지) */
     private String userKey(String userEmail) {
@@ -37,38 +60,49 @@ public class RedisLikeService {
         return userEmail.trim().toLowerCase(Locale.ROOT);
     }
 
+    /**
+     * 토글 스크립트 (원자적으로 1회 왕복)
+     * KEYS[1]=상품→사용자 집합, KEYS[2]=사용자→상품 ZSET, KEYS[3]=카운트 캐시, KEYS[4]=인기 순위 ZSET
+     * ARGV[1]=사용자 키, ARGV[2]=상품 id, ARGV[3]=현재 시각(ms)
+     * 순위는 이미 있는 상품만 갱신 (XX) → 삭제된 상품이 토글로 다시 올라오지 않음 (등록은 상품 추가/재구성 때만)
+     * 반환: {liked(1/0), count}
+     */
+    private static final DefaultRedisScript<List> TOGGLE_SCRIPT = new DefaultRedisScript<>("""
+            local liked
+            if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+                redis.call('SREM', KEYS[1], ARGV[1])
+                redis.call('ZREM', KEYS[2], ARGV[2])
+                liked = 0
+            else
+                redis.call('SADD', KEYS[1], ARGV[1])
+                redis.call('ZADD', KEYS[2], ARGV[3], ARGV[2])
+                liked = 1
+            end
+            local count = redis.call('SCARD', KEYS[1])
+            redis.call('SET', KEYS[3], count)
+            redis.call('ZADD', KEYS[4], 'XX', count, ARGV[2])
+            return {liked, count}
+            """, List.class);
+
     /**
      * 좋아요 토글
-     * - 상품→사용자 집합 갱신
-     * - 사용자→상품 집합(역인덱스)도 함께 갱신
-     * - 정확도를 위해 SCARD로 카운트 재계산 후 캐시에 반영
+     * - 상품→사용자 집합 / 사용자→상품 집합(역인덱스) / 카운트 캐시 / 인기 순위를 Lua 스크립트로 한 번에 갱신
+     * - 서버에서 원자적으로 실행되므로 동시 클릭에도 두 집합과 카운트가 어긋나지 않음
+     * - 결과는 LikeToggledEvent 로 발행되어 DB 에 write-behind 로 반영됨
      */
     public LikeResult toggle(String userEmail, long productId) {
-        final String u   = userKey(userEmail);
-        final String uk  = usersKey(productId);
-        final String ck  = countKey(productId);
-        final String upk = userProductsKey(userEmail);
-
-        boolean liked;
-        // 현재 상태 확인
-        Boolean already = redis.opsForSet().isMember(uk, u);
-        if (Boolean.TRUE.equals(already)) {
-            // 좋아요 해제
-            redis.opsForSet().remove(uk, u);
-            redis.opsForSet().remove(upk, String.valueOf(productId));
-            liked = false;
-        } else {
-            // 좋아요 추가
-            redis.opsForSet().add(uk, u);
-            redis.opsForSet().add(upk, String.valueOf(productId));
-            liked = true;
-        }
+        final String u = userKey(userEmail);
+        final long now = System.currentTimeMillis();
+        List<String> keys = List.of(usersKey(productId), userProductsKey(userEmail), countKey(productId), RANK_KEY);
+        List<?> res = redis.execute(TOGGLE_SCRIPT, keys, u, String.valueOf(productId), Long.toString(now));
 
-        // 집합 크기로 카운트 보정 + 캐시 반영
-        Long scard = redis.opsForSet().size(uk);
-        long count = (scard == null) ? 0L : scard;
-        redis.opsForValue().set(ck, Long.toString(count));
+        if (res == null || res.size() < 2) {
+            throw new IllegalStateException("like toggle script returned no result for productId: " + productId);
+        }
+        boolean liked = ((Number) res.get(0)).longValue() == 1L;
+        long count = ((Number) res.get(1)).longValue();
 
+        eventPublisher.publishEvent(new LikeToggledEvent(productId, u, liked, now));
         return new LikeResult(liked, count);
     }
 
@@ -90,25 +124,71 @@ public class RedisLikeService {
         return c;
     }
 
-    /** 다건 카운트 조회 */
+    /**
+     * 다건 카운트 조회 스크립트 (1회 왕복)
+     * KEYS[1..n]=카운트 캐시, KEYS[n+1..2n]=상품→사용자 집합 (같은 순서)
+     * 캐시 미스(또는 숫자가 아닌 값)는 SCARD 로 계산해 캐시에 다시 씀
+     * 반환: 카운트 목록 (KEYS 순서)
+     */
+    private static final DefaultRedisScript<List> COUNTS_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS / 2
+            local out = {}
+            for i = 1, n do
+                local c = tonumber(redis.call('GET', KEYS[i]))
+                if c == nil then
+                    c = redis.call('SCARD', KEYS[n + i])
+                    redis.call('SET', KEYS[i], c)
+                end
+                out[i] = c
+            end
+            return out
+            """, List.class);
+
+    /**
+     * 다건 카운트 조회
+     * - 카운트 캐시 조회와 미스 보정(SCARD 후 캐시 갱신)을 Lua 스크립트 하나로 처리
+     * - 상품 수와 무관하게 1번의 왕복으로 끝남
+     */
     public Map<Long, Long> getCounts(Collection<Long> productIds) {
         if (productIds == null || productIds.isEmpty()) return Map.of();
 
+        List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return Map.of();
+
+        List<String> keys = new ArrayList<>(ids.size() * 2);
+        ids.forEach(pid -> keys.add(countKey(pid)));
+        ids.forEach(pid -> keys.add(usersKey(pid)));
+        List<?> counts = redis.execute(COUNTS_SCRIPT, keys);
+
         Map<Long, Long> out = new LinkedHashMap<>();
-        for (Long pid : productIds) {
-            out.put(pid, getCount(pid)); // 캐시 미스 시 SCARD로 보정
+        for (int i = 0; i < ids.size(); i++) {
+            Object v = (counts == null || i >= counts.size()) ? null : counts.get(i);
+            out.put(ids.get(i), (v instanceof Number n) ? n.longValue() : 0L);
         }
         return out;
     }
 
-    /** 현재 사용자 기준 다건 좋아요여부 */
+    private Long parseLong(String v) {
+        if (v == null) return null;
+        try { return Long.parseLong(v); } catch (NumberFormatException ignore) { return null; }
+    }
+
+    /**
+     * 현재 사용자 기준 다건 좋아요여부
+     * - 사용자→상품 역인덱스에 ZMSCORE 한 번으로 페이지 전체를 판정 (score 가 있으면 좋아요)
+     */
     public Map<Long, Boolean> getLikedFlags(String userEmail, Collection<Long> productIds) {
         if (productIds == null || productIds.isEmpty()) return Map.of();
-        String u = userKey(userEmail);
+
+        List<Long> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) return Map.of();
+
+        Object[] members = ids.stream().map(String::valueOf).toArray();
+        List<Double> scores = redis.opsForZSet().score(userProductsKey(userEmail), members);
+
         Map<Long, Boolean> out = new LinkedHashMap<>();
-        for (Long pid : productIds) {
-            Boolean yes = redis.opsForSet().isMember(usersKey(pid), u);
-            out.put(pid, Boolean.TRUE.equals(yes));
+        for (int i = 0; i < ids.size(); i++) {
+            out.put(ids.get(i), scores != null && scores.get(i) != null);
         }
         return out;
     }
@@ -119,29 +199,299 @@ public class RedisLikeService {
 
     /** 내가 좋아요한 상품 총 개수 */
     public long getUserLikesTotal(String userEmail) {
-        Long size = redis.opsForSet().size(userProductsKey(userEmail));
+        Long size = redis.opsForZSet().zCard(userProductsKey(userEmail));
         return size == null ? 0L : size;
     }
 
     /**
-     * 내가 좋아요한 상품 id 목록 페이징 (간단 버전: SMEMBERS 후 정렬/슬라이싱)
-     * - 규모가 커지면 ZSET(시간/ID 스코어)로 교체 권장
+     * 내가 좋아요한 상품 id 목록 페이징 (최근 좋아요 순)
+     * - ZREVRANGE 로 필요한 구간만 가져옴
      */
     public List<Long> getUserLikedProductIds(String userEmail, int offset, int limit) {
-        Set<String> raw = redis.opsForSet().members(userProductsKey(userEmail));
+        if (limit <= 0) return List.of();
+        Set<String> raw = redis.opsForZSet().reverseRange(userProductsKey(userEmail), offset, offset + limit - 1L);
         if (raw == null || raw.isEmpty()) return List.of();
+        return raw.stream().map(this::parseLong).filter(Objects::nonNull).toList();
+    }
 
-        List<Long> ids = raw.stream()
-                .map(s -> { try { return Long.parseLong(s); } catch (Exception e) { return null; }})
-                .filter(Objects::nonNull)
-                .sorted(Comparator.reverseOrder()) // 큰 ID(최근) 우선
-                .collect(Collectors.toList());
+    /**
+     * 내가 좋아요한 상품 id 목록 (커서 방식, 최근 좋아요 순)
+     * - cursor 는 직전 페이지 마지막 항목의 (score, productId), null 이면 처음부터
+     * - ZSET 역순(score 내림차순, 같은 score 는 member 내림차순)과 같은 기준으로 이어서 읽으므로
+     *   같은 시각에 좋아요한 항목도 건너뛰거나 중복되지 않음
+     * - offset 을 건너뛰지 않으므로 깊은 페이지도 O(log N + limit)
+     */
+    public LikedIdsSlice getUserLikedProductIdsAfter(String userEmail, LikedCursor cursor, int limit) {
+        if (limit <= 0) return new LikedIdsSlice(List.of(), null);
+        String key = userProductsKey(userEmail);
+
+        // 다음 페이지 존재 여부를 알기 위해 1개 더 모음
+        List<ZSetOperations.TypedTuple<String>> page = new ArrayList<>(limit + 1);
+        double max = Double.POSITIVE_INFINITY;
+        if (cursor != null) {
+            // 1) 커서와 같은 score 중 커서 member 보다 뒤에 오는 항목
+            if (cursor.productId() != null) {
+                String after = String.valueOf(cursor.productId());
+                Set<ZSetOperations.TypedTuple<String>> ties = redis.opsForZSet()
+                        .reverseRangeByScoreWithScores(key, cursor.score(), cursor.score());
+                if (ties != null) {
+                    for (ZSetOperations.TypedTuple<String> t : ties) {
+                        if (page.size() > limit) break;
+                        if (t.getValue() != null && t.getValue().compareTo(after) < 0) page.add(t);
+                    }
+                }
+            }
+            max = Math.nextDown(cursor.score());
+        }
+        // 2) 그보다 작은 score
+        if (page.size() <= limit) {
+            Set<ZSetOperations.TypedTuple<String>> raw = redis.opsForZSet()
+                    .reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, max, 0, limit + 1L - page.size());
+            if (raw != null) page.addAll(raw);
+        }
+        if (page.isEmpty()) return new LikedIdsSlice(List.of(), null);
+
+        List<Long> ids = new ArrayList<>(Math.min(page.size(), limit));
+        LikedCursor last = null;
+        for (ZSetOperations.TypedTuple<String> t : page) {
+            if (ids.size() == limit) break;
+            Long pid = parseLong(t.getValue());
+            if (pid == null || t.getScore() == null) continue;
+            ids.add(pid);
+            last = new LikedCursor(t.getScore(), pid);
+        }
+        return new LikedIdsSlice(ids, page.size() > limit ? last : null);
+    }
+
+    /**
+     * (1회성) 사용자→상품 SET 역인덱스를 ZSET 으로 변환
+     * - 과거 좋아요 시각은 알 수 없으므로 score=productId (기존 "큰 ID 우선" 순서 유지,
+     *   실제 시각(ms)보다 항상 작아서 새 좋아요보다 뒤에 정렬됨)
+     * - 상품→사용자 집합을 기준으로 아직 유효한 좋아요만 옮기고, 이미 ZSET 에 있는 항목은 덮어쓰지 않음
+     * - 사용자마다 상품별 집합 확인(SISMEMBER)은 파이프라인 1회 왕복으로 (키가 상품마다 달라 SMISMEMBER 는 쓸 수 없음)
+     * - 완료 후에는 표시(like:user-index:migrated)를 남겨 이후 기동에서는 SCAN 하지 않음
+     *   (도중에 실패하면 표시가 없으므로 다음 기동 때 남은 SET 부터 이어서 변환)
+     * @return 변환한 사용자 수 (이미 완료되었으면 0)
+     */
+    public long migrateUserIndexToZSet() {
+        if (Boolean.TRUE.equals(redis.hasKey(USER_INDEX_MIGRATED_KEY))) return 0;
+        long migrated = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(LEGACY_USER_PRODUCTS_PATTERN).count(500).build();
+        try (Cursor<String> keys = redis.scan(options)) {
+            while (keys.hasNext()) {
+                String legacyKey = keys.next();
+                String u = legacyKey.substring("like:user:".length(), legacyKey.length() - ":products".length());
+
+                Set<String> members = redis.opsForSet().members(legacyKey);
+                if (members != null && !members.isEmpty()) {
+                    List<String> values = new ArrayList<>(members.size());
+                    List<Long> pids = new ArrayList<>(members.size());
+                    for (String m : members) {
+                        Long pid = parseLong(m);
+                        if (pid != null) {
+                            values.add(m);
+                            pids.add(pid);
+                        }
+                    }
+                    List<Object> present = redis.executePipelined((RedisCallback<Object>) connection -> {
+                        StringRedisConnection conn = (StringRedisConnection) connection;
+                        for (Long pid : pids) {
+                            conn.sIsMember(usersKey(pid), u);
+                        }
+                        return null;
+                    });
+                    Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+                    for (int i = 0; i < pids.size(); i++) {
+                        if (Boolean.TRUE.equals(present.get(i))) {
+                            tuples.add(ZSetOperations.TypedTuple.of(values.get(i), pids.get(i).doubleValue()));
+                        }
+                    }
+                    if (!tuples.isEmpty()) {
+                        redis.opsForZSet().addIfAbsent(userProductsKey(u), tuples);
+                    }
+                }
+                redis.delete(legacyKey);
+                migrated++;
+            }
+        }
+        redis.opsForValue().set(USER_INDEX_MIGRATED_KEY, Long.toString(System.currentTimeMillis()));
+        return migrated;
+    }
 
-        int from = Math.min(offset, ids.size());
-        int to   = Math.min(offset + limit, ids.size());
-        return ids.subList(from, to);
+    /**
+     * DB(product_likes) 기준으로 Redis 좋아요 데이터 복원 (콜드 스타트용)
+     * - 상품→사용자 집합, 사용자→상품 ZSET 을 파이프라인으로 채우고
+     *   카운트 캐시는 지워서 다음 조회 때 SCARD 로 다시 계산되게 함
+     */
+    public void restoreLikes(List<ProductLike> likes) {
+        if (likes == null || likes.isEmpty()) return;
+        redis.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (ProductLike like : likes) {
+                String pid = String.valueOf(like.getProductId());
+                conn.sAdd(usersKey(like.getProductId()), like.getUserEmail());
+                conn.zAdd(userProductsKey(like.getUserEmail()), like.getCreatedAt().toEpochMilli(), pid);
+                conn.del(countKey(like.getProductId()));
+            }
+            return null;
+        });
     }
 
+    /**
+     * Redis 의 전체 좋아요를 batchSize 단위로 내보냄 (DB 백필용)
+     * - 사용자→상품 ZSET 을 SCAN 하며 읽고, 좋아요 시각을 알 수 없는 항목(마이그레이션분)은 현재 시각으로 채움
+     * @return 내보낸 좋아요 건수
+     */
+    public long exportLikes(int batchSize, Consumer<List<ProductLike>> sink) {
+        Instant now = Instant.now();
+        List<ProductLike> chunk = new ArrayList<>(batchSize);
+        long total = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(USER_PRODUCTS_PATTERN).count(500).build();
+        try (Cursor<String> keys = redis.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String u = key.substring("like:user:".length(), key.length() - ":liked".length());
+                Set<ZSetOperations.TypedTuple<String>> liked = redis.opsForZSet().rangeWithScores(key, 0, -1);
+                if (liked == null) continue;
+                for (ZSetOperations.TypedTuple<String> t : liked) {
+                    Long pid = parseLong(t.getValue());
+                    if (pid == null) continue;
+                    double score = t.getScore() == null ? 0d : t.getScore();
+                    chunk.add(ProductLike.builder()
+                            .productId(pid)
+                            .userEmail(u)
+                            .createdAt(score >= MIN_EPOCH_MILLIS ? Instant.ofEpochMilli((long) score) : now)
+                            .build());
+                    if (chunk.size() >= batchSize) {
+                        sink.accept(chunk);
+                        total += chunk.size();
+                        chunk = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sink.accept(chunk);
+            total += chunk.size();
+        }
+        return total;
+    }
+
+    /** Redis → DB 백필 완료 여부 */
+    public boolean isDbBackfilled() {
+        return Boolean.TRUE.equals(redis.hasKey(DB_BACKFILL_DONE_KEY));
+    }
+
+    public void markDbBackfilled() {
+        redis.opsForValue().set(DB_BACKFILL_DONE_KEY, Long.toString(System.currentTimeMillis()));
+    }
+
+    // --------------------------
+    // ✅ 인기순 정렬 지원 (like:rank)
+    // --------------------------
+
+    /** 인기순 상품 id 페이지 (desc=true 면 좋아요 많은 순) */
+    public List<Long> getRankedProductIds(long offset, int limit, boolean desc) {
+        if (limit <= 0) return List.of();
+        Set<String> raw = desc
+                ? redis.opsForZSet().reverseRange(RANK_KEY, offset, offset + limit - 1L)
+                : redis.opsForZSet().range(RANK_KEY, offset, offset + limit - 1L);
+        if (raw == null || raw.isEmpty()) return List.of();
+        return raw.stream().map(this::parseLong).filter(Objects::nonNull).toList();
+    }
+
+    /** 순위에 올라있는 상품 수 */
+    public long getRankSize() {
+        Long size = redis.opsForZSet().zCard(RANK_KEY);
+        return size == null ? 0L : size;
+    }
+
+    /** 신규 상품을 0점으로 순위에 등록 (이미 있으면 유지) */
+    public void addToRank(long productId) {
+        redis.opsForZSet().addIfAbsent(RANK_KEY, String.valueOf(productId), 0);
+    }
+
+    /** 삭제된 상품을 순위에서 제거 */
+    public void removeFromRank(long productId) {
+        redis.opsForZSet().remove(RANK_KEY, String.valueOf(productId));
+    }
+
+    /**
+     * 주어진 상품들의 순위 점수를 현재 SCARD 로 재계산 (상품 가져오기 등 증분 등록용)
+     * - SCARD 파이프라인 1회 + ZADD 1회
+     */
+    public void rebuildRank(Collection<Long> productIds) {
+        rebuildRank(productIds, RANK_KEY);
+    }
+
+    /**
+     * 전체 재구성 시작: 새 임시 ZSET 키 이름을 반환
+     * - rebuildRank(ids, key) 로 채운 뒤 finishRankRebuild 로 교체 (DB 에 없는 상품은 자연히 빠짐)
+     */
+    public String beginRankRebuild() {
+        return RANK_KEY + ":rebuild:" + UUID.randomUUID();
+    }
+
+    /** 임시 ZSET 을 순위 키로 원자적으로 교체 (상품이 하나도 없으면 순위를 비움) */
+    public void finishRankRebuild(String tmpKey) {
+        if (Boolean.TRUE.equals(redis.hasKey(tmpKey))) {
+            redis.rename(tmpKey, RANK_KEY);
+        } else {
+            redis.delete(RANK_KEY);
+        }
+    }
+
+    /** 재구성 실패 시 임시 키 정리 */
+    public void abortRankRebuild(String tmpKey) {
+        redis.delete(tmpKey);
+    }
+
+    public void rebuildRank(Collection<Long> productIds, String rankKey) {
+        if (productIds == null || productIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(productIds);
+
+        List<Object> sizes = redis.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (Long pid : ids) {
+                conn.sCard(usersKey(pid));
+            }
+            return null;
+        });
+
+        Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Object v = sizes.get(i);
+            long c = (v instanceof Long l) ? l : 0L;
+            tuples.add(ZSetOperations.TypedTuple.of(String.valueOf(ids.get(i)), (double) c));
+        }
+        redis.opsForZSet().add(rankKey, tuples);
+    }
+
+    /** 전체 상품의 순위 점수 (productId → 좋아요 수), ZRANGE WITHSCORES 1회 */
+    public Map<Long, Long> getRankScores() {
+        Set<ZSetOperations.TypedTuple<String>> raw = redis.opsForZSet().rangeWithScores(RANK_KEY, 0, -1);
+        if (raw == null || raw.isEmpty()) return Map.of();
+        Map<Long, Long> out = new HashMap<>(raw.size() * 2);
+        for (ZSetOperations.TypedTuple<String> t : raw) {
+            Long pid = parseLong(t.getValue());
+            if (pid != null && t.getScore() != null) out.put(pid, t.getScore().longValue());
+        }
+        return out;
+    }
+
+    /** 순위 ZSET 존재 여부 (없으면 부트스트랩 필요) */
+    public boolean isRankInitialized() {
+        return Boolean.TRUE.equals(redis.hasKey(RANK_KEY));
+    }
+
+    /**
+     * 좋아요 목록 커서 위치
+     * @param productId 같은 score 안에서의 위치 (null 이면 같은 score 를 모두 건너뜀)
+     */
+    public record LikedCursor(double score, Long productId) {}
+
+    /** 커서 페이지 결과 (nextCursor=null 이면 마지막 페이지) */
+    public record LikedIdsSlice(List<Long> ids, LikedCursor nextCursor) {}
 
     public record LikeResult(boolean liked, long count) {}
 }
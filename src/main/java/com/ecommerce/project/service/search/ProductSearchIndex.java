@@ -0,0 +1,207 @@
+package com.ecommerce.project.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 인메모리 역색인 상품 검색 (추가 인프라 없이 애플리케이션 안에서 동작)
+ * - 상품명(가중치 3) / 카테고리명(2) / 설명(1) 을 토큰화해서 token → (productId → 점수) 로 보관
+ * - 영어/숫자는 단어 단위, 한글은 단어 + 2글자(bigram) 단위로 색인 → 형태소 분석 없이 부분 일치
+ * - 상품 추가/수정/삭제 시 증분 반영, 기동 시 DB 에서 재구성
+ * - 메모리 상한을 넘으면 더 이상 색인하지 않고 isComplete()=false (호출 측은 DB 검색 사용),
+ *   이미 색인된 상품의 수정이 상한에 걸리면 이전 내용을 그대로 둠
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // posting 1건 (맵 엔트리 + Long 키 + Integer 값) 대략적인 크기
+    private static final long BYTES_PER_POSTING = 80;
+
+    private static final String SELECT_ALL_SQL =
+            "SELECT p.product_id, p.product_name, p.description, c.category_name " +
+            "FROM products p LEFT JOIN categories c ON c.category_id = p.category_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxPostings;
+
+    private volatile Index index = new Index();
+
+    // 재구성 중 들어온 증분 변경 (재구성 완료 후 새 색인에 다시 적용)
+    private List<Consumer<Index>> pendingDuringRebuild;
+
+    public ProductSearchIndex(JdbcTemplate jdbcTemplate,
+                              @Value("${app.search.index.memory-budget-mb:64}") long memoryBudgetMb) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPostings = memoryBudgetMb * 1024 * 1024 / BYTES_PER_POSTING;
+    }
+
+    /** 상품 추가/수정 반영 */
+    public synchronized void upsert(long productId, String name, String description, String category) {
+        apply(i -> i.upsert(productId, name, description, category));
+    }
+
+    /** 상품 삭제 반영 */
+    public synchronized void remove(long productId) {
+        apply(i -> i.remove(productId));
+    }
+
+    private void apply(Consumer<Index> op) {
+        op.accept(index);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(op);
+        }
+    }
+
+    /**
+     * 검색: 관련도 높은 순 productId 목록 (DB 접근 없음)
+     * - 질의 토큰마다 (필드 가중치 합) × idf 를 더해 점수 계산
+     */
+    public List<Long> search(String query, int limit) {
+        Index current = index;
+        List<String> tokens = tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty() || limit <= 0) return List.of();
+
+        int docs = Math.max(1, current.docTokens.size());
+        Map<Long, Double> scores = new HashMap<>();
+        for (String token : tokens) {
+            Map<Long, Integer> postings = current.postings.get(token);
+            if (postings == null || postings.isEmpty()) continue;
+            double idf = Math.log(1.0 + (double) docs / postings.size());
+            postings.forEach((pid, weight) -> scores.merge(pid, weight * idf, Double::sum));
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /** 메모리 상한 때문에 빠진 상품이 없는지 여부 */
+    public boolean isComplete() {
+        return !index.truncated;
+    }
+
+    /** 색인된 상품 수 */
+    public int size() {
+        return index.docTokens.size();
+    }
+
+    /**
+     * DB 전체 상품으로 색인 재구성
+     * - 새 색인을 만든 뒤 통째로 교체하므로 재구성 중에도 기존 색인으로 검색 가능
+     * @return 색인한 상품 수
+     */
+    public int rebuild() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        Index fresh = new Index();
+        try {
+            jdbcTemplate.query(SELECT_ALL_SQL, (RowCallbackHandler) rs -> fresh.upsert(
+                    rs.getLong("product_id"),
+                    rs.getString("product_name"),
+                    rs.getString("description"),
+                    rs.getString("category_name")));
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                pendingDuringRebuild = null; // 실패 시 기존 색인 유지
+            }
+            throw ex;
+        }
+        synchronized (this) {
+            pendingDuringRebuild.forEach(op -> op.accept(fresh));
+            pendingDuringRebuild = null;
+            index = fresh;
+        }
+        logger.info("product search index rebuilt: {} products, {} postings{}",
+                fresh.docTokens.size(), fresh.postingCount, fresh.truncated ? " (memory budget reached)" : "");
+        return fresh.docTokens.size();
+    }
+
+    /**
+     * 토큰화: 소문자화 후 문자/숫자 이외 문자로 분리
+     * - 한글이 포함된 단어는 단어 자체 + 2글자 bigram 도 토큰으로 사용
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> out = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+            out.add(word);
+            if (containsHangul(word) && word.length() > 2) {
+                for (int i = 0; i + 2 <= word.length(); i++) {
+                    out.add(word.substring(i, i + 2));
+                }
+            }
+        }
+        return out;
+    }
+
+    private static boolean containsHangul(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.UnicodeScript.of(word.charAt(i)) == Character.UnicodeScript.HANGUL) return true;
+        }
+        return false;
+    }
+
+    /** 색인 본체 (변경은 ProductSearchIndex 의 락 안에서만, 조회는 락 없이) */
+    private final class Index {
+        final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+        final Map<Long, Set<String>> docTokens = new ConcurrentHashMap<>();
+        long postingCount;
+        boolean truncated;
+
+        void upsert(long productId, String name, String description, String category) {
+            Map<String, Integer> weights = new HashMap<>();
+            tokenize(name).forEach(t -> weights.merge(t, NAME_WEIGHT, Integer::sum));
+            tokenize(category).forEach(t -> weights.merge(t, CATEGORY_WEIGHT, Integer::sum));
+            tokenize(description).forEach(t -> weights.merge(t, DESCRIPTION_WEIGHT, Integer::sum));
+
+            // 기존 항목을 지우기 전에 상한 확인 (넘으면 기존 항목은 이전 내용으로 남겨 둠)
+            Set<String> existing = docTokens.get(productId);
+            long delta = weights.size() - (existing == null ? 0 : existing.size());
+            if (postingCount + delta > maxPostings) {
+                if (!truncated) {
+                    logger.warn("product search index memory budget reached ({} postings), further products are not indexed", postingCount);
+                }
+                truncated = true;
+                return;
+            }
+
+            remove(productId);
+
+            weights.forEach((token, w) ->
+                    postings.computeIfAbsent(token, k -> new ConcurrentHashMap<>()).put(productId, w));
+            docTokens.put(productId, weights.keySet());
+            postingCount += weights.size();
+        }
+
+        void remove(long productId) {
+            Set<String> tokens = docTokens.remove(productId);
+            if (tokens == null) return;
+            for (String token : tokens) {
+                Map<Long, Integer> p = postings.get(token);
+                if (p == null) continue;
+                p.remove(productId);
+                if (p.isEmpty()) postings.remove(token);
+            }
+            postingCount -= tokens.size();
+        }
+    }
+}
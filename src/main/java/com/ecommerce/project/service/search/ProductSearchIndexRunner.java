@@ -0,0 +1,31 @@
+package com.ecommerce.project.service.search;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 시 DB 전체 상품으로 인메모리 검색 색인 생성
+ * - 이후에는 상품 추가/수정/삭제 때마다 증분 갱신됨
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndexRunner.class);
+
+    private final ProductSearchIndex searchIndex;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            searchIndex.rebuild();
+        } catch (RuntimeException e) {
+            // 색인이 없어도 DB 검색은 동작하므로 경고만 남김
+            logger.warn("product search index build skipped: {}", e.getMessage());
+        }
+    }
+}
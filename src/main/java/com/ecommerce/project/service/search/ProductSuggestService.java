@@ -0,0 +1,174 @@
+package com.ecommerce.project.service.search;
+
+import com.ecommerce.project.payload.ProductSuggestionDTO;
+import com.ecommerce.project.service.like.RedisLikeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품명 자동완성 (검색어 입력 중 제안)
+ * - 상품명 전체 및 각 단어 시작 위치를 키로 하는 trie, 노드마다 인기순 상위 K 개를 미리 보관
+ *   → 조회는 접두어 길이만큼 따라 내려가기만 하면 됨 (DB/Redis 접근 없음)
+ * - 인기 가중치는 like:rank 의 좋아요 수
+ * - 상품 변경 시 dirty 표시, 주기적으로 새 trie 를 만들어 통째로 교체
+ */
+@Service
+public class ProductSuggestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSuggestService.class);
+
+    // 노드마다 보관하는 제안 수 (= 요청 가능한 최대 limit)
+    public static final int MAX_SUGGESTIONS = 10;
+    // trie 깊이 상한 (더 긴 접두어는 후보를 이름으로 다시 거름)
+    private static final int MAX_KEY_LENGTH = 20;
+
+    private static final String SELECT_NAMES_SQL = "SELECT product_id, product_name FROM products";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisLikeService likeService;
+    private final long refreshIntervalMs;
+
+    private volatile Node root = new Node();
+    // 상품 변경 횟수 / 마지막으로 성공한 재생성이 반영한 변경 횟수 (다르면 dirty)
+    private final AtomicLong changes = new AtomicLong(1);
+    private volatile long builtChanges;
+    private volatile long lastBuiltAt;
+
+    public ProductSuggestService(JdbcTemplate jdbcTemplate,
+                                 RedisLikeService likeService,
+                                 @Value("${app.search.suggest.refresh-interval-ms:60000}") long refreshIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.likeService = likeService;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    /** 접두어로 시작하는 상품명(또는 상품명 속 단어) 인기순 상위 limit 개 */
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) return List.of();
+
+        Node node = root;
+        int depth = Math.min(key.length(), MAX_KEY_LENGTH);
+        for (int i = 0; i < depth && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) return List.of();
+
+        boolean truncated = key.length() > MAX_KEY_LENGTH;
+        List<ProductSuggestionDTO> out = new ArrayList<>(Math.min(limit, MAX_SUGGESTIONS));
+        for (Entry e : node.top) {
+            if (out.size() >= limit) break;
+            if (truncated && !e.normalizedName().contains(key)) continue;
+            out.add(new ProductSuggestionDTO(e.productId(), e.productName(), e.weight()));
+        }
+        return out;
+    }
+
+    /** 상품 추가/수정/삭제 시 호출 → 다음 주기에 재생성 */
+    public void markDirty() {
+        changes.incrementAndGet();
+    }
+
+    /** dirty 이거나 갱신 주기가 지났으면 재생성 (인기 가중치 반영) */
+    @Scheduled(fixedDelayString = "${app.search.suggest.check-interval-ms:5000}")
+    public void refreshIfNeeded() {
+        boolean dirty = changes.get() != builtChanges;
+        if (!dirty && System.currentTimeMillis() - lastBuiltAt < refreshIntervalMs) return;
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("product suggest rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * DB 상품명 + like:rank 점수로 trie 재생성
+     * - 시작 시점까지의 변경만 반영된 것으로 기록 (실패하면 dirty 그대로, 도중의 변경은 다음 주기에)
+     */
+    public void rebuild() {
+        long seen = changes.get();
+
+        Map<Long, Long> scores;
+        try {
+            scores = likeService.getRankScores();
+        } catch (RuntimeException e) {
+            // Redis 장애 시 인기 가중치 없이 이름만으로 생성
+            logger.warn("product suggest built without popularity: {}", e.getMessage());
+            scores = Map.of();
+        }
+        Map<Long, Long> weights = scores;
+
+        List<Entry> entries = new ArrayList<>();
+        jdbcTemplate.query(SELECT_NAMES_SQL, rs -> {
+            long pid = rs.getLong("product_id");
+            String name = rs.getString("product_name");
+            if (name == null || name.isBlank()) return;
+            entries.add(new Entry(pid, name, normalize(name), weights.getOrDefault(pid, 0L)));
+        });
+
+        // 인기순으로 넣으면 각 노드는 앞에서부터 K 개만 채우면 됨
+        entries.sort(Comparator.comparingLong(Entry::weight).reversed()
+                .thenComparing(Entry::productId, Comparator.reverseOrder()));
+
+        Node fresh = new Node();
+        for (Entry e : entries) {
+            for (int start : wordStarts(e.normalizedName())) {
+                insert(fresh, e, start);
+            }
+        }
+
+        root = fresh;
+        builtChanges = seen;
+        lastBuiltAt = System.currentTimeMillis();
+        logger.debug("product suggest rebuilt: {} products", entries.size());
+    }
+
+    private void insert(Node root, Entry e, int start) {
+        String name = e.normalizedName();
+        int end = Math.min(name.length(), start + MAX_KEY_LENGTH);
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+            node.offer(e);
+        }
+    }
+
+    private static List<Integer> wordStarts(String normalized) {
+        List<Integer> starts = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    /** 소문자 + 연속 공백 하나로 */
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private record Entry(long productId, String productName, String normalizedName, long weight) {}
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        final List<Entry> top = new ArrayList<>(2);
+
+        // 같은 상품이 한 노드에 두 번 들어가지 않도록 (같은 단어가 반복되는 이름)
+        void offer(Entry e) {
+            if (top.size() >= MAX_SUGGESTIONS) return;
+            for (Entry t : top) {
+                if (t.productId() == e.productId()) return;
+            }
+            top.add(e);
+        }
+    }
+}
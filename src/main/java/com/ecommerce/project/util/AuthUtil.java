@@ -32,6 +32,15 @@ public class AuthUtil {
                 .orElseThrow(() -> new IllegalStateException("No email for username: " + username));
     }
 
+    /** 인증 정보의 username (DB 조회 없음) */
+    public String loggedInUserName() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("Unauthenticated");
+        }
+        return authentication.getName();
+    }
+
     public Long loggedInUserId(){
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         User user = userRepository.findByUserName(authentication.getName())
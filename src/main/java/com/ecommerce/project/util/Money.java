@@ -0,0 +1,38 @@
+package com.ecommerce.project.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 금액 고정소수점 계산 (최소 단위 = 1/100 원, long)
+ * - 합계/소계는 모두 최소 단위 정수로 계산해 부동소수점 오차가 쌓이지 않게 함
+ * - double 은 기존 API/컬럼 호환용 표시 값으로만 사용
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final long MINOR_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /** 원 단위 double → 최소 단위 (소수 셋째 자리에서 반올림) */
+    public static long toMinor(double amount) {
+        return BigDecimal.valueOf(amount).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** 최소 단위 → 원 단위 double (표시/호환용) */
+    public static double toMajor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE).doubleValue();
+    }
+
+    /** 최소 단위 → 원 단위 정수 (반올림, 결제/포인트 계산용) */
+    public static long toWholeUnits(long minor) {
+        return BigDecimal.valueOf(minor, SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /** 라인 소계 = 단가 × 수량 (오버플로 시 ArithmeticException) */
+    public static long subtotal(long unitMinor, int quantity) {
+        return Math.multiplyExact(unitMinor, quantity);
+    }
+}
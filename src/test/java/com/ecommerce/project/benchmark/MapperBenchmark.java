@@ -0,0 +1,119 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.mapper.CartMapper;
+import com.ecommerce.project.mapper.CartMapperImpl;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct 생성 매퍼 vs 이전 ModelMapper 경로 (상품 1건, 20 라인 장바구니)
+ * - ModelMapper 쪽은 기존 서비스 코드와 같은 방식 (장바구니 map 후 라인마다 상품 map + 수량 설정)
+ * - 실행: MapperBenchmarkTest (mvn test -Pbenchmark -Dtest=MapperBenchmarkTest)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MapperBenchmark {
+
+    static final int CART_LINES = 20;
+
+    private ProductMapper productMapper;
+    private CartMapper cartMapper;
+    private ModelMapper modelMapper;
+
+    private Product product;
+    private Cart cart;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        cartMapper = new CartMapperImpl();
+        ReflectionTestUtils.setField(cartMapper, "productMapper", productMapper);
+        modelMapper = new ModelMapper();
+
+        Category category = new Category();
+        category.setCategoryId(1L);
+        category.setCategoryName("Kitchen");
+        User seller = new User("seller", "seller@test.com", "password");
+
+        cart = new Cart();
+        cart.setCartId(1L);
+        cart.setUser(new User("buyer", "buyer@test.com", "password"));
+        List<CartItem> items = new ArrayList<>();
+        for (int i = 0; i < CART_LINES; i++) {
+            Product p = product(i, category, seller);
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(p);
+            item.setQuantity(1 + i % 3);
+            item.setProductPrice(p.getSpecialPrice());
+            items.add(item);
+        }
+        cart.setCartItems(items);
+        cart.setTotalPrice(1000.0);
+        product = items.get(0).getProduct();
+    }
+
+    private static Product product(int i, Category category, User seller) {
+        Product p = new Product();
+        p.setProductId((long) i + 1);
+        p.setProductName("Product " + i);
+        p.setDescription("Description of product " + i);
+        p.setImage(i + ".png");
+        p.setQuantity(100);
+        p.setPrice(10 + i);
+        p.setDiscount(10);
+        p.setSpecialPrice((10 + i) * 0.9);
+        p.setCategory(category);
+        p.setUser(seller);
+        return p;
+    }
+
+    @Benchmark
+    public ProductDTO productMapStruct() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public ProductDTO productModelMapper() {
+        return modelMapper.map(product, ProductDTO.class);
+    }
+
+    @Benchmark
+    public CartDTO cartMapStruct() {
+        return cartMapper.toDto(cart);
+    }
+
+    @Benchmark
+    public CartDTO cartModelMapper() {
+        CartDTO dto = modelMapper.map(cart, CartDTO.class);
+        List<ProductDTO> products = new ArrayList<>(cart.getCartItems().size());
+        for (CartItem item : cart.getCartItems()) {
+            ProductDTO p = modelMapper.map(item.getProduct(), ProductDTO.class);
+            p.setQuantity(item.getQuantity());
+            products.add(p);
+        }
+        dto.setProducts(products);
+        return dto;
+    }
+}
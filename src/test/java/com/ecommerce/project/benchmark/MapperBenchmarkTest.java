@@ -0,0 +1,42 @@
+package com.ecommerce.project.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** MapperBenchmark 실행 (처리량 + GC 프로파일러의 호출당 할당량) */
+@Tag("benchmark")
+class MapperBenchmarkTest {
+
+    @Test
+    void generatedMappersOutperformModelMapper() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(MapperBenchmark.class.getName() + ".")
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> score = new HashMap<>();
+        for (RunResult r : results) {
+            score.put(r.getParams().getBenchmark().replaceAll(".*\\.", ""), r.getPrimaryResult().getScore());
+        }
+        assertThat(score.get("productMapStruct")).isGreaterThan(score.get("productModelMapper"));
+        assertThat(score.get("cartMapStruct")).isGreaterThan(score.get("cartModelMapper"));
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.config.ProductConstraintInitializer;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.ProductServiceImpl;
+import com.ecommerce.project.service.cache.CategorySnapshotService;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import com.ecommerce.project.service.cart.CartPriceFanOutService;
+import com.ecommerce.project.service.like.RedisLikeService;
+import com.ecommerce.project.service.search.ProductSearchIndex;
+import com.ecommerce.project.service.search.ProductSuggestService;
+import com.ecommerce.project.support.Measure;
+import com.ecommerce.project.support.PostgresJpaTest;
+import com.ecommerce.project.support.StatementCounter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 상품 추가 비용이 카테고리 크기와 무관한지: 상품 100 개 카테고리 vs 100,000 개 카테고리 (실제 PostgreSQL)
+ * - 비교 기준: 이전 방식처럼 category.getProducts() 를 모두 읽어 이름을 비교하는 중복 확인
+ * - mvn test -Pbenchmark -Dtest=ProductAddBenchmarkTest
+ */
+@Tag("benchmark")
+@PostgresJpaTest
+@Import(ProductConstraintInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductAddBenchmarkTest {
+
+    private static final int SMALL = 100;
+    private static final int LARGE = 100_000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    StatementCounter statements;
+
+    private final AtomicInteger names = new AtomicInteger();
+
+    /** id 는 Hibernate 시퀀스와 겹치지 않는 범위로 */
+    private void seed() {
+        jdbcTemplate.execute("TRUNCATE cart_items, carts, products, categories RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO categories (category_id, category_name) VALUES (1, 'Small'), (2, 'Large')");
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, description, quantity, price, discount, " +
+                "special_price, category_id) SELECT 10000000 + g, 'Seed ' || g, 'seeded product', 10, 10, 0, 10, " +
+                "CASE WHEN g <= ? THEN 1 ELSE 2 END FROM generate_series(1, ?) g", SMALL, SMALL + LARGE);
+        jdbcTemplate.execute("ANALYZE products");
+    }
+
+    private ProductServiceImpl service() {
+        CategorySnapshotService categories = mock(CategorySnapshotService.class);
+        when(categories.get(anyLong())).thenAnswer(inv -> new CategoryDTO(inv.getArgument(0), "Category"));
+
+        ProductServiceImpl service = new ProductServiceImpl(mock(RedisLikeService.class));
+        ReflectionTestUtils.setField(service, "productRepository", productRepository);
+        ReflectionTestUtils.setField(service, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(service, "categorySnapshotService", categories);
+        ReflectionTestUtils.setField(service, "productMapper", new ProductMapperImpl());
+        ReflectionTestUtils.setField(service, "productSearchIndex", mock(ProductSearchIndex.class));
+        ReflectionTestUtils.setField(service, "productSuggestService", mock(ProductSuggestService.class));
+        ReflectionTestUtils.setField(service, "productCacheService", mock(ProductCacheService.class));
+        ReflectionTestUtils.setField(service, "cartPriceFanOutService", mock(CartPriceFanOutService.class));
+        return service;
+    }
+
+    private ProductDTO newProduct() {
+        ProductDTO dto = new ProductDTO();
+        dto.setProductName("Added " + names.incrementAndGet());
+        dto.setDescription("benchmark product");
+        dto.setQuantity(5);
+        dto.setPrice(20);
+        return dto;
+    }
+
+    /** 한 번 추가할 때의 문장 수 (시퀀스 할당은 50 건마다 한 번이라 제외) */
+    private long statementsPerAdd(ProductServiceImpl service, long categoryId) {
+        statements.reset();
+        service.addProduct(categoryId, newProduct());
+        return statements.statements().stream().filter(sql -> !sql.contains("nextval")).count();
+    }
+
+    @Test
+    void addCostDoesNotGrowWithCategorySize() {
+        seed();
+        ProductServiceImpl service = service();
+
+        Measure.Result small = Measure.run("add, 100-product category", 50, 300,
+                () -> service.addProduct(1L, newProduct()));
+        Measure.Result large = Measure.run("add, 100k-product category", 50, 300,
+                () -> service.addProduct(2L, newProduct()));
+        long smallStatements = statementsPerAdd(service, 1L);
+        long largeStatements = statementsPerAdd(service, 2L);
+        System.out.printf("[benchmark] statements per add: small %d, large %d%n", smallStatements, largeStatements);
+
+        // 이전 방식의 중복 확인만 (카테고리 상품 전체 로드 후 이름 비교)
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Measure.run("old check, 100-product category", 5, 20, () -> tx.execute(s -> scanNames(1L)));
+        Measure.Result oldLarge = Measure.run("old check, 100k-product category", 1, 5, () -> tx.execute(s -> scanNames(2L)));
+
+        assertThat(largeStatements).isEqualTo(smallStatements);
+        assertThat(large.millisPerOp()).isLessThan(small.millisPerOp() * 2);
+        assertThat(large.millisPerOp()).isLessThan(oldLarge.millisPerOp());
+    }
+
+    private boolean scanNames(long categoryId) {
+        Category category = categoryRepository.findById(categoryId).orElseThrow();
+        return category.getProducts().stream().anyMatch(p -> p.getProductName().equalsIgnoreCase("Added 0"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.config.QuerydslConfig;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductCardDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.ProductQueryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.support.Measure;
+import com.ecommerce.project.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 한 페이지: 엔티티 로드 + 매퍼 변환 vs 카드 DTO 생성자 프로젝션 (실제 PostgreSQL)
+ * - mvn test -Pbenchmark -Dtest=ProductCardQueryBenchmarkTest
+ */
+@Tag("benchmark")
+@PostgresJpaTest
+@Import({QuerydslConfig.class, ProductQueryRepository.class, ProductMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductCardQueryBenchmarkTest {
+
+    private static final int PRODUCTS = 5000;
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 20;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductQueryRepository productQueryRepository;
+
+    @Autowired
+    ProductMapper productMapper;
+
+    private TransactionTemplate tx;
+    private int page;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        jdbcTemplate.execute("TRUNCATE cart_items, carts, products, categories, users RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO categories (category_id, category_name) " +
+                "SELECT g, 'Category ' || g FROM generate_series(1, 10) g");
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password) " +
+                "SELECT g, 'user' || g, 'user' || g || '@test.com', 'pw' FROM generate_series(1, 200) g");
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, description, image, quantity, price, " +
+                "discount, special_price, category_id, seller_id) " +
+                "SELECT g, 'Product ' || lpad(g::text, 5, '0'), repeat('description ', 20), g || '.png', 100, " +
+                "10 + g % 90, 10, (10 + g % 90) * 0.9, 1 + g % 10, 1 FROM generate_series(1, ?) g", PRODUCTS);
+        // 장바구니 200개 × 20 라인
+        jdbcTemplate.update("INSERT INTO carts (cart_id, user_id, total_price, total_minor) " +
+                "SELECT g, g, 0, 0 FROM generate_series(1, 200) g");
+        jdbcTemplate.update("INSERT INTO cart_items (cart_id, product_id, quantity, discount, product_price, " +
+                "product_price_minor, subtotal_minor) " +
+                "SELECT c, 1 + (c * 20 + i) % ?, 1, 0, 10, 1000, 1000 " +
+                "FROM generate_series(1, 200) c, generate_series(1, 20) i", PRODUCTS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private Pageable nextPage() {
+        return PageRequest.of(page++ % PAGES, PAGE_SIZE, Sort.by("productName"));
+    }
+
+    @Test
+    void projectionVersusEntityAndMapper() {
+        // 기준: DB 왕복 1회 비용 (두 경로 모두 페이지 + count 왕복을 포함)
+        Measure.run("round trip (SELECT 1)", 100, 500, () -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+        Measure.Result entity = Measure.run("entity + mapper", 200, 1000, () -> tx.execute(s -> {
+            List<ProductDTO> dtos = productRepository.findAll(Specification.where(null), nextPage()).getContent()
+                    .stream().map(productMapper::toDto).toList();
+            assertThat(dtos).hasSize(PAGE_SIZE);
+            return dtos;
+        }));
+        Measure.Result projection = Measure.run("card projection", 200, 1000, () -> tx.execute(s -> {
+            List<ProductCardDTO> cards = productQueryRepository.findCards(null, null, nextPage()).getContent();
+            assertThat(cards).hasSize(PAGE_SIZE);
+            return cards;
+        }));
+
+        System.out.printf("[benchmark] rows/s: entity + mapper %.0f, card projection %.0f%n",
+                entity.opsPerSec() * PAGE_SIZE, projection.opsPerSec() * PAGE_SIZE);
+        assertThat(projection.bytesPerOp()).isLessThan(entity.bytesPerOp());
+    }
+
+    /** 엔티티 경로가 실제로 Product 를 올리는지 (비교 대상 확인) */
+    @Test
+    void entityPathHydratesProducts() {
+        List<Product> products = tx.execute(s -> productRepository.findAll(PageRequest.of(0, PAGE_SIZE)).getContent());
+        assertThat(products).hasSize(PAGE_SIZE);
+    }
+}
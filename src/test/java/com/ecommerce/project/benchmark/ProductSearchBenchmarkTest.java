@@ -0,0 +1,109 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.config.ProductSearchIndexInitializer;
+import com.ecommerce.project.repositories.ProductSearchRepository;
+import com.ecommerce.project.support.Measure;
+import com.ecommerce.project.support.PostgresJpaTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 100만 건 키워드 검색: LIKE '%kw%' 순차 스캔 vs pg_trgm/tsvector 인덱스 (실제 PostgreSQL)
+ * - mvn test -Pbenchmark -Dtest=ProductSearchBenchmarkTest
+ */
+@Tag("benchmark")
+@PostgresJpaTest
+@Import({ProductSearchRepository.class, ProductSearchIndexInitializer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSearchBenchmarkTest {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final String KEYWORD = "walnut lamp";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ProductSearchRepository productSearchRepository;
+
+    @Autowired
+    ProductSearchIndexInitializer searchIndexInitializer;
+
+    /** 형용사 20 × 명사 50 → 같은 이름 조합은 1000 건에 하나 */
+    private void seed() {
+        jdbcTemplate.execute("TRUNCATE cart_items, carts, products RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("""
+                INSERT INTO products (product_id, product_name, description, quantity, price, discount, special_price)
+                SELECT g,
+                       (ARRAY['walnut','oak','maple','cherry','pine','steel','brass','copper','glass','marble',
+                              'linen','wool','cotton','leather','rattan','bamboo','ceramic','stone','velvet','silk'])[1 + g % 20]
+                       || ' ' ||
+                       (ARRAY['lamp','desk','chair','table','shelf','stool','bench','sofa','bed','mirror',
+                              'clock','vase','bowl','mug','plate','tray','basket','rug','cushion','throw',
+                              'frame','candle','hook','rack','cabinet','dresser','lantern','planter','jar','box',
+                              'kettle','pan','pot','knife','board','spoon','fork','cup','glass','bottle',
+                              'towel','mat','curtain','blind','pillow','blanket','sheet','duvet','crate','bin'])[1 + (g / 20) % 50]
+                       || ' ' || g,
+                       'handmade in small batches, finish ' || (g % 97) || ', ships in ' || (1 + g % 7) || ' days',
+                       100, 10 + g % 90, 0, 10 + g % 90
+                FROM generate_series(1, ?) g
+                """, PRODUCTS);
+        jdbcTemplate.execute("ANALYZE products");
+    }
+
+    @Test
+    void indexedSearchVersusLikeScan() {
+        seed();
+        // 컨텍스트 기동 때 ApplicationRunner 로 만들어진 검색 인덱스를 지우고 이전 상태에서 측정
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_products_name_trgm");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_products_fts");
+        jdbcTemplate.execute("ANALYZE products");
+        String pattern = "%" + KEYWORD + "%";
+
+        // 이전 경로: lower(product_name) LIKE '%kw%' 페이지 + count (B-tree 로 못 타서 순차 스캔)
+        Measure.Result likeScan = Measure.run("LIKE scan, page + count", 3, 20, () -> {
+            List<Long> ids = jdbcTemplate.queryForList("SELECT product_id FROM products " +
+                    "WHERE lower(product_name) LIKE ? ORDER BY product_name LIMIT 20", Long.class, pattern);
+            Long total = jdbcTemplate.queryForObject("SELECT count(*) FROM products WHERE lower(product_name) LIKE ?",
+                    Long.class, pattern);
+            assertThat(ids).hasSize(20);
+            assertThat(total).isEqualTo(PRODUCTS / 1000);
+        });
+
+        long start = System.nanoTime();
+        searchIndexInitializer.run(null);
+        jdbcTemplate.execute("ANALYZE products");
+        System.out.printf("[benchmark] trigram + full-text index build over %,d rows: %.1f s%n",
+                PRODUCTS, (System.nanoTime() - start) / 1e9);
+
+        Measure.Result indexed = Measure.run("indexed search, by name", 3, 50, () -> {
+            Page<Long> page = productSearchRepository.searchIds(KEYWORD, PageRequest.of(0, 20, Sort.by("productName")));
+            assertThat(page.getContent()).hasSize(20);
+            assertThat(page.getTotalElements()).isEqualTo(PRODUCTS / 1000);
+        });
+        Measure.run("indexed search, relevance", 3, 50, () ->
+                assertThat(productSearchRepository.searchIds(KEYWORD,
+                        PageRequest.of(0, 20, Sort.by(ProductSearchRepository.SORT_BY_RELEVANCE))).getContent()).hasSize(20));
+        Measure.run("indexed search, deep page", 3, 50, () ->
+                assertThat(productSearchRepository.searchIds(KEYWORD,
+                        PageRequest.of(40, 20, Sort.by("productName"))).getContent()).hasSize(20));
+        // 오타: 전문/부분 일치가 없어 유사도 검색으로 넘어감
+        Measure.run("typo, fuzzy fallback", 3, 20, () ->
+                assertThat(productSearchRepository.searchIds("walnit lamp",
+                        PageRequest.of(0, 20, Sort.by(ProductSearchRepository.SORT_BY_RELEVANCE))).getContent()).hasSize(20));
+
+        assertThat(indexed.millisPerOp()).isLessThan(likeScan.millisPerOp());
+    }
+}
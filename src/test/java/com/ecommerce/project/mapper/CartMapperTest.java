@@ -0,0 +1,58 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CartMapperTest {
+
+    private final CartMapper mapper = new CartMapperImpl();
+
+    {
+        ReflectionTestUtils.setField(mapper, "productMapper", new ProductMapperImpl());
+    }
+
+    private static CartItem item(long productId, int stock, int quantity) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductName("p" + productId);
+        product.setQuantity(stock);
+        CartItem item = new CartItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    @Test
+    void toDtoMapsLinesWithCartQuantities() {
+        Cart cart = new Cart();
+        cart.setCartId(5L);
+        cart.setTotalPrice(42.0);
+        cart.setCartItems(List.of(item(1L, 100, 2), item(2L, 50, 1)));
+
+        CartDTO dto = mapper.toDto(cart);
+
+        assertThat(dto.getCartId()).isEqualTo(5L);
+        assertThat(dto.getTotalPrice()).isEqualTo(42.0);
+        assertThat(dto.getProducts()).extracting(ProductDTO::getProductId).containsExactly(1L, 2L);
+        assertThat(dto.getProducts()).extracting(ProductDTO::getQuantity).containsExactly(2, 1);
+    }
+
+    @Test
+    void emptyCartHasNoProducts() {
+        Cart cart = new Cart();
+        cart.setCartId(6L);
+
+        CartDTO dto = mapper.toDto(cart);
+
+        assertThat(dto.getProducts()).isEmpty();
+    }
+}
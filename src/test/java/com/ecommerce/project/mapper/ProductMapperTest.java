@@ -0,0 +1,96 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductMapperTest {
+
+    private final ProductMapper mapper = new ProductMapperImpl();
+
+    private static Product product() {
+        Product product = new Product();
+        product.setProductId(7L);
+        product.setProductName("Mug");
+        product.setImage("mug.png");
+        product.setDescription("Large mug");
+        product.setQuantity(40);
+        product.setPrice(12.5);
+        product.setDiscount(10);
+        product.setSpecialPrice(11.25);
+        return product;
+    }
+
+    @Test
+    void toDtoCopiesProductFieldsAndLeavesLikeCountEmpty() {
+        ProductDTO dto = mapper.toDto(product());
+
+        assertThat(dto.getProductId()).isEqualTo(7L);
+        assertThat(dto.getProductName()).isEqualTo("Mug");
+        assertThat(dto.getImage()).isEqualTo("mug.png");
+        assertThat(dto.getDescription()).isEqualTo("Large mug");
+        assertThat(dto.getQuantity()).isEqualTo(40);
+        assertThat(dto.getPrice()).isEqualTo(12.5);
+        assertThat(dto.getDiscount()).isEqualTo(10);
+        assertThat(dto.getSpecialPrice()).isEqualTo(11.25);
+        assertThat(dto.getLikeCount()).isNull();
+    }
+
+    @Test
+    void copyReturnsIndependentInstance() {
+        ProductDTO cached = mapper.toDto(product());
+        cached.setLikeCount(3L);
+
+        ProductDTO copy = mapper.copy(cached);
+        copy.setProductName("changed");
+
+        assertThat(copy).isNotSameAs(cached);
+        assertThat(copy.getLikeCount()).isEqualTo(3L);
+        assertThat(cached.getProductName()).isEqualTo("Mug");
+    }
+
+    @Test
+    void toEntityLeavesCategoryAndUserUnset() {
+        ProductDTO dto = mapper.toDto(product());
+
+        Product entity = mapper.toEntity(dto);
+
+        assertThat(entity.getProductName()).isEqualTo("Mug");
+        assertThat(entity.getSpecialPrice()).isEqualTo(11.25);
+        assertThat(entity.getCategory()).isNull();
+        assertThat(entity.getUser()).isNull();
+    }
+
+    @Test
+    void cartItemUsesCartQuantityInsteadOfStock() {
+        Product product = product();
+        product.setCategory(new Category());
+        CartItem item = new CartItem();
+        item.setProduct(product);
+        item.setQuantity(2);
+        item.setProductPrice(99.0); // 장바구니에 담긴 단가가 아닌 상품 정보 기준
+
+        ProductDTO dto = mapper.toDto(item);
+
+        assertThat(dto.getProductId()).isEqualTo(7L);
+        assertThat(dto.getQuantity()).isEqualTo(2);
+        assertThat(dto.getPrice()).isEqualTo(12.5);
+        assertThat(dto.getSpecialPrice()).isEqualTo(11.25);
+        assertThat(dto.getLikeCount()).isNull();
+    }
+
+    @Test
+    void cartItemWithoutProductKeepsQuantity() {
+        CartItem item = new CartItem();
+        item.setQuantity(4);
+
+        ProductDTO dto = mapper.toDto(item);
+
+        assertThat(dto.getProductId()).isNull();
+        assertThat(dto.getQuantity()).isEqualTo(4);
+    }
+}
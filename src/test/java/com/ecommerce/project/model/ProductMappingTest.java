@@ -0,0 +1,124 @@
+package com.ecommerce.project.model;
+
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.support.PostgresJpaTest;
+import com.ecommerce.project.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 카탈로그 한 페이지를 읽는 문장 수가 장바구니 라인 수와 무관한지 */
+@PostgresJpaTest
+class ProductMappingTest {
+
+    private static final int PRODUCTS = 12;
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    StatementCounter statements;
+
+    private final List<Product> products = new ArrayList<>();
+    private int users;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setCategoryName("Kitchen");
+        em.persist(category);
+        User seller = persistUser();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setProductName("Product " + i);
+            product.setDescription("Description " + i);
+            product.setQuantity(100);
+            product.setPrice(10 + i);
+            product.setSpecialPrice(10 + i);
+            product.setCategory(category);
+            product.setUser(seller);
+            products.add(em.persist(product));
+        }
+        em.flush();
+    }
+
+    @Test
+    void catalogPageStatementCountDoesNotGrowWithCarts() {
+        int withoutCarts = loadCatalogPage();
+
+        // 모든 상품이 장바구니 30개에 담김
+        addCarts(30);
+        int withCarts = loadCatalogPage();
+
+        assertThat(withCarts).as("statements: %s", statements.statements()).isEqualTo(withoutCarts);
+        // 페이지 + 카테고리 + 판매자 + count
+        assertThat(withCarts).isEqualTo(4);
+    }
+
+    @Test
+    void loadByIdsStatementCountDoesNotGrowWithCarts() {
+        List<Long> ids = products.stream().map(Product::getProductId).toList();
+        int withoutCarts = loadByIds(ids);
+
+        addCarts(30);
+        int withCarts = loadByIds(ids);
+
+        assertThat(withCarts).as("statements: %s", statements.statements()).isEqualTo(withoutCarts);
+    }
+
+    /** getAllProducts 와 같은 Specification 페이지 조회 + DTO 변환 때 읽는 연관 */
+    private int loadCatalogPage() {
+        em.clear();
+        statements.reset();
+        Page<Product> page = productRepository.findAll(Specification.where(null),
+                PageRequest.of(0, 10, Sort.by("productName")));
+        page.getContent().forEach(p -> p.getCategory().getCategoryName());
+        assertThat(page.getContent()).hasSize(10);
+        return statements.count();
+    }
+
+    /** 검색/패싯 결과 id 로 한 번에 로드 (findAllInOrder) */
+    private int loadByIds(List<Long> ids) {
+        em.clear();
+        statements.reset();
+        List<Product> loaded = productRepository.findAllById(ids);
+        loaded.forEach(p -> p.getCategory().getCategoryName());
+        assertThat(loaded).hasSize(ids.size());
+        return statements.count();
+    }
+
+    private User persistUser() {
+        int n = users++;
+        return em.persist(new User("user" + n, "user" + n + "@test.com", "password"));
+    }
+
+    private void addCarts(int count) {
+        for (int c = 0; c < count; c++) {
+            Cart cart = new Cart();
+            cart.setUser(persistUser());
+            em.persist(cart);
+            for (Product product : products) {
+                CartItem item = new CartItem();
+                item.setCart(cart);
+                item.setProduct(product);
+                item.setQuantity(1);
+                item.setProductPrice(product.getSpecialPrice());
+                em.persist(item);
+            }
+        }
+        em.flush();
+    }
+}
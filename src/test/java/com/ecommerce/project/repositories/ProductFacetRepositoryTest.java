@@ -0,0 +1,187 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.payload.FacetValueDTO;
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.support.PostgresJpaTest;
+import com.ecommerce.project.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+import static com.ecommerce.project.repositories.ProductFacetRepository.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 다중 필터 + GROUPING SETS 항목별 건수를 실제 PostgreSQL 에서 검증
+ * - 구간 경계는 기본 설정값 (가격 0/10000/30000/50000/100000, 할인율 0/10/30/50)
+ */
+@PostgresJpaTest
+@Import(ProductFacetRepository.class)
+class ProductFacetRepositoryTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedJdbc;
+
+    @Autowired
+    ProductFacetRepository repository;
+
+    @Autowired
+    StatementCounter statements;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE cart_items, carts, products, categories, users RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO categories (category_id, category_name) VALUES (1, 'Kitchen'), (2, 'Garden')");
+        jdbcTemplate.update("INSERT INTO users (user_id, username, email, password) " +
+                "VALUES (1, 'alice', 'alice@test.com', 'pw'), (2, 'bob', 'bob@test.com', 'pw')");
+        // id, 이름, 카테고리, 판매자, specialPrice, 할인율, 재고
+        product(100, "Blue Mug", 1, 1L, 5000, 0, 10);
+        product(101, "Red Mug", 1, 2L, 20000, 20, 0);
+        product(102, "Teapot", 1, 1L, 120000, 50, 3);
+        product(103, "Rake", 2, 2L, 8000, 10, 5);
+        product(104, "Hose", 2, null, 40000, 35, 1);
+    }
+
+    private void product(long id, String name, long categoryId, Long sellerId, double specialPrice,
+                         double discount, int quantity) {
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, description, quantity, price, discount, " +
+                        "special_price, category_id, seller_id) VALUES (?, ?, 'desc', ?, ?, ?, ?, ?, ?)",
+                id, name, quantity, specialPrice, discount, specialPrice, categoryId, sellerId);
+    }
+
+    private static List<FacetValueDTO> facet(FacetResult result, String name) {
+        return result.facets().get(name);
+    }
+
+    @Test
+    void groupingRowsMapToFacetsWithoutFilters() {
+        FacetResult result = repository.search(new ProductFilter(), PageRequest.of(0, 10));
+
+        assertThat(result.ids().getTotalElements()).isEqualTo(5L);
+        assertThat(result.ids().getContent()).containsExactly(104L, 103L, 102L, 101L, 100L);
+        assertThat(result.facets()).containsOnlyKeys(FACET_CATEGORY, FACET_PRICE, FACET_DISCOUNT, FACET_IN_STOCK, FACET_SELLER);
+        assertThat(facet(result, FACET_CATEGORY)).extracting("value", "label", "count")
+                .containsExactlyInAnyOrder(tuple("1", "Kitchen", 3L), tuple("2", "Garden", 2L));
+        // 구간은 하한 순, 상품이 없는 구간(50000-100000)은 행이 없음
+        assertThat(facet(result, FACET_PRICE)).extracting("value", "count").containsExactly(
+                tuple("0-10000", 2L), tuple("10000-30000", 1L), tuple("30000-50000", 1L), tuple("100000-", 1L));
+        assertThat(facet(result, FACET_DISCOUNT)).extracting("value", "label", "count").containsExactly(
+                tuple("0-10", "0-10%", 1L), tuple("10-30", "10-30%", 2L), tuple("30-50", "30-50%", 1L), tuple("50-", "50-%", 1L));
+        assertThat(facet(result, FACET_IN_STOCK)).extracting("value", "count")
+                .containsExactlyInAnyOrder(tuple("true", 4L), tuple("false", 1L));
+        // 판매자 없는 상품(NULL 그룹)은 항목에서 빠짐
+        assertThat(facet(result, FACET_SELLER)).extracting("value", "label", "count")
+                .containsExactlyInAnyOrder(tuple("1", "alice", 2L), tuple("2", "bob", 2L));
+    }
+
+    @Test
+    void eachFacetCountsWithEveryFilterExceptItsOwn() {
+        ProductFilter filter = new ProductFilter();
+        filter.setCategoryIds(List.of(1L));
+        filter.setInStock(true);
+
+        FacetResult result = repository.search(filter, PageRequest.of(0, 10));
+
+        assertThat(result.ids().getContent()).containsExactly(102L, 100L);
+        assertThat(result.ids().getTotalElements()).isEqualTo(2L);
+        // 카테고리 건수: 재고 필터만 적용 (다른 카테고리를 골라도 건수가 보임)
+        assertThat(facet(result, FACET_CATEGORY)).extracting("value", "count")
+                .containsExactlyInAnyOrder(tuple("1", 2L), tuple("2", 2L));
+        // 재고 건수: 카테고리 필터만 적용
+        assertThat(facet(result, FACET_IN_STOCK)).extracting("value", "count")
+                .containsExactlyInAnyOrder(tuple("true", 2L), tuple("false", 1L));
+        // 가격 건수: 두 필터 모두 적용, 다른 필터로 빠진 구간은 0
+        assertThat(facet(result, FACET_PRICE)).extracting("value", "count").containsExactly(
+                tuple("0-10000", 1L), tuple("10000-30000", 0L), tuple("30000-50000", 0L), tuple("100000-", 1L));
+    }
+
+    @Test
+    void valuesWithinOneFacetAreOredAndKeywordNarrowsTheBase() {
+        ProductFilter filter = new ProductFilter();
+        filter.setPriceBands(List.of("0-10000", "100000-"));
+
+        assertThat(repository.search(filter, PageRequest.of(0, 10)).ids().getContent())
+                .containsExactly(103L, 102L, 100L);
+
+        filter.setKeyword("MUG");
+        FacetResult result = repository.search(filter, PageRequest.of(0, 10));
+
+        assertThat(result.ids().getContent()).containsExactly(100L);
+        // 키워드는 항목 건수의 모집단 자체를 줄임
+        assertThat(facet(result, FACET_PRICE)).extracting("value", "count")
+                .containsExactly(tuple("0-10000", 1L), tuple("10000-30000", 1L));
+    }
+
+    @Test
+    void noMatchSkipsThePageQuery() {
+        ProductFilter filter = new ProductFilter();
+        filter.setDiscountBands(List.of("no-such-band"));
+
+        statements.reset();
+        FacetResult result = repository.search(filter, PageRequest.of(0, 10));
+
+        assertThat(result.ids().getContent()).isEmpty();
+        assertThat(result.ids().getTotalElements()).isZero();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(facet(result, FACET_DISCOUNT)).extracting("count").containsOnly(1L, 2L);
+    }
+
+    @Test
+    void pageIsSortedThroughWhitelistWithIdTieBreak() {
+        assertThat(repository.search(new ProductFilter(), PageRequest.of(1, 2, Sort.by("productName")))
+                .ids().getContent()).containsExactly(103L, 101L);
+        assertThat(repository.search(new ProductFilter(), PageRequest.of(0, 10, Sort.by("specialPrice").descending()))
+                .ids().getContent()).containsExactly(102L, 104L, 101L, 103L, 100L);
+        // 화이트리스트 밖의 속성은 SQL 에 들어가지 않고 product_id 정렬로 대체
+        assertThat(repository.search(new ProductFilter(),
+                        PageRequest.of(0, 10, Sort.by("product_name; DROP TABLE products --").ascending()))
+                .ids().getContent()).containsExactly(100L, 101L, 102L, 103L, 104L);
+    }
+
+    @Test
+    void orderByMapsPropertiesToColumns() {
+        assertThat(ProductFacetRepository.orderBy(Sort.unsorted())).isEqualTo("product_id DESC");
+        assertThat(ProductFacetRepository.orderBy(Sort.by(Sort.Order.desc("price"), Sort.Order.asc("discount"))))
+                .isEqualTo("price DESC, discount ASC, product_id DESC");
+        assertThat(ProductFacetRepository.orderBy(Sort.by("1; DROP TABLE products")))
+                .isEqualTo("product_id ASC, product_id DESC");
+    }
+
+    @Test
+    void bandKeysAreBuiltAndParsedFromBounds() {
+        assertThat(ProductFacetRepository.bandCase("x", new long[]{0, 10, 30}))
+                .isEqualTo("CASE WHEN x >= 30 THEN '30-' WHEN x >= 10 THEN '10-30' WHEN x >= 0 THEN '0-10'" +
+                        " ELSE '0-10' END");
+        assertThat(ProductFacetRepository.lowerBound("10000-30000")).isEqualTo(10000L);
+        assertThat(ProductFacetRepository.lowerBound("100000-")).isEqualTo(100000L);
+
+        assertThatThrownBy(() -> ProductFacetRepository.bandCase("x", new long[]{0}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductFacetRepository.bandCase("x", new long[]{0, 30, 10}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void configuredBoundsChangeTheBands() {
+        ProductFacetRepository custom = new ProductFacetRepository(namedJdbc, new long[]{0, 50000}, new long[]{0, 50});
+
+        FacetResult result = custom.search(new ProductFilter(), PageRequest.of(0, 10));
+
+        assertThat(facet(result, FACET_PRICE)).extracting("value", "count")
+                .containsExactly(tuple("0-50000", 4L), tuple("50000-", 1L));
+        assertThat(facet(result, FACET_DISCOUNT)).extracting("value", "count")
+                .containsExactly(tuple("0-50", 4L), tuple("50-", 1L));
+    }
+}
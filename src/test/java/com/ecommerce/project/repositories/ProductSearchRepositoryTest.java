@@ -0,0 +1,126 @@
+package com.ecommerce.project.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductSearchRepositoryTest {
+
+    private final NamedParameterJdbcTemplate jdbc = mock(NamedParameterJdbcTemplate.class);
+    private final ProductSearchRepository repository = new ProductSearchRepository(jdbc);
+
+    @SuppressWarnings("unchecked")
+    private void returnRows(List<ProductSearchRepository.IdRow> rows, List<?>... next) {
+        when(jdbc.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class))).thenReturn(rows, next);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String search(String keyword, Sort sort, ArgumentCaptor<SqlParameterSource> params) {
+        returnRows(List.of(new ProductSearchRepository.IdRow(3L, 12L), new ProductSearchRepository.IdRow(1L, 12L)));
+
+        Page<Long> page = repository.searchIds(keyword, PageRequest.of(1, 2, sort));
+        assertThat(page.getContent()).containsExactly(3L, 1L);
+        assertThat(page.getTotalElements()).isEqualTo(12L);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbc).query(sql.capture(), params.capture(), any(RowMapper.class));
+        // 전체 건수는 페이지 쿼리에서 함께 (별도 count 왕복 없음)
+        verify(jdbc, never()).queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class));
+        return sql.getValue();
+    }
+
+    @Test
+    void totalComesFromWindowCountOverMaterializedMatches() {
+        String sql = search("mug", Sort.unsorted(), ArgumentCaptor.forClass(SqlParameterSource.class));
+
+        assertThat(sql).startsWith("WITH hits AS MATERIALIZED (SELECT product_id,")
+                .contains(" SELECT product_id, count(*) OVER () AS total FROM hits ORDER BY ")
+                .contains("@@ plainto_tsquery('simple', :kw) OR lower(product_name) LIKE :pattern")
+                .doesNotContain("% :kwLower");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fuzzyMatchRunsOnlyWhenNothingMatchesExactly() {
+        returnRows(List.of(), List.of(new ProductSearchRepository.IdRow(7L, 1L)));
+
+        Page<Long> page = repository.searchIds("mgu", PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).containsExactly(7L);
+        assertThat(page.getTotalElements()).isEqualTo(1L);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbc, times(2)).query(sql.capture(), any(SqlParameterSource.class), any(RowMapper.class));
+        assertThat(sql.getAllValues().get(1)).contains("WHERE lower(product_name) % :kwLower)").doesNotContain("LIKE");
+    }
+
+    @Test
+    void emptyFirstPageNeedsNoCount() {
+        returnRows(List.of());
+
+        Page<Long> page = repository.searchIds("nothing", PageRequest.of(0, 10));
+
+        assertThat(page.getTotalElements()).isZero();
+        verify(jdbc, never()).queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class));
+    }
+
+    @Test
+    void pagePastTheEndFallsBackToCount() {
+        returnRows(List.of());
+        when(jdbc.queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class))).thenReturn(12L);
+
+        Page<Long> page = repository.searchIds("mug", PageRequest.of(5, 10));
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(12L);
+        // 정확히 일치하는 결과가 있으므로 오타 허용 검색은 하지 않음
+        verify(jdbc).queryForObject(anyString(), any(SqlParameterSource.class), eq(Long.class));
+    }
+
+    @Test
+    void likePatternEscapesWildcards() {
+        ArgumentCaptor<SqlParameterSource> params = ArgumentCaptor.forClass(SqlParameterSource.class);
+        search("  50%_Off\\Sale ", Sort.unsorted(), params);
+
+        MapSqlParameterSource p = (MapSqlParameterSource) params.getValue();
+        assertThat(p.getValue("kwLower")).isEqualTo("50%_off\\sale");
+        assertThat(p.getValue("pattern")).isEqualTo("%50\\%\\_off\\\\sale%");
+        assertThat(p.getValue("limit")).isEqualTo(2);
+        assertThat(p.getValue("offset")).isEqualTo(2L);
+    }
+
+    @Test
+    void relevanceSortRanksByFullTextThenSimilarity() {
+        String sql = search("mug", Sort.by(ProductSearchRepository.SORT_BY_RELEVANCE),
+                ArgumentCaptor.forClass(SqlParameterSource.class));
+
+        assertThat(sql).contains("ORDER BY ts_rank(")
+                .contains("similarity(lower(product_name), :kwLower) DESC, product_id DESC LIMIT");
+    }
+
+    @Test
+    void sortColumnsAreWhitelisted() {
+        String sql = search("mug", Sort.by(Sort.Order.asc("specialPrice"), Sort.Order.desc("price; DROP TABLE products")),
+                ArgumentCaptor.forClass(SqlParameterSource.class));
+
+        assertThat(sql).contains("ORDER BY special_price ASC, product_id DESC, product_id DESC LIMIT")
+                .doesNotContain("DROP");
+    }
+}
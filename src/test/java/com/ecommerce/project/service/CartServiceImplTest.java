@@ -0,0 +1,169 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.payload.CartItemDTO;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import com.ecommerce.project.service.cart.CartCheckpointService;
+import com.ecommerce.project.service.cart.RedisCartStore;
+import com.ecommerce.project.support.EmbeddedRedis;
+import com.ecommerce.project.util.AuthUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** 라이브 장바구니(실제 Redis) 기준 장바구니 서비스 */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CartServiceImplTest {
+
+    private static final String USER = "buyer";
+    private static final String EMAIL = "buyer@test.com";
+
+    @Spy
+    RedisCartStore cartStore = new RedisCartStore(EmbeddedRedis.template(), 3600);
+
+    @Mock
+    AuthUtil authUtil;
+
+    @Mock
+    CartRepository cartRepository;
+
+    @Mock
+    ProductCacheService productCacheService;
+
+    @Mock
+    CartCheckpointService cartCheckpointService;
+
+    @InjectMocks
+    CartServiceImpl cartService;
+
+    /** DB 에 저장된 장바구니 라인 (적재 시 사용) */
+    private List<RedisCartStore.Line> stored = List.of();
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        when(authUtil.loggedInUserName()).thenReturn(USER);
+        when(authUtil.loggedInEmail()).thenReturn(EMAIL);
+        Cart cart = new Cart();
+        cart.setCartId(5L);
+        when(cartRepository.findCartByEmail(EMAIL)).thenReturn(cart);
+        doAnswer(inv -> cartStore.load(inv.getArgument(0), inv.getArgument(1), stored))
+                .when(cartCheckpointService).load(anyString(), anyLong());
+        when(productCacheService.getProduct(anyLong())).thenAnswer(inv -> product(inv.getArgument(0), 100));
+    }
+
+    static ProductDTO product(long productId, int stock) {
+        return new ProductDTO(productId, "Product " + productId, "p.png", "description", stock, 10.0, 0, 10.0);
+    }
+
+    @Test
+    void addToUnloadedCartLoadsFromDbOnceAndRetries() {
+        stored = List.of(new RedisCartStore.Line(1L, 2, 1000L, 0.0));
+
+        CartDTO cart = cartService.addProductToCart(2L, 3);
+
+        assertThat(cart.getCartId()).isEqualTo(5L);
+        assertThat(cart.getProducts()).extracting(ProductDTO::getProductId).containsExactly(1L, 2L);
+        assertThat(cart.getProducts()).extracting(ProductDTO::getQuantity).containsExactly(2, 3);
+        assertThat(cart.getTotalPrice()).isEqualTo(50.0);
+        verify(cartCheckpointService, times(1)).load(USER, 5L);
+
+        // 적재된 뒤에는 DB 를 보지 않음
+        cartService.addProductToCart(2L, 1);
+        verify(cartCheckpointService, times(1)).load(USER, 5L);
+    }
+
+    @Test
+    void getCartReadsLiveCartWithoutDatabase() {
+        cartStore.load(USER, 5L, List.of(new RedisCartStore.Line(3L, 1, 1000L, 0.0)));
+
+        CartDTO cart = cartService.getCart();
+
+        assertThat(cart.getCartId()).isEqualTo(5L);
+        assertThat(cart.getProducts()).extracting(ProductDTO::getQuantity).containsExactly(1);
+        verify(cartRepository, never()).findCartByEmail(anyString());
+        verify(cartCheckpointService, never()).load(anyString(), anyLong());
+    }
+
+    @Test
+    void getCartLoadsUnloadedCartFromDb() {
+        stored = List.of(new RedisCartStore.Line(3L, 2, 1000L, 0.0));
+
+        CartDTO cart = cartService.getCart();
+
+        assertThat(cart.getCartId()).isEqualTo(5L);
+        assertThat(cart.getTotalPrice()).isEqualTo(20.0);
+        verify(cartCheckpointService).load(USER, 5L);
+    }
+
+    @Test
+    void mergeSumsLinesInBothCartsAndKeepsUserOnlyLines() {
+        stored = List.of(new RedisCartStore.Line(1L, 2, 1000L, 0.0), new RedisCartStore.Line(3L, 1, 1000L, 0.0));
+
+        CartDTO cart = cartService.mergeCart(List.of(
+                new CartItemDTO(1L, 1), new CartItemDTO(2L, 2), new CartItemDTO(1L, 2)));
+
+        assertThat(cart.getProducts()).extracting(ProductDTO::getProductId).containsExactly(1L, 2L, 3L);
+        assertThat(cart.getProducts()).extracting(ProductDTO::getQuantity).containsExactly(5, 2, 1);
+        assertThat(cart.getTotalPrice()).isEqualTo(80.0);
+        verify(cartCheckpointService, times(1)).load(USER, 5L);
+        verify(cartCheckpointService, times(1)).checkpoint(USER);
+    }
+
+    @Test
+    void mergeClampsToStockInsteadOfFailing() {
+        stored = List.of(new RedisCartStore.Line(1L, 2, 1000L, 0.0));
+        when(productCacheService.getProduct(1L)).thenAnswer(inv -> product(1L, 3));
+        when(productCacheService.getProduct(2L)).thenAnswer(inv -> product(2L, 4));
+
+        CartDTO cart = cartService.mergeCart(List.of(new CartItemDTO(1L, 5), new CartItemDTO(2L, 10)));
+
+        assertThat(cart.getProducts()).extracting(ProductDTO::getQuantity).containsExactly(3, 4);
+        verify(cartCheckpointService).checkpoint(USER);
+    }
+
+    @Test
+    void mergeSkipsUnknownProducts() {
+        doThrow(new ResourceNotFoundException("Product", "productId", 9L)).when(productCacheService).getProduct(9L);
+
+        CartDTO cart = cartService.mergeCart(List.of(new CartItemDTO(9L, 1), new CartItemDTO(2L, 1)));
+
+        assertThat(cart.getProducts()).extracting(ProductDTO::getProductId).containsExactly(2L);
+        assertThat(cartStore.read(USER).lines()).extracting(RedisCartStore.Line::productId).containsExactly(2L);
+    }
+
+    @Test
+    void mergeWithoutChangesSkipsCheckpoint() {
+        stored = List.of(new RedisCartStore.Line(1L, 2, 1000L, 0.0));
+        when(productCacheService.getProduct(1L)).thenAnswer(inv -> product(1L, 2));
+
+        CartDTO cart = cartService.mergeCart(List.of(new CartItemDTO(1L, 1), new CartItemDTO(2L, 0),
+                new CartItemDTO(null, 1)));
+
+        assertThat(cart.getProducts()).extracting(ProductDTO::getQuantity).containsExactly(2);
+        verify(cartCheckpointService, never()).checkpoint(anyString());
+    }
+}
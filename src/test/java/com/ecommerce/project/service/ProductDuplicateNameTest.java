@@ -0,0 +1,139 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.ProductConstraintInitializer;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.cache.CategorySnapshotService;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import com.ecommerce.project.service.cart.CartPriceFanOutService;
+import com.ecommerce.project.service.like.RedisLikeService;
+import com.ecommerce.project.service.search.ProductSearchIndex;
+import com.ecommerce.project.service.search.ProductSuggestService;
+import com.ecommerce.project.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 상품명 중복 판정을 실제 PostgreSQL 의 ux_products_category_lower_name 위반으로 검증
+ * - 인덱스는 컨텍스트 기동 때 ProductConstraintInitializer 가 생성
+ * - 서비스의 저장이 각자 커밋되도록 테스트 트랜잭션 없이 실행
+ */
+@PostgresJpaTest
+@Import(ProductConstraintInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductDuplicateNameTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    private final CategorySnapshotService categorySnapshotService = mock(CategorySnapshotService.class);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE cart_items, carts, products, categories RESTART IDENTITY CASCADE");
+        jdbcTemplate.update("INSERT INTO categories (category_id, category_name) VALUES (1, 'Kitchen'), (2, 'Garden')");
+        jdbcTemplate.update("INSERT INTO products (product_id, product_name, description, quantity, price, discount, " +
+                "special_price, category_id) VALUES (100, 'Mug', 'Blue mug', 10, 10, 0, 10, 1)");
+        when(categorySnapshotService.get(anyLong()))
+                .thenAnswer(inv -> new CategoryDTO(inv.getArgument(0), "Category " + inv.getArgument(0)));
+    }
+
+    private ProductServiceImpl service(ProductRepository repository) {
+        ProductServiceImpl service = new ProductServiceImpl(mock(RedisLikeService.class));
+        ReflectionTestUtils.setField(service, "productRepository", repository);
+        ReflectionTestUtils.setField(service, "categoryRepository", categoryRepository);
+        ReflectionTestUtils.setField(service, "categorySnapshotService", categorySnapshotService);
+        ReflectionTestUtils.setField(service, "productMapper", new ProductMapperImpl());
+        ReflectionTestUtils.setField(service, "productSearchIndex", mock(ProductSearchIndex.class));
+        ReflectionTestUtils.setField(service, "productSuggestService", mock(ProductSuggestService.class));
+        ReflectionTestUtils.setField(service, "productCacheService", mock(ProductCacheService.class));
+        ReflectionTestUtils.setField(service, "cartPriceFanOutService", mock(CartPriceFanOutService.class));
+        return service;
+    }
+
+    private static ProductDTO product(String name) {
+        ProductDTO dto = new ProductDTO();
+        dto.setProductName(name);
+        dto.setDescription("Description of " + name);
+        dto.setQuantity(5);
+        dto.setPrice(20);
+        return dto;
+    }
+
+    private long productCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM products", Long.class);
+    }
+
+    @Test
+    void uniqueNameIndexExists() {
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM pg_indexes WHERE indexname = ?",
+                Long.class, ProductConstraintInitializer.UNIQUE_NAME_INDEX)).isEqualTo(1L);
+    }
+
+    @Test
+    void insertLosingRaceOnSameNameIsApiError() {
+        // 존재 확인은 통과했지만 (다른 요청이 먼저 저장) 유니크 인덱스가 막는 경우
+        ProductRepository racing = mock(ProductRepository.class, delegatesTo(productRepository));
+        doReturn(false).when(racing).existsByCategoryIdAndProductNameIgnoreCase(anyLong(), anyString());
+
+        assertThatThrownBy(() -> service(racing).addProduct(1L, product("MUG")))
+                .isInstanceOf(APIException.class)
+                .hasMessage("Product already exist!!");
+        assertThat(productCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void renameToExistingNameIsApiError() {
+        service(productRepository).addProduct(1L, product("Teapot"));
+        Long teapotId = jdbcTemplate.queryForObject("SELECT product_id FROM products WHERE product_name = 'Teapot'", Long.class);
+
+        assertThatThrownBy(() -> service(productRepository).updateProduct(teapotId, product("mug")))
+                .isInstanceOf(APIException.class)
+                .hasMessage("Product already exist!!");
+        assertThat(jdbcTemplate.queryForObject("SELECT product_name FROM products WHERE product_id = ?",
+                String.class, teapotId)).isEqualTo("Teapot");
+    }
+
+    @Test
+    void sameNameInAnotherCategoryIsAllowed() {
+        ProductDTO saved = service(productRepository).addProduct(2L, product("Mug"));
+
+        assertThat(saved.getProductId()).isNotNull();
+        assertThat(productCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void otherConstraintViolationsPassThrough() {
+        // 카테고리 FK 위반은 중복이 아니므로 API 오류로 바꾸지 않음
+        assertThatThrownBy(() -> service(productRepository).addProduct(999L, product("Kettle")))
+                .isInstanceOfSatisfying(DataIntegrityViolationException.class,
+                        e -> assertThat(ProductServiceImpl.isDuplicateName(e)).isFalse());
+        assertThat(productCount()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,206 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.ProductConstraintInitializer;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.PageResponse;
+import com.ecommerce.project.payload.ProductCardDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.ProductQueryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import com.ecommerce.project.service.cart.CartPriceFanOutService;
+import com.ecommerce.project.service.like.RedisLikeService;
+import com.ecommerce.project.service.search.ProductSearchIndex;
+import com.ecommerce.project.service.search.ProductSuggestService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProductServiceImplTest {
+
+    @Test
+    void uniqueNameIndexViolationIsDuplicate() {
+        SQLException sql = new SQLException("duplicate key value violates unique constraint", "23505");
+        DataIntegrityViolationException e = new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("insert", sql, ProductConstraintInitializer.UNIQUE_NAME_INDEX));
+
+        assertThat(ProductServiceImpl.isDuplicateName(e)).isTrue();
+    }
+
+    @Test
+    void uniqueViolationWithoutHibernateWrapperIsMatchedByMessage() {
+        SQLException sql = new SQLException("ERROR: duplicate key value violates unique constraint \""
+                + ProductConstraintInitializer.UNIQUE_NAME_INDEX + "\"", "23505");
+
+        assertThat(ProductServiceImpl.isDuplicateName(new DataIntegrityViolationException("dup", sql))).isTrue();
+    }
+
+    @Test
+    void otherConstraintViolationsAreNotDuplicates() {
+        SQLException fk = new SQLException("violates foreign key constraint \"fk_products_category\"", "23503");
+        SQLException notNull = new SQLException("null value in column \"product_name\"", "23502");
+
+        assertThat(ProductServiceImpl.isDuplicateName(new DataIntegrityViolationException("fk",
+                new ConstraintViolationException("insert", fk, "fk_products_category")))).isFalse();
+        assertThat(ProductServiceImpl.isDuplicateName(new DataIntegrityViolationException("nn", notNull))).isFalse();
+    }
+
+    @Test
+    void cursorRoundTripsSortValueAndId() {
+        ProductDTO last = new ProductDTO(42L, "Red: Shoes", "a.png", "d", 1, 19.5, 10, 17.55);
+
+        String cursor = ProductServiceImpl.encodeCursor("productName", last);
+        String[] parts = ProductServiceImpl.decodeCursor(cursor, "productName");
+
+        assertThat(cursor).doesNotContain(":", "=", "+", "/");
+        assertThat(parts[0]).isEqualTo("42");
+        assertThat(ProductServiceImpl.parseCursorValue("productName", parts[2])).isEqualTo("Red: Shoes");
+    }
+
+    @Test
+    void numericCursorValueIsParsed() {
+        ProductDTO last = new ProductDTO(7L, "n", "a.png", "d", 1, 19.5, 10, 17.55);
+
+        String[] parts = ProductServiceImpl.decodeCursor(ProductServiceImpl.encodeCursor("price", last), "price");
+
+        assertThat(ProductServiceImpl.parseCursorValue("price", parts[2])).isEqualTo(19.5);
+    }
+
+    @Test
+    void cursorForAnotherSortKeyIsRejected() {
+        ProductDTO last = new ProductDTO(7L, "n", "a.png", "d", 1, 19.5, 10, 17.55);
+        String cursor = ProductServiceImpl.encodeCursor("price", last);
+
+        assertThatThrownBy(() -> ProductServiceImpl.decodeCursor(cursor, "discount")).isInstanceOf(APIException.class);
+        assertThatThrownBy(() -> ProductServiceImpl.decodeCursor("%%%", "price")).isInstanceOf(APIException.class);
+    }
+
+    @Test
+    void nonPositivePageSizeIsRejected() {
+        ProductServiceImpl service = new ProductServiceImpl(null);
+
+        assertThatThrownBy(() -> service.getProductsByCursor(null, 0, "productId", "asc", null, null, false))
+                .isInstanceOf(APIException.class);
+        assertThatThrownBy(() -> service.getProductsByCursor(null, -5, "productId", "asc", null, null, false))
+                .isInstanceOf(APIException.class);
+    }
+
+    @Test
+    void productCardsGetImageUrlAndLikeCountsFromOneLookup() {
+        RedisLikeService likeService = mock(RedisLikeService.class);
+        ProductQueryRepository queryRepository = mock(ProductQueryRepository.class);
+        ProductServiceImpl service = new ProductServiceImpl(likeService);
+        ReflectionTestUtils.setField(service, "productQueryRepository", queryRepository);
+        ReflectionTestUtils.setField(service, "imageBaseUrl", "http://img/");
+
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("price").ascending());
+        List<ProductCardDTO> cards = List.of(
+                new ProductCardDTO(1L, "a", "a.png", 10.0, 9.0),
+                new ProductCardDTO(2L, "b", "b.png", 20.0, 18.0));
+        when(queryRepository.findCards(eq("mug"), eq(null), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(cards, pageable, 3));
+        when(likeService.getCounts(List.of(1L, 2L))).thenReturn(Map.of(1L, 5L));
+
+        PageResponse<ProductCardDTO> page = service.getProductCards(0, 2, "price", "asc", "mug", null);
+
+        assertThat(page.getContent()).extracting(ProductCardDTO::getImage)
+                .containsExactly("http://img/a.png", "http://img/b.png");
+        // Redis 에 카운트가 없는 상품은 0
+        assertThat(page.getContent()).extracting(ProductCardDTO::getLikeCount).containsExactly(5L, 0L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.isLastPage()).isFalse();
+    }
+
+    @Test
+    void searchIndexAndSuggestionsAreUpdatedOnlyAfterCommit() {
+        ProductSearchIndex searchIndex = mock(ProductSearchIndex.class);
+        ProductSuggestService suggestService = mock(ProductSuggestService.class);
+        ProductServiceImpl service = updatableService(searchIndex, suggestService);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.updateProduct(1L, new ProductDTO());
+            verifyNoInteractions(searchIndex, suggestService);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(searchIndex).upsert(1L, "Mug", "Blue mug", "Kitchen");
+        verify(suggestService).markDirty();
+    }
+
+    @Test
+    void rolledBackUpdateLeavesSearchIndexAndSuggestionsUntouched() {
+        ProductSearchIndex searchIndex = mock(ProductSearchIndex.class);
+        ProductSuggestService suggestService = mock(ProductSuggestService.class);
+        ProductServiceImpl service = updatableService(searchIndex, suggestService);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.updateProduct(1L, new ProductDTO());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(searchIndex, never()).upsert(any(Long.class), any(), any(), any());
+        verify(suggestService, never()).markDirty();
+    }
+
+    /** updateProduct 에 필요한 협력 객체만 채운 서비스 */
+    private static ProductServiceImpl updatableService(ProductSearchIndex searchIndex,
+                                                       ProductSuggestService suggestService) {
+        Category category = new Category();
+        category.setCategoryName("Kitchen");
+        Product stored = new Product();
+        stored.setProductId(1L);
+        stored.setCategory(category);
+        Product update = new Product();
+        update.setProductName("Mug");
+        update.setDescription("Blue mug");
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(productRepository.saveAndFlush(stored)).thenReturn(stored);
+        ProductMapper productMapper = mock(ProductMapper.class);
+        when(productMapper.toEntity(any(ProductDTO.class))).thenReturn(update);
+
+        ProductServiceImpl service = new ProductServiceImpl(mock(RedisLikeService.class));
+        ReflectionTestUtils.setField(service, "productRepository", productRepository);
+        ReflectionTestUtils.setField(service, "productMapper", productMapper);
+        ReflectionTestUtils.setField(service, "productSearchIndex", searchIndex);
+        ReflectionTestUtils.setField(service, "productSuggestService", suggestService);
+        ReflectionTestUtils.setField(service, "productCacheService", mock(ProductCacheService.class));
+        ReflectionTestUtils.setField(service, "cartPriceFanOutService", mock(CartPriceFanOutService.class));
+        return service;
+    }
+}
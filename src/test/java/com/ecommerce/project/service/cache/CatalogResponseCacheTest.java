@@ -0,0 +1,133 @@
+package com.ecommerce.project.service.cache;
+
+import com.ecommerce.project.payload.ProductFilter;
+import com.ecommerce.project.support.EmbeddedRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 카탈로그 응답 캐시의 키/ETag/304 처리 (카탈로그 버전은 실제 Redis) */
+class CatalogResponseCacheTest {
+
+    private static final String KEY = CatalogResponseCache.catalogKey("products", 0, 10, "productName", "asc");
+
+    private CatalogVersionService versionService;
+    private CatalogResponseCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedRedis.flushAll();
+        versionService = new CatalogVersionService(EmbeddedRedis.template());
+        cache = new CatalogResponseCache(new ObjectMapper(), versionService, 100, 30);
+    }
+
+    private Supplier<Map<String, Object>> loader(Object content) {
+        return () -> {
+            loads.incrementAndGet();
+            return Map.of("content", content);
+        };
+    }
+
+    @Test
+    void bodyIsLoadedOnceAndServedWithEtag() {
+        ResponseEntity<Map<String, Object>> first = cache.respond(null, KEY, loader(List.of(1, 2)));
+        ResponseEntity<Map<String, Object>> second = cache.respond(null, KEY, loader(List.of(1, 2)));
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody()).isEqualTo(Map.of("content", List.of(1, 2)));
+        assertThat(first.getHeaders().getETag()).matches("\"[0-9a-f]{32}\"");
+        assertThat(second.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag());
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModified() {
+        String etag = cache.respond(null, KEY, loader(List.of(1))).getHeaders().getETag();
+
+        for (String ifNoneMatch : List.of(etag, "\"other\", " + etag, "*")) {
+            ResponseEntity<Map<String, Object>> response = cache.respond(ifNoneMatch, KEY, loader(List.of(1)));
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(response.getBody()).isNull();
+            assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void staleIfNoneMatchGetsFullBody() {
+        cache.respond(null, KEY, loader(List.of(1)));
+
+        ResponseEntity<Map<String, Object>> response = cache.respond("\"0123\"", KEY, loader(List.of(1)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+    }
+
+    @Test
+    void catalogBumpUsesNewKey() {
+        String before = cache.respond(null, KEY, loader(List.of(1))).getHeaders().getETag();
+
+        versionService.bump();
+        ResponseEntity<Map<String, Object>> after = cache.respond(before, KEY, loader(List.of(1, 2)));
+
+        assertThat(loads).hasValue(2);
+        assertThat(after.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(after.getBody()).isEqualTo(Map.of("content", List.of(1, 2)));
+        assertThat(after.getHeaders().getETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void equalBodyKeepsEtagAcrossVersions() {
+        // 버전은 바뀌었지만 이 페이지 내용은 같음 → 클라이언트는 계속 304
+        String before = cache.respond(null, KEY, loader(List.of(1))).getHeaders().getETag();
+
+        versionService.bump();
+        ResponseEntity<Map<String, Object>> after = cache.respond(before, KEY, loader(List.of(1)));
+
+        assertThat(loads).hasValue(2);
+        assertThat(after.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(after.getHeaders().getETag()).isEqualTo(before);
+    }
+
+    @Test
+    void catalogKeyTrimsAndKeepsNullPositions() {
+        assertThat(CatalogResponseCache.catalogKey("products", " mug ", null, 10))
+                .isEqualTo(CatalogResponseCache.catalogKey("products", "mug", null, 10))
+                .isEqualTo("products|mug||10")
+                .isNotEqualTo(CatalogResponseCache.catalogKey("products", "mug", 10, null));
+    }
+
+    @Test
+    void facetsKeyIsExplicitAndIgnoresValueOrder() {
+        ProductFilter a = new ProductFilter();
+        a.setKeyword(" Mug ");
+        a.setCategoryIds(List.of(2L, 1L, 2L));
+        a.setPriceBands(List.of("10000-30000", "0-10000"));
+        ProductFilter b = new ProductFilter();
+        b.setKeyword("mug");
+        b.setCategoryIds(List.of(1L, 2L));
+        b.setPriceBands(List.of("0-10000", "10000-30000"));
+
+        assertThat(a.cacheKey()).isEqualTo(b.cacheKey())
+                .isEqualTo("kw=mug;cat=1,2;price=0-10000,10000-30000;disc=;stock=;seller=");
+
+        // 구분자가 들어간 입력이 다른 조건과 같은 키가 되지 않음
+        ProductFilter injected = new ProductFilter();
+        injected.setKeyword("mug;cat=1,2");
+        assertThat(injected.cacheKey()).isNotEqualTo(b.cacheKey()).startsWith("kw=mug%3Bcat%3D1%2C2;cat=;");
+
+        b.setInStock(true);
+        assertThat(b.cacheKey()).isNotEqualTo(a.cacheKey());
+        assertThat(new ProductFilter().cacheKey()).isEqualTo("kw=;cat=;price=;disc=;stock=;seller=");
+    }
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.project.service.cache;
+
+import com.ecommerce.project.mapper.CategoryMapperImpl;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.support.EmbeddedRedis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 카테고리 스냅샷 교체/버전 점검 (Redis 버전 키는 실제 Redis)
+ * - 노드마다 CategorySnapshotService 를 따로 만들고 DB 는 같은 목 저장소를 공유
+ */
+class CategorySnapshotServiceTest {
+
+    private static final long LONG_MAX_AGE = 600_000;
+
+    private StringRedisTemplate redis;
+    private CategoryRepository repository;
+    private final List<Category> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        redis = EmbeddedRedis.template();
+        EmbeddedRedis.flushAll();
+        rows.add(new Category(1L, "Kitchen", null));
+        repository = mock(CategoryRepository.class);
+        when(repository.findAll()).thenAnswer(inv -> List.copyOf(rows));
+    }
+
+    private CategorySnapshotService node(StringRedisTemplate redis, long maxAgeMs) {
+        CategorySnapshotService node = new CategorySnapshotService(repository, new CategoryMapperImpl(), redis);
+        ReflectionTestUtils.setField(node, "maxAgeMs", maxAgeMs);
+        return node;
+    }
+
+    private CategorySnapshotService node() {
+        return node(redis, LONG_MAX_AGE);
+    }
+
+    private static StringRedisTemplate redisDown() {
+        return mock(StringRedisTemplate.class, inv -> {
+            throw new RedisConnectionFailureException("redis down");
+        });
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(ProductCacheService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readsComeFromOneLoadedSnapshot() {
+        CategorySnapshotService node = node();
+
+        assertThat(node.getAll()).extracting(CategoryDTO::getCategoryName).containsExactly("Kitchen");
+        assertThat(node.get(1L).getCategoryName()).isEqualTo("Kitchen");
+        assertThat(node.contains(1L)).isTrue();
+        assertThat(node.existsByName("Kitchen")).isTrue();
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void markChangedSwapsSnapshotAndBumpsVersion() {
+        CategorySnapshotService node = node();
+        List<CategoryDTO> before = node.getAll();
+
+        rows.add(new Category(2L, "Garden", null));
+        node.markChanged();
+
+        assertThat(node.getAll()).extracting(CategoryDTO::getCategoryName).containsExactly("Kitchen", "Garden");
+        assertThat(node.contains(2L)).isTrue();
+        // 이전 스냅샷을 들고 있던 쪽은 그대로 (통째 교체)
+        assertThat(before).hasSize(1);
+        assertThat(redis.opsForValue().get("category:snapshot:version")).isEqualTo("1");
+    }
+
+    @Test
+    void checkVersionReloadsOnlyWhenVersionDiffers() {
+        CategorySnapshotService writer = node();
+        CategorySnapshotService reader = node();
+        reader.getAll();
+
+        reader.checkVersion();
+        verify(repository, times(1)).findAll();
+
+        // 다른 노드의 변경 (pub/sub 메시지는 놓침)
+        rows.add(new Category(2L, "Garden", null));
+        writer.markChanged();
+        assertThat(reader.contains(2L)).isFalse();
+
+        reader.checkVersion();
+
+        assertThat(reader.contains(2L)).isTrue();
+        reader.checkVersion();
+        verify(repository, times(3)).findAll(); // reader 2회 + writer 1회
+    }
+
+    @Test
+    void checkVersionBeforeFirstReadDoesNothing() {
+        node().checkVersion();
+
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void expiredMaxAgeReloadsWithoutRedis() {
+        CategorySnapshotService node = node(redisDown(), 0);
+        node.getAll();
+
+        rows.add(new Category(2L, "Garden", null));
+        node.checkVersion();
+
+        assertThat(node.contains(2L)).isTrue();
+    }
+
+    @Test
+    void unexpiredSnapshotIsKeptWhileRedisIsDown() {
+        CategorySnapshotService node = node(redisDown(), LONG_MAX_AGE);
+        node.getAll();
+
+        rows.add(new Category(2L, "Garden", null));
+        node.checkVersion();
+
+        assertThat(node.contains(2L)).isFalse();
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    void onlyCategoryMessagesTriggerReload() {
+        CategorySnapshotService node = node();
+        node.getAll();
+        rows.add(new Category(2L, "Garden", null));
+
+        node.onMessage(message("product:2"), null);
+        assertThat(node.contains(2L)).isFalse();
+
+        node.onMessage(message("category:2"), null);
+        assertThat(node.contains(2L)).isTrue();
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    void failedReloadKeepsPreviousSnapshot() {
+        CategorySnapshotService node = node();
+        node.getAll();
+        when(repository.findAll()).thenThrow(new IllegalStateException("db down"));
+
+        node.onMessage(message("category:1"), null);
+
+        assertThat(node.get(1L).getCategoryName()).isEqualTo("Kitchen");
+    }
+}
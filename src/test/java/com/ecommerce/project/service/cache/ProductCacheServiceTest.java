@@ -0,0 +1,219 @@
+package com.ecommerce.project.service.cache;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.support.EmbeddedRedis;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 상품 2단계 캐시를 실제 Redis 에서 검증
+ * - 노드마다 ProductCacheService 를 따로 만들어 L1 은 노드별, L2 는 공유되는 상황을 재현
+ */
+class ProductCacheServiceTest {
+
+    private static final long PRODUCT_ID = 7L;
+    private static final String L2_KEY = "cache:product:7";
+    private static final String VERSION_KEY = "cache:ver:product:7";
+
+    private StringRedisTemplate redis;
+    private CatalogVersionService catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        redis = EmbeddedRedis.template();
+        EmbeddedRedis.flushAll();
+        catalogVersion = new CatalogVersionService(redis);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ProductCacheService node(ProductRepository repository) {
+        return node(redis, repository);
+    }
+
+    private ProductCacheService node(StringRedisTemplate redis, ProductRepository repository) {
+        return new ProductCacheService(redis, new ObjectMapper(), repository, new ProductMapperImpl(),
+                catalogVersion, 100, 60, 600);
+    }
+
+    private static Product product(String name, double price) {
+        Product p = new Product();
+        p.setProductId(PRODUCT_ID);
+        p.setProductName(name);
+        p.setDescription("Description of " + name);
+        p.setQuantity(5);
+        p.setPrice(price);
+        p.setSpecialPrice(price);
+        return p;
+    }
+
+    private static ProductRepository repositoryReturning(Product product) {
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.findById(PRODUCT_ID)).thenReturn(Optional.ofNullable(product));
+        return repository;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long l2(ProductCacheService node, String counter) {
+        return (long) ((Map<String, Object>) node.stats().get("l2")).get(counter);
+    }
+
+    @Test
+    void readThroughFillsL2FromDbThenServesFromL1() throws Exception {
+        ProductRepository repository = repositoryReturning(product("Mug", 10));
+        ProductCacheService node = node(repository);
+
+        assertThat(node.getProduct(PRODUCT_ID).getProductName()).isEqualTo("Mug");
+        assertThat(node.getProduct(PRODUCT_ID).getProductName()).isEqualTo("Mug");
+
+        verify(repository, times(1)).findById(PRODUCT_ID);
+        assertThat(new ObjectMapper().readValue(redis.opsForValue().get(L2_KEY), ProductDTO.class).getProductName())
+                .isEqualTo("Mug");
+        assertThat(redis.getExpire(L2_KEY)).isPositive();
+        assertThat(l2(node, "misses")).isEqualTo(1L);
+        assertThat(l2(node, "hits")).isZero();
+    }
+
+    @Test
+    void otherNodeMissesL1AndHitsL2WithoutDb() {
+        node(repositoryReturning(product("Mug", 10))).getProduct(PRODUCT_ID);
+        ProductRepository otherRepository = repositoryReturning(product("Mug", 10));
+        ProductCacheService other = node(otherRepository);
+
+        assertThat(other.getProduct(PRODUCT_ID).getProductName()).isEqualTo("Mug");
+
+        verify(otherRepository, never()).findById(PRODUCT_ID);
+        assertThat(l2(other, "hits")).isEqualTo(1L);
+    }
+
+    @Test
+    void returnedDtoIsACopy() {
+        ProductCacheService node = node(repositoryReturning(product("Mug", 10)));
+
+        node.getProduct(PRODUCT_ID).setProductName("changed by caller");
+
+        assertThat(node.getProduct(PRODUCT_ID).getProductName()).isEqualTo("Mug");
+    }
+
+    @Test
+    void missingProductIsNotFoundAndNotCached() {
+        ProductCacheService node = node(repositoryReturning(null));
+
+        assertThatThrownBy(() -> node.getProduct(PRODUCT_ID)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(redis.hasKey(L2_KEY)).isFalse();
+    }
+
+    @Test
+    void staleFillAfterEvictIsRejected() {
+        // A 가 버전을 읽은 뒤 DB 에서 이전 값을 읽는 사이, B 가 수정 후 무효화
+        ProductCacheService writer = node(repositoryReturning(product("Mug v2", 20)));
+        ProductRepository slowRepository = mock(ProductRepository.class);
+        when(slowRepository.findById(PRODUCT_ID)).thenAnswer(inv -> {
+            writer.evictProduct(PRODUCT_ID);
+            return Optional.of(product("Mug", 10));
+        });
+        ProductCacheService reader = node(slowRepository);
+
+        assertThat(reader.getProduct(PRODUCT_ID).getProductName()).isEqualTo("Mug");
+
+        // 이전 값은 L2 에 남지 않으므로 다른 노드는 DB 에서 새 값을 읽음
+        assertThat(redis.hasKey(L2_KEY)).isFalse();
+        assertThat(redis.opsForValue().get(VERSION_KEY)).isEqualTo("1");
+        assertThat(node(repositoryReturning(product("Mug v2", 20))).getProduct(PRODUCT_ID).getProductName())
+                .isEqualTo("Mug v2");
+        assertThat(redis.hasKey(L2_KEY)).isTrue();
+    }
+
+    @Test
+    void evictOutsideTransactionDeletesL2AndBumpsVersionsOnce() {
+        ProductCacheService node = node(repositoryReturning(product("Mug", 10)));
+        node.getProduct(PRODUCT_ID);
+
+        node.evictProduct(PRODUCT_ID);
+
+        assertThat(redis.hasKey(L2_KEY)).isFalse();
+        assertThat(redis.opsForValue().get(VERSION_KEY)).isEqualTo("1");
+        assertThat(catalogVersion.current()).isEqualTo(1L);
+    }
+
+    @Test
+    void evictInTransactionIsRepeatedAfterCommit() {
+        ProductCacheService writer = node(repositoryReturning(product("Mug v2", 20)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.evictProduct(PRODUCT_ID);
+        assertThat(redis.opsForValue().get(VERSION_KEY)).isEqualTo("1");
+
+        // 커밋 전: 다른 노드가 아직 커밋되지 않은 변경 이전 값을 새 버전으로 다시 채움
+        node(repositoryReturning(product("Mug", 10))).getProduct(PRODUCT_ID);
+        assertThat(redis.hasKey(L2_KEY)).isTrue();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(redis.hasKey(L2_KEY)).isFalse();
+        assertThat(redis.opsForValue().get(VERSION_KEY)).isEqualTo("2");
+        assertThat(catalogVersion.current()).isEqualTo(2L);
+    }
+
+    @Test
+    void invalidationMessageDropsOnlyL1() {
+        ProductRepository repository = repositoryReturning(product("Mug", 10));
+        ProductCacheService node = node(repository);
+        node.getProduct(PRODUCT_ID);
+
+        node.onMessage(new DefaultMessage(ProductCacheService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "product:7".getBytes(StandardCharsets.UTF_8)), null);
+        node.onMessage(new DefaultMessage(ProductCacheService.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "product:not-a-number".getBytes(StandardCharsets.UTF_8)), null);
+        node.getProduct(PRODUCT_ID);
+
+        // L1 에서 빠졌지만 L2 에 남아 있어 DB 는 처음 한 번만
+        verify(repository, times(1)).findById(PRODUCT_ID);
+        assertThat(l2(node, "hits")).isEqualTo(1L);
+    }
+
+    @Test
+    void redisFailureFallsBackToDb() {
+        StringRedisTemplate down = mock(StringRedisTemplate.class, inv -> {
+            throw new RedisConnectionFailureException("redis down");
+        });
+        ProductRepository repository = repositoryReturning(product("Mug", 10));
+        ProductCacheService node = node(down, repository);
+
+        assertThat(node.getProduct(PRODUCT_ID).getProductName()).isEqualTo("Mug");
+        node.evictProduct(PRODUCT_ID);
+        assertThat(node.getProduct(PRODUCT_ID).getProductName()).isEqualTo("Mug");
+
+        // 읽기 2회 + 쓰기 2회 + 무효화 1회 실패, 예외는 호출 측으로 나가지 않음
+        verify(repository, times(2)).findById(PRODUCT_ID);
+        assertThat(l2(node, "errors")).isEqualTo(5L);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.project.service.cart;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CartCheckpointServiceTest {
+
+    private static final long CART_ID = 5L;
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final CartCheckpointService service = new CartCheckpointService(jdbc,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(RedisCartStore.class), 200);
+
+    @SuppressWarnings("unchecked")
+    private void stored(RedisCartStore.Line... lines) {
+        when(jdbc.query(startsWith("SELECT"), any(RowMapper.class), eq(CART_ID))).thenReturn(List.of(lines));
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return List.of(rows);
+    }
+
+    private void verifyBatch(String sqlPrefix, List<Object[]> expected) {
+        verify(jdbc).batchUpdate(startsWith(sqlPrefix), argThat((List<Object[]> actual) -> {
+            if (actual.size() != expected.size()) return false;
+            for (int i = 0; i < actual.size(); i++) {
+                if (!Arrays.equals(actual.get(i), expected.get(i))) return false;
+            }
+            return true;
+        }));
+    }
+
+    @Test
+    void unchangedCartOnlyRepairsTotal() {
+        RedisCartStore.Line line = new RedisCartStore.Line(1L, 2, 1050L, 10.0);
+        stored(line);
+
+        int changed = service.writeCart(new RedisCartStore.Snapshot(CART_ID, List.of(line)));
+
+        assertThat(changed).isZero();
+        verify(jdbc, never()).batchUpdate(anyString(), anyList());
+        verify(jdbc).update(startsWith("UPDATE carts SET total_price = ?, total_minor = ? WHERE cart_id = ? AND"),
+                eq(21.0), eq(2100L), eq(CART_ID), eq(2100L), eq(21.0));
+    }
+
+    @Test
+    void onlyChangedLinesAreWrittenInBatches() {
+        stored(new RedisCartStore.Line(1L, 2, 1050L, 10.0),
+                new RedisCartStore.Line(2L, 1, 500L, 0.0),
+                new RedisCartStore.Line(3L, 4, 100L, 0.0));
+
+        int changed = service.writeCart(new RedisCartStore.Snapshot(CART_ID, List.of(
+                new RedisCartStore.Line(1L, 2, 1050L, 10.0),   // 그대로
+                new RedisCartStore.Line(2L, 3, 500L, 0.0),     // 수량 변경
+                new RedisCartStore.Line(4L, 1, 999L, 5.0))));  // 추가 (3 은 삭제)
+
+        assertThat(changed).isEqualTo(3);
+        verifyBatch("DELETE", rows(new Object[]{CART_ID, 3L}));
+        verifyBatch("UPDATE cart_items", rows(new Object[]{3, 5.0, 500L, 1500L, 0.0, CART_ID, 2L}));
+        verifyBatch("INSERT", rows(new Object[]{CART_ID, 1, 9.99, 999L, 999L, 5.0, 4L}));
+        verify(jdbc).update("UPDATE carts SET total_price = ?, total_minor = ? WHERE cart_id = ?", 45.99, 4599L, CART_ID);
+    }
+
+    @Test
+    void duplicatedStoredLinesAreCollapsedIntoOne() {
+        stored(new RedisCartStore.Line(1L, 1, 1000L, 0.0),
+                new RedisCartStore.Line(1L, 2, 1000L, 0.0));
+
+        int changed = service.writeCart(new RedisCartStore.Snapshot(CART_ID, List.of(
+                new RedisCartStore.Line(1L, 3, 1000L, 0.0))));
+
+        assertThat(changed).isEqualTo(2);
+        verifyBatch("DELETE", rows(new Object[]{CART_ID, 1L}));
+        verifyBatch("INSERT", rows(new Object[]{CART_ID, 3, 10.0, 1000L, 3000L, 0.0, 1L}));
+        verify(jdbc, never()).batchUpdate(startsWith("UPDATE"), anyList());
+    }
+
+    @Test
+    void emptyStoredCartIsRebuiltWithOneInsertBatch() {
+        stored();
+
+        int changed = service.writeCart(new RedisCartStore.Snapshot(CART_ID, List.of(
+                new RedisCartStore.Line(1L, 1, 250L, 0.0),
+                new RedisCartStore.Line(2L, 2, 125L, 0.0))));
+
+        assertThat(changed).isEqualTo(2);
+        verifyBatch("INSERT", rows(
+                new Object[]{CART_ID, 1, 2.5, 250L, 250L, 0.0, 1L},
+                new Object[]{CART_ID, 2, 1.25, 125L, 250L, 0.0, 2L}));
+        verify(jdbc, never()).batchUpdate(startsWith("DELETE"), anyList());
+        verify(jdbc).update("UPDATE carts SET total_price = ?, total_minor = ? WHERE cart_id = ?", 5.0, 500L, CART_ID);
+    }
+}
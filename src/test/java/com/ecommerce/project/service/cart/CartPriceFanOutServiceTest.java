@@ -0,0 +1,208 @@
+package com.ecommerce.project.service.cart;
+
+import com.ecommerce.project.support.EmbeddedRedis;
+import com.ecommerce.project.support.PostgresJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 가격 변경 반영을 실제 PostgreSQL(청크 UPDATE … RETURNING, 총액 재계산)과 Redis(대기열/잠금)에서 검증
+ * - 청크마다 커밋되어야 하므로 테스트 트랜잭션 없이 실행
+ */
+@PostgresJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CartPriceFanOutServiceTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final long OTHER_PRODUCT_ID = 2L;
+    private static final int CARTS = 6;
+    private static final int BATCH_SIZE = 2;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private StringRedisTemplate redis;
+    private RedisCartStore cartStore;
+    private CartCheckpointService checkpointService;
+    private CartPriceFanOutService service;
+
+    /** product 1 라인의 cart_item_id (장바구니 순서) */
+    private final List<Long> lineIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        redis = EmbeddedRedis.template();
+        EmbeddedRedis.flushAll();
+        cartStore = mock(RedisCartStore.class);
+        checkpointService = mock(CartCheckpointService.class);
+        service = new CartPriceFanOutService(jdbcTemplate, new TransactionTemplate(transactionManager), redis,
+                cartStore, checkpointService, BATCH_SIZE);
+
+        jdbcTemplate.execute("TRUNCATE cart_items, carts, products, users RESTART IDENTITY CASCADE");
+        for (long pid : List.of(PRODUCT_ID, OTHER_PRODUCT_ID)) {
+            jdbcTemplate.update("INSERT INTO products (product_id, product_name, description, quantity, price, discount, special_price) " +
+                    "VALUES (?, ?, 'description', 100, 10, 0, 10)", pid, "Product " + pid);
+        }
+        for (int i = 0; i < CARTS; i++) {
+            Long userId = jdbcTemplate.queryForObject("INSERT INTO users (username, email, password) VALUES (?, ?, 'pw') " +
+                    "RETURNING user_id", Long.class, user(i), user(i) + "@test.com");
+            Long cartId = jdbcTemplate.queryForObject("INSERT INTO carts (user_id, total_price, total_minor) " +
+                    "VALUES (?, 25, 2500) RETURNING cart_id", Long.class, userId);
+            lineIds.add(insertLine(cartId, PRODUCT_ID, 2, 1000L));
+            insertLine(cartId, OTHER_PRODUCT_ID, 1, 500L);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private static String user(int i) {
+        return "user" + i;
+    }
+
+    private Long insertLine(long cartId, long productId, int quantity, long priceMinor) {
+        return jdbcTemplate.queryForObject("INSERT INTO cart_items (cart_id, product_id, quantity, discount, " +
+                        "product_price, product_price_minor, subtotal_minor) VALUES (?, ?, ?, 0, ?, ?, ?) RETURNING cart_item_id",
+                Long.class, cartId, productId, quantity, priceMinor / 100.0, priceMinor, quantity * priceMinor);
+    }
+
+    private void queue(long productId, long priceMinor, double discount) {
+        redis.opsForHash().put("cart:reprice:pending", Long.toString(productId),
+                new CartPriceFanOutService.PriceChange(productId, priceMinor, discount, 0L).encode());
+    }
+
+    private Object pending(long productId) {
+        return redis.opsForHash().get("cart:reprice:pending", Long.toString(productId));
+    }
+
+    private List<Long> linePrices(long productId) {
+        return jdbcTemplate.queryForList("SELECT product_price_minor FROM cart_items WHERE product_id = ? " +
+                "ORDER BY cart_item_id", Long.class, productId);
+    }
+
+    @Test
+    void repricesAllLinesInChunksAndRecomputesTotals() {
+        queue(PRODUCT_ID, 800L, 20.0);
+
+        service.drain();
+
+        assertThat(linePrices(PRODUCT_ID)).containsOnly(800L).hasSize(CARTS);
+        assertThat(jdbcTemplate.queryForList("SELECT subtotal_minor FROM cart_items WHERE product_id = ?",
+                Long.class, PRODUCT_ID)).containsOnly(1600L);
+        assertThat(jdbcTemplate.queryForList("SELECT product_price FROM cart_items WHERE product_id = ?",
+                Double.class, PRODUCT_ID)).containsOnly(8.0);
+        assertThat(linePrices(OTHER_PRODUCT_ID)).containsOnly(500L);
+        // 총액 = 1600 + 500
+        assertThat(jdbcTemplate.queryForList("SELECT total_minor FROM carts", Long.class)).containsOnly(2100L);
+        assertThat(jdbcTemplate.queryForList("SELECT total_price FROM carts", Double.class)).containsOnly(21.0);
+
+        assertThat(pending(PRODUCT_ID)).isNull();
+        assertThat(redis.hasKey("cart:reprice:lock:1")).isFalse();
+        for (int i = 0; i < CARTS; i++) {
+            verify(cartStore).reprice(user(i), PRODUCT_ID, 800L, 20.0);
+        }
+    }
+
+    @Test
+    void checkpointsLiveCartsOncePerDrainPass() {
+        queue(PRODUCT_ID, 800L, 0.0);
+        queue(OTHER_PRODUCT_ID, 400L, 0.0);
+
+        service.drain();
+
+        verify(checkpointService, times(1)).flushDirty();
+        assertThat(linePrices(PRODUCT_ID)).containsOnly(800L);
+        assertThat(linePrices(OTHER_PRODUCT_ID)).containsOnly(400L);
+        assertThat(jdbcTemplate.queryForList("SELECT total_minor FROM carts", Long.class)).containsOnly(2000L);
+    }
+
+    @Test
+    void priceSupersededMidRunRestartsFromFirstLine() {
+        queue(PRODUCT_ID, 800L, 0.0);
+        // 첫 청크를 반영한 직후 관리자가 가격을 다시 바꿈
+        AtomicBoolean superseded = new AtomicBoolean();
+        doAnswer(inv -> {
+            if (superseded.compareAndSet(false, true)) queue(PRODUCT_ID, 700L, 0.0);
+            return true;
+        }).when(cartStore).reprice(eq(user(0)), anyLong(), anyLong(), anyDouble());
+
+        service.drain();
+
+        // 새 가격이 처음 라인부터 다시 반영됨 (먼저 바뀐 첫 청크 포함)
+        assertThat(linePrices(PRODUCT_ID)).containsOnly(700L).hasSize(CARTS);
+        assertThat(jdbcTemplate.queryForList("SELECT total_minor FROM carts", Long.class)).containsOnly(1900L);
+        assertThat(pending(PRODUCT_ID)).isNull();
+        verify(cartStore, never()).reprice(eq(user(CARTS - 1)), anyLong(), eq(800L), anyDouble());
+    }
+
+    @Test
+    void failedChunkKeepsCursorAndNextDrainResumes() {
+        queue(PRODUCT_ID, 800L, 0.0);
+        // 두 번째 청크(user2, user3)의 Redis 반영이 한 번 실패
+        AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(inv -> {
+            if (failed.compareAndSet(false, true)) throw new IllegalStateException("redis down");
+            return true;
+        }).when(cartStore).reprice(eq(user(2)), anyLong(), anyLong(), anyDouble());
+
+        service.drain();
+
+        // 첫 청크까지만 진행 위치 기록, 두 번째 청크는 커밋되었지만 다시 처리 대상
+        CartPriceFanOutService.PriceChange cursor =
+                CartPriceFanOutService.PriceChange.decode(PRODUCT_ID, String.valueOf(pending(PRODUCT_ID)));
+        assertThat(cursor.lastCartItemId()).isEqualTo(lineIds.get(1));
+        assertThat(cursor.priceMinor()).isEqualTo(800L);
+        assertThat(linePrices(PRODUCT_ID)).containsExactly(800L, 800L, 800L, 800L, 1000L, 1000L);
+        assertThat(redis.hasKey("cart:reprice:lock:1")).isFalse();
+
+        service.drain();
+
+        assertThat(linePrices(PRODUCT_ID)).containsOnly(800L);
+        assertThat(pending(PRODUCT_ID)).isNull();
+        // 첫 청크는 다시 처리하지 않음
+        verify(cartStore, times(1)).reprice(user(0), PRODUCT_ID, 800L, 0.0);
+        verify(cartStore, times(1)).reprice(user(1), PRODUCT_ID, 800L, 0.0);
+        verify(cartStore, times(2)).reprice(user(2), PRODUCT_ID, 800L, 0.0);
+        verify(cartStore, times(1)).reprice(user(4), PRODUCT_ID, 800L, 0.0);
+    }
+
+    @Test
+    void productLockedByAnotherNodeIsLeftQueued() {
+        queue(PRODUCT_ID, 800L, 0.0);
+        redis.opsForValue().set("cart:reprice:lock:1", "other-node");
+
+        service.drain();
+
+        assertThat(linePrices(PRODUCT_ID)).containsOnly(1000L);
+        assertThat(pending(PRODUCT_ID)).isNotNull();
+        // 다른 노드의 잠금은 건드리지 않음
+        assertThat(redis.opsForValue().get("cart:reprice:lock:1")).isEqualTo("other-node");
+    }
+}
@@ -0,0 +1,158 @@
+package com.ecommerce.project.service.cart;
+
+import com.ecommerce.project.mapper.CartMapper;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.payload.CartItemDTO;
+import com.ecommerce.project.service.CartServiceImpl;
+import com.ecommerce.project.service.cache.ProductCacheService;
+import com.ecommerce.project.support.PostgresJpaTest;
+import com.ecommerce.project.support.StatementCounter;
+import com.ecommerce.project.util.AuthUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** 장바구니 재구성/체크포인트의 DB 왕복 수가 라인 수와 무관한지 (실제 PostgreSQL) */
+@PostgresJpaTest
+@Import({CartServiceImpl.class, CartCheckpointService.class})
+class CartRebuildStatementCountTest {
+
+    private static final String USER_NAME = "buyer";
+    private static final String EMAIL = "buyer@test.com";
+
+    @Autowired
+    TestEntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CartServiceImpl cartService;
+
+    @Autowired
+    CartCheckpointService checkpointService;
+
+    @Autowired
+    StatementCounter statements;
+
+    @MockitoBean
+    AuthUtil authUtil;
+
+    @MockitoBean
+    RedisCartStore cartStore;
+
+    @MockitoBean
+    ProductCacheService productCacheService;
+
+    @MockitoBean
+    CartMapper cartMapper;
+
+    private final List<Product> products = new ArrayList<>();
+    private Cart cart;
+
+    @BeforeEach
+    void setUp() {
+        when(authUtil.loggedInEmail()).thenReturn(EMAIL);
+        when(authUtil.loggedInUserName()).thenReturn(USER_NAME);
+
+        Category category = new Category();
+        category.setCategoryName("Kitchen");
+        em.persist(category);
+        for (int i = 0; i < 80; i++) {
+            Product product = new Product();
+            product.setProductName("Product " + i);
+            product.setDescription("Description " + i);
+            product.setQuantity(100);
+            product.setPrice(10 + i);
+            product.setSpecialPrice(9.99 + i);
+            product.setCategory(category);
+            products.add(em.persist(product));
+        }
+        User user = em.persist(new User(USER_NAME, EMAIL, "password"));
+        cart = new Cart();
+        cart.setUser(user);
+        em.persist(cart);
+        em.flush();
+    }
+
+    @Test
+    void rebuildingFortyItemCartCostsSameStatementsAsOneItem() {
+        int one = rebuild(products.subList(0, 1));
+        int forty = rebuild(products.subList(0, 40));
+
+        assertThat(forty).as("statements: %s", statements.statements()).isEqualTo(one);
+        assertThat(lineCount()).isEqualTo(40);
+        verify(cartStore, times(2)).evict(USER_NAME);
+    }
+
+    @Test
+    void replacingFortyLinesIsOneBatchPerKind() {
+        rebuild(products.subList(0, 40));
+
+        // 40 라인을 모두 다른 상품 40 개로 교체
+        // 장바구니 + 사용자, 상품 findAllById + 카테고리, 현재 라인, 삭제 배치, 삽입 배치, 총액
+        int replaced = rebuild(products.subList(40, 80));
+
+        assertThat(replaced).as("statements: %s", statements.statements()).isEqualTo(8);
+        assertThat(statements.statements()).filteredOn(s -> s.startsWith("[batch x40]")).hasSize(2);
+        assertThat(lineCount()).isEqualTo(40);
+        Map<String, Object> totals = jdbcTemplate.queryForMap(
+                "SELECT total_minor, total_price FROM carts WHERE cart_id = ?", cart.getCartId());
+        long expectedMinor = 0;
+        for (Product p : products.subList(40, 80)) expectedMinor += Math.round(p.getSpecialPrice() * 100);
+        assertThat(((Number) totals.get("total_minor")).longValue()).isEqualTo(expectedMinor);
+    }
+
+    @Test
+    void checkpointOfFortyChangedQuantitiesIsOneUpdateBatch() {
+        rebuild(products.subList(0, 40));
+        List<RedisCartStore.Line> lines = new ArrayList<>();
+        for (Product p : products.subList(0, 40)) {
+            lines.add(new RedisCartStore.Line(p.getProductId(), 3, Math.round(p.getSpecialPrice() * 100), 0.0));
+        }
+
+        statements.reset();
+        int changed = checkpointService.writeCart(new RedisCartStore.Snapshot(cart.getCartId(), lines));
+
+        assertThat(changed).isEqualTo(40);
+        // 현재 라인 조회 + 변경 배치 + 총액
+        assertThat(statements.count()).as("statements: %s", statements.statements()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cart_items WHERE cart_id = ? AND quantity = 3", Long.class, cart.getCartId()))
+                .isEqualTo(40L);
+
+        // 다시 반영해도 바뀐 라인이 없으면 조회 + 총액 보정(조건부) 뿐
+        statements.reset();
+        assertThat(checkpointService.writeCart(new RedisCartStore.Snapshot(cart.getCartId(), lines))).isZero();
+        assertThat(statements.count()).isEqualTo(2);
+    }
+
+    /** createOrUpdateCartWithItems 한 번의 왕복 수 */
+    private int rebuild(List<Product> items) {
+        List<CartItemDTO> request = items.stream().map(p -> new CartItemDTO(p.getProductId(), 1)).toList();
+        em.clear();
+        statements.reset();
+        cartService.createOrUpdateCartWithItems(request);
+        return statements.count();
+    }
+
+    private long lineCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM cart_items WHERE cart_id = ?", Long.class, cart.getCartId());
+    }
+}
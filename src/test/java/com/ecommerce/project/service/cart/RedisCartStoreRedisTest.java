@@ -0,0 +1,216 @@
+package com.ecommerce.project.service.cart;
+
+import com.ecommerce.project.support.EmbeddedRedis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 장바구니 Lua 스크립트를 실제 Redis 에서 검증 */
+class RedisCartStoreRedisTest {
+
+    private static final String USER = "buyer";
+    private static final String KEY = "cart:buyer";
+    private static final long TTL_SECONDS = 3600;
+
+    private StringRedisTemplate redis;
+    private RedisCartStore store;
+
+    @BeforeEach
+    void setUp() {
+        redis = EmbeddedRedis.template();
+        EmbeddedRedis.flushAll();
+        store = new RedisCartStore(redis, TTL_SECONDS);
+    }
+
+    private static RedisCartStore.Line line(long productId, int quantity, long priceMinor) {
+        return new RedisCartStore.Line(productId, quantity, priceMinor, 0.0);
+    }
+
+    private void loaded(RedisCartStore.Line... lines) {
+        assertThat(store.load(USER, 5L, List.of(lines))).isTrue();
+    }
+
+    private boolean dirty() {
+        return Boolean.TRUE.equals(redis.opsForSet().isMember("cart:dirty", USER));
+    }
+
+    /** TTL 을 줄여 두고 스크립트가 다시 늘리는지 확인 */
+    private void shortenTtl() {
+        redis.expire(KEY, Duration.ofSeconds(5));
+    }
+
+    private void assertTtlRefreshed() {
+        assertThat(redis.getExpire(KEY)).isGreaterThan(TTL_SECONDS - 60);
+    }
+
+    @Test
+    void mutationsOnUnloadedCartReportNotLoadedWithoutCreatingIt() {
+        assertThat(store.add(USER, 1L, 1, 10, 100L, 0.0).status()).isEqualTo(RedisCartStore.Status.NOT_LOADED);
+        assertThat(store.changeQuantity(USER, 1L, 1, 10, 100L, 0.0).status()).isEqualTo(RedisCartStore.Status.NOT_LOADED);
+        assertThat(store.remove(USER, 1L).status()).isEqualTo(RedisCartStore.Status.NOT_LOADED);
+        assertThat(store.merge(USER, List.of(line(1L, 1, 100L)), Map.of(1L, 10)).status()).isEqualTo(RedisCartStore.Status.NOT_LOADED);
+        assertThat(store.reprice(USER, 1L, 100L, 0.0)).isFalse();
+
+        assertThat(redis.hasKey(KEY)).isFalse();
+        assertThat(store.read(USER)).isNull();
+        assertThat(dirty()).isFalse();
+    }
+
+    @Test
+    void loadKeepsCartLoadedByAnotherRequest() {
+        loaded(line(1L, 2, 1000L));
+
+        assertThat(store.load(USER, 5L, List.of(line(9L, 9, 9L)))).isFalse();
+
+        RedisCartStore.Snapshot cart = store.read(USER);
+        assertThat(cart.cartId()).isEqualTo(5L);
+        assertThat(cart.lines()).containsExactly(line(1L, 2, 1000L));
+        assertThat(dirty()).isFalse(); // 적재는 DB 와 같으므로 반영 대상 아님
+        assertTtlRefreshed();
+    }
+
+    @Test
+    void addInsertsNewLineOrIncrementsExistingKeepingItsPrice() {
+        loaded(line(1L, 2, 1000L));
+        shortenTtl();
+
+        RedisCartStore.Result added = store.add(USER, 2L, 3, 10, 250L, 5.0);
+        assertThat(added.status()).isEqualTo(RedisCartStore.Status.OK);
+        assertThat(added.cart().lines()).containsExactly(line(1L, 2, 1000L), new RedisCartStore.Line(2L, 3, 250L, 5.0));
+        assertThat(added.cart().totalMinor()).isEqualTo(2750L);
+        assertThat(dirty()).isTrue();
+        assertTtlRefreshed();
+
+        // 이미 담긴 상품은 수량 1 증가, 담을 때의 단가 유지
+        RedisCartStore.Result again = store.add(USER, 1L, 5, 10, 1200L, 0.0);
+        assertThat(again.cart().lines()).contains(line(1L, 3, 1000L));
+    }
+
+    @Test
+    void addBeyondStockIsRejectedWithoutChange() {
+        loaded(line(1L, 2, 1000L));
+
+        assertThat(store.add(USER, 1L, 1, 2, 1000L, 0.0).status()).isEqualTo(RedisCartStore.Status.OUT_OF_STOCK);
+        assertThat(store.add(USER, 2L, 4, 3, 100L, 0.0).status()).isEqualTo(RedisCartStore.Status.OUT_OF_STOCK);
+
+        assertThat(store.read(USER).lines()).containsExactly(line(1L, 2, 1000L));
+        assertThat(dirty()).isFalse();
+    }
+
+    @Test
+    void changeQuantityRepricesLineAndRemovesItAtZero() {
+        loaded(line(1L, 2, 1000L), line(2L, 1, 500L));
+        shortenTtl();
+
+        RedisCartStore.Result up = store.changeQuantity(USER, 1L, 1, 10, 900L, 10.0);
+        assertThat(up.cart().lines()).contains(new RedisCartStore.Line(1L, 3, 900L, 10.0));
+        assertTtlRefreshed();
+
+        RedisCartStore.Result down = store.changeQuantity(USER, 2L, -1, 10, 500L, 0.0);
+        assertThat(down.status()).isEqualTo(RedisCartStore.Status.OK);
+        assertThat(down.cart().lines()).extracting(RedisCartStore.Line::productId).containsExactly(1L);
+        assertThat(dirty()).isTrue();
+    }
+
+    @Test
+    void changeQuantityRejectsInvalidChanges() {
+        loaded(line(1L, 2, 1000L));
+
+        assertThat(store.changeQuantity(USER, 1L, -3, 10, 1000L, 0.0).status())
+                .isEqualTo(RedisCartStore.Status.NEGATIVE_QUANTITY);
+        assertThat(store.changeQuantity(USER, 1L, 1, 2, 1000L, 0.0).status())
+                .isEqualTo(RedisCartStore.Status.OUT_OF_STOCK);
+        assertThat(store.changeQuantity(USER, 7L, 1, 10, 1000L, 0.0).status())
+                .isEqualTo(RedisCartStore.Status.NOT_IN_CART);
+        assertThat(dirty()).isFalse();
+
+        // 재고가 줄었어도 수량을 줄이는 것은 허용
+        assertThat(store.changeQuantity(USER, 1L, -1, 0, 1000L, 0.0).status()).isEqualTo(RedisCartStore.Status.OK);
+    }
+
+    @Test
+    void removeDeletesLineMarksDirtyAndRefreshesTtl() {
+        loaded(line(1L, 2, 1000L), line(2L, 1, 500L));
+        shortenTtl();
+
+        RedisCartStore.Result removed = store.remove(USER, 2L);
+
+        assertThat(removed.status()).isEqualTo(RedisCartStore.Status.OK);
+        assertThat(removed.cart().lines()).containsExactly(line(1L, 2, 1000L));
+        assertThat(dirty()).isTrue();
+        assertTtlRefreshed();
+        assertThat(store.remove(USER, 2L).status()).isEqualTo(RedisCartStore.Status.NOT_IN_CART);
+    }
+
+    @Test
+    void repriceKeepsQuantityAndMarksDirty() {
+        loaded(line(1L, 4, 1000L));
+
+        assertThat(store.reprice(USER, 1L, 800L, 20.0)).isTrue();
+        assertThat(store.reprice(USER, 2L, 800L, 20.0)).isFalse();
+
+        assertThat(store.read(USER).lines()).containsExactly(new RedisCartStore.Line(1L, 4, 800L, 20.0));
+        assertThat(dirty()).isTrue();
+    }
+
+    @Test
+    void mergeAddsGuestLinesAndClampsToStock() {
+        loaded(line(1L, 2, 1000L), line(2L, 1, 500L), line(3L, 1, 300L));
+        shortenTtl();
+
+        RedisCartStore.Result merged = store.merge(USER, List.of(
+                line(1L, 3, 1100L),   // 양쪽에 있음 → 2 + 3 (담을 때의 단가 유지)
+                line(2L, 4, 600L),    // 1 + 4 → 재고 3 까지
+                line(4L, 9, 700L)),   // 게스트에만 있음 → 재고 5 까지 (3 은 그대로)
+                Map.of(1L, 10, 2L, 3, 4L, 5));
+
+        assertThat(merged.changed()).isEqualTo(3);
+        assertThat(merged.cart().cartId()).isEqualTo(5L);
+        assertThat(merged.cart().lines()).containsExactly(
+                line(1L, 5, 1000L), line(2L, 3, 500L), line(3L, 1, 300L), line(4L, 5, 700L));
+        assertThat(dirty()).isTrue();
+        assertTtlRefreshed();
+    }
+
+    @Test
+    void mergeNeverLowersALineAlreadyAtOrOverStock() {
+        loaded(line(1L, 4, 1000L), line(2L, 2, 500L));
+
+        RedisCartStore.Result merged = store.merge(USER, List.of(line(1L, 1, 1000L), line(2L, 1, 500L), line(3L, 1, 300L)),
+                Map.of(1L, 2, 2L, 2, 3L, 0));
+
+        assertThat(merged.status()).isEqualTo(RedisCartStore.Status.OK);
+        assertThat(merged.changed()).isZero();
+        assertThat(merged.cart().lines()).containsExactly(line(1L, 4, 1000L), line(2L, 2, 500L));
+        assertThat(dirty()).isFalse();
+    }
+
+    @Test
+    void dirtySetIsPoppedAndEvictClearsCart() {
+        loaded(line(1L, 2, 1000L));
+        store.add(USER, 2L, 1, 10, 100L, 0.0);
+        store.markDirty("other");
+
+        assertThat(store.popDirty(10)).containsExactlyInAnyOrder(USER, "other");
+        assertThat(store.popDirty(10)).isEmpty();
+
+        store.markDirty(USER);
+        store.evict(USER);
+        assertThat(store.read(USER)).isNull();
+        assertThat(dirty()).isFalse();
+    }
+
+    @Test
+    void legacyMajorUnitPriceIsReadAsMinorUnits() {
+        redis.opsForHash().put(KEY, "_id", "5");
+        redis.opsForHash().put(KEY, "1", "2|12.5|0.0");
+
+        assertThat(store.read(USER).lines()).containsExactly(line(1L, 2, 1250L));
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.project.service.cart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisCartStoreTest {
+
+    @Test
+    void snapshotTotalIsSumOfLineSubtotals() {
+        RedisCartStore.Snapshot cart = new RedisCartStore.Snapshot(1L, List.of(
+                new RedisCartStore.Line(1L, 3, 10L, 0.0),
+                new RedisCartStore.Line(2L, 1, 20L, 0.0),
+                new RedisCartStore.Line(3L, 2, 1999L, 10.0)));
+
+        assertThat(cart.totalMinor()).isEqualTo(30L + 20L + 3998L);
+        assertThat(cart.totalPrice()).isEqualTo(40.48);
+    }
+
+    @Test
+    void emptySnapshotTotalIsZero() {
+        RedisCartStore.Snapshot cart = new RedisCartStore.Snapshot(1L, List.of());
+
+        assertThat(cart.totalMinor()).isZero();
+        assertThat(cart.totalPrice()).isZero();
+    }
+
+    @Test
+    void snapshotTotalOverflowIsRejected() {
+        RedisCartStore.Snapshot cart = new RedisCartStore.Snapshot(1L, List.of(
+                new RedisCartStore.Line(1L, 1, Long.MAX_VALUE, 0.0),
+                new RedisCartStore.Line(2L, 1, 1L, 0.0)));
+
+        assertThatThrownBy(cart::totalMinor).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.project.service.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductImportServiceTest {
+
+    @Test
+    void copyWithinLimitCopiesEverything() throws IOException {
+        byte[] body = new byte[200_000];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(ProductImportService.copyLimited(new ByteArrayInputStream(body), out, body.length)).isEqualTo(body.length);
+        assertThat(out.size()).isEqualTo(body.length);
+    }
+
+    @Test
+    void copyOverLimitStops() throws IOException {
+        byte[] body = new byte[200_000];
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(ProductImportService.copyLimited(new ByteArrayInputStream(body), out, body.length - 1)).isEqualTo(-1);
+        assertThat(out.size()).isLessThan(body.length);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.project.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductRowReaderTest {
+
+    @Test
+    void csvHandlesQuotedCommasNewlinesAndEscapedQuotes() throws IOException {
+        String csv = """
+                productName,Description,quantity,price,discount,categoryId
+                "Mug, large","Holds ""hot"" drinks
+                and soup",3,12.5,10,7
+                Plain,,1,2,0,1
+                """;
+        try (ProductRowReader reader = ProductRowReader.csv(new BufferedReader(new StringReader(csv)))) {
+            ProductRowReader.ParsedRow first = reader.next();
+            assertThat(first.line()).isEqualTo(2);
+            assertThat(first.error()).isNull();
+            assertThat(first.row().getProductName()).isEqualTo("Mug, large");
+            assertThat(first.row().getDescription()).isEqualTo("Holds \"hot\" drinks\nand soup");
+            assertThat(first.row().getQuantity()).isEqualTo(3);
+            assertThat(first.row().getPrice()).isEqualTo(12.5);
+            assertThat(first.row().getCategoryId()).isEqualTo(7L);
+
+            // 따옴표 안 줄바꿈 다음 레코드의 줄 번호
+            ProductRowReader.ParsedRow second = reader.next();
+            assertThat(second.line()).isEqualTo(4);
+            assertThat(second.row().getDescription()).isNull();
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void csvReportsInvalidNumbersAndSkipsBlankLines() throws IOException {
+        String csv = "productName,quantity\n\nA,abc\nB,2\n";
+        try (ProductRowReader reader = ProductRowReader.csv(new BufferedReader(new StringReader(csv)))) {
+            ProductRowReader.ParsedRow bad = reader.next();
+            assertThat(bad.row()).isNull();
+            assertThat(bad.error()).startsWith("invalid number");
+            assertThat(bad.line()).isEqualTo(3);
+
+            assertThat(reader.next().row().getQuantity()).isEqualTo(2);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void csvColumnOrderFollowsHeader() throws IOException {
+        String csv = "categoryId,price,productName\n5,9.9,Pen\n";
+        try (ProductRowReader reader = ProductRowReader.csv(new BufferedReader(new StringReader(csv)))) {
+            ProductImportRow row = reader.next().row();
+            assertThat(row.getProductName()).isEqualTo("Pen");
+            assertThat(row.getPrice()).isEqualTo(9.9);
+            assertThat(row.getCategoryId()).isEqualTo(5L);
+            assertThat(row.getQuantity()).isNull();
+        }
+    }
+
+    @Test
+    void ndjsonReadsOneObjectPerLine() throws IOException {
+        String ndjson = "{\"productName\":\"A\",\"price\":1.5,\"extra\":true}\n\nnot json\n";
+        try (ProductRowReader reader = ProductRowReader.ndjson(new BufferedReader(new StringReader(ndjson)), new ObjectMapper())) {
+            ProductRowReader.ParsedRow first = reader.next();
+            assertThat(first.row().getProductName()).isEqualTo("A");
+            assertThat(first.row().getPrice()).isEqualTo(1.5);
+
+            ProductRowReader.ParsedRow bad = reader.next();
+            assertThat(bad.line()).isEqualTo(3);
+            assertThat(bad.error()).startsWith("invalid JSON");
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+}
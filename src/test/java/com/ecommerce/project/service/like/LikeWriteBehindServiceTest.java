@@ -0,0 +1,71 @@
+package com.ecommerce.project.service.like;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+class LikeWriteBehindServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LikeWriteBehindService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(mock(DataSource.class));
+        service = new LikeWriteBehindService(jdbcTemplate, mock(RedisLikeService.class), 100, 10);
+    }
+
+    @Test
+    void sameUserAndProductKeepsOnlyLastState() {
+        service.onToggle(new LikeToggledEvent(1L, "a@b.c", true, 1L));
+        service.onToggle(new LikeToggledEvent(1L, "a@b.c", false, 2L));
+
+        assertThat(service.flush()).isEqualTo(1);
+        verify(jdbcTemplate).batchUpdate(startsWith("DELETE"), anyList());
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("INSERT"), anyList());
+    }
+
+    @Test
+    void failedBatchIsRetriedBeforeNewerEvents() {
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"))
+                .thenReturn(new int[]{1});
+
+        service.onToggle(new LikeToggledEvent(1L, "a@b.c", true, 1L));
+        assertThat(service.flush()).isZero();
+
+        // 실패 후 들어온 취소가 예전 좋아요보다 나중에 반영되어야 함
+        service.onToggle(new LikeToggledEvent(1L, "a@b.c", false, 2L));
+        assertThat(service.flush()).isEqualTo(2);
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate, times(2)).batchUpdate(startsWith("INSERT"), anyList());
+        order.verify(jdbcTemplate).batchUpdate(startsWith("DELETE"), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchesAreCappedAtBatchSize() {
+        for (long pid = 1; pid <= 25; pid++) {
+            service.onToggle(new LikeToggledEvent(pid, "a@b.c", true, pid));
+        }
+
+        assertThat(service.flush()).isEqualTo(25);
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(10, 10, 5);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.project.service.like;
+
+import com.ecommerce.project.exceptions.APIException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductLikeQueryServiceTest {
+
+    @Test
+    void cursorRoundTripsScoreAndProductId() {
+        RedisLikeService.LikedCursor cursor = new RedisLikeService.LikedCursor(1_760_000_000_123d, 42L);
+
+        String encoded = ProductLikeQueryService.encodeCursor(cursor);
+
+        assertThat(encoded).doesNotContain(":", "=");
+        assertThat(ProductLikeQueryService.decodeCursor(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void legacyScoreOnlyCursorSkipsTies() {
+        assertThat(ProductLikeQueryService.decodeCursor("1760000000123"))
+                .isEqualTo(new RedisLikeService.LikedCursor(1_760_000_000_123d, null));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> ProductLikeQueryService.decodeCursor("not-a-cursor"))
+                .isInstanceOf(APIException.class);
+    }
+}
@@ -0,0 +1,177 @@
+package com.ecommerce.project.service.like;
+
+import com.ecommerce.project.support.EmbeddedRedis;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 실제 Redis 에서 토글/카운트 스크립트 검증 */
+class RedisLikeServiceRedisTest {
+
+    private static final long PRODUCT_ID = 42L;
+    private static final String USERS_KEY = "like:prod:42:users";
+    private static final String COUNT_KEY = "like:prod:42:count";
+
+    // 카운트 캐시와 SCARD 를 같은 시점에 읽음
+    private static final DefaultRedisScript<List> SNAPSHOT_SCRIPT = new DefaultRedisScript<>(
+            "return {redis.call('GET', KEYS[1]), redis.call('SCARD', KEYS[2])}", List.class);
+
+    private StringRedisTemplate redis;
+    private RedisLikeService service;
+
+    @BeforeEach
+    void setUp() {
+        redis = EmbeddedRedis.template();
+        EmbeddedRedis.flushAll();
+        service = new RedisLikeService(redis, null, event -> { });
+    }
+
+    @Test
+    void parallelTogglesKeepCountEqualToMembers() throws Exception {
+        service.addToRank(PRODUCT_ID);
+        int users = 200;
+        int expectedLiked = 0;
+        List<Runnable> toggles = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            String email = "user" + u + "@test.com";
+            int times = u % 4 + 1; // 홀수 번 토글한 사용자만 좋아요 상태로 남음
+            if (times % 2 == 1) expectedLiked++;
+            for (int i = 0; i < times; i++) {
+                toggles.add(() -> service.toggle(email, PRODUCT_ID));
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger mismatches = new AtomicInteger();
+        try {
+            // 토글이 도는 동안 카운트 캐시가 SCARD 와 어긋나는 순간이 있는지 확인
+            Future<?> checker = pool.submit(() -> {
+                while (running.get()) {
+                    List<?> snapshot = redis.execute(SNAPSHOT_SCRIPT, List.of(COUNT_KEY, USERS_KEY));
+                    Object cached = snapshot.get(0);
+                    if (cached != null && Long.parseLong(cached.toString()) != ((Number) snapshot.get(1)).longValue()) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable toggle : toggles) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    toggle.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+            running.set(false);
+            checker.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long members = redis.opsForSet().size(USERS_KEY);
+        assertThat(members).isEqualTo(expectedLiked);
+        assertThat(redis.opsForValue().get(COUNT_KEY)).isEqualTo(Long.toString(members));
+        assertThat(redis.opsForZSet().score("like:rank", "42")).isEqualTo((double) members);
+        assertThat(mismatches.get()).isZero();
+        // 역인덱스도 상품→사용자 집합과 일치
+        for (int u = 0; u < users; u++) {
+            String email = "user" + u + "@test.com";
+            boolean liked = (u % 4 + 1) % 2 == 1;
+            assertThat(service.isLiked(email, PRODUCT_ID)).isEqualTo(liked);
+            assertThat(redis.opsForZSet().score("like:user:" + email + ":liked", "42") != null).isEqualTo(liked);
+        }
+    }
+
+    @Test
+    void toggleDoesNotAddUnrankedProductToRank() {
+        service.toggle("a@b.c", PRODUCT_ID);
+
+        assertThat(redis.opsForValue().get(COUNT_KEY)).isEqualTo("1");
+        assertThat(redis.opsForZSet().score("like:rank", "42")).isNull();
+    }
+
+    @Test
+    void getCountsRepairsMissingAndCorruptCountKeysInOneCall() {
+        redis.opsForSet().add(USERS_KEY, "a", "b", "c");        // 42: 카운트 키 없음
+        redis.opsForSet().add("like:prod:43:users", "a", "b");
+        redis.opsForValue().set("like:prod:43:count", "oops");  // 43: 숫자가 아닌 값
+        redis.opsForSet().add("like:prod:44:users", "a");
+        redis.opsForValue().set("like:prod:44:count", "7");     // 44: 캐시가 있으면 그대로 사용
+        // 45: 집합도 카운트도 없음
+
+        Map<Long, Long> counts = service.getCounts(List.of(PRODUCT_ID, 43L, 44L, 45L));
+
+        assertThat(counts).containsExactly(Map.entry(PRODUCT_ID, 3L), Map.entry(43L, 2L),
+                Map.entry(44L, 7L), Map.entry(45L, 0L));
+        // 미스는 SCARD 값으로 다시 채워져 다음 조회는 캐시에서
+        assertThat(redis.opsForValue().get(COUNT_KEY)).isEqualTo("3");
+        assertThat(redis.opsForValue().get("like:prod:43:count")).isEqualTo("2");
+        assertThat(redis.opsForValue().get("like:prod:44:count")).isEqualTo("7");
+        assertThat(redis.opsForValue().get("like:prod:45:count")).isEqualTo("0");
+        assertThat(service.getCount(PRODUCT_ID)).isEqualTo(3L);
+    }
+
+    @Test
+    void repairedCountFollowsLaterToggles() {
+        redis.opsForSet().add(USERS_KEY, "a", "b");
+        assertThat(service.getCounts(List.of(PRODUCT_ID))).containsEntry(PRODUCT_ID, 2L);
+
+        service.toggle("c@d.e", PRODUCT_ID);
+        redis.delete(COUNT_KEY);
+
+        assertThat(service.getCounts(List.of(PRODUCT_ID))).containsEntry(PRODUCT_ID, 3L);
+    }
+
+    @Test
+    void userIndexMigrationMovesOnlyLiveLikesAndRecordsCompletion() {
+        // a: 42, 43 은 유효, 44 는 상품 쪽 집합에 없음(이미 취소), "x" 는 숫자가 아님
+        redis.opsForSet().add("like:user:a:products", "42", "43", "44", "x");
+        redis.opsForSet().add("like:user:b:products", "43");
+        redis.opsForSet().add(USERS_KEY, "a");
+        redis.opsForSet().add("like:prod:43:users", "a", "b");
+        redis.opsForZSet().add("like:user:a:liked", "43", 1_700_000_000_000d); // 이미 ZSET 에 있는 항목은 유지
+
+        assertThat(service.migrateUserIndexToZSet()).isEqualTo(2L);
+
+        assertThat(redis.opsForZSet().rangeWithScores("like:user:a:liked", 0, -1))
+                .extracting(t -> t.getValue() + "@" + t.getScore().longValue())
+                .containsExactly("42@42", "43@1700000000000");
+        assertThat(redis.opsForZSet().range("like:user:b:liked", 0, -1)).containsExactly("43");
+        assertThat(redis.hasKey("like:user:a:products")).isFalse();
+        assertThat(redis.hasKey("like:user:b:products")).isFalse();
+        assertThat(redis.hasKey("like:user-index:migrated")).isTrue();
+    }
+
+    @Test
+    void userIndexMigrationIsSkippedOnceMarked() {
+        assertThat(service.migrateUserIndexToZSet()).isZero();
+        assertThat(redis.hasKey("like:user-index:migrated")).isTrue();
+
+        // 표시 이후 생긴 SET 은 SCAN 하지 않음
+        redis.opsForSet().add("like:user:c:products", "42");
+        redis.opsForSet().add(USERS_KEY, "c");
+
+        assertThat(service.migrateUserIndexToZSet()).isZero();
+        assertThat(redis.hasKey("like:user:c:products")).isTrue();
+        assertThat(redis.hasKey("like:user:c:liked")).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.project.service.like;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RedisLikeServiceTest {
+
+    private static final String KEY = "like:user:a@b.c:liked";
+
+    private StringRedisTemplate redis;
+    private ZSetOperations<String, String> zSet;
+    private ApplicationEventPublisher eventPublisher;
+    private RedisLikeService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+        zSet = mock(ZSetOperations.class);
+        when(redis.opsForZSet()).thenReturn(zSet);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        service = new RedisLikeService(redis, null, eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void toggleRunsOneScriptAndPublishesNormalizedEvent() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(List.of(1L, 5L));
+
+        RedisLikeService.LikeResult result = service.toggle(" A@B.c ", 42L);
+
+        assertThat(result).isEqualTo(new RedisLikeService.LikeResult(true, 5L));
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redis, times(1)).execute(any(RedisScript.class), keys.capture(), eq("a@b.c"), eq("42"), any());
+        assertThat(keys.getValue()).containsExactly(
+                "like:prod:42:users", "like:user:a@b.c:liked", "like:prod:42:count", "like:rank");
+
+        ArgumentCaptor<LikeToggledEvent> event = ArgumentCaptor.forClass(LikeToggledEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().productId()).isEqualTo(42L);
+        assertThat(event.getValue().userKey()).isEqualTo("a@b.c");
+        assertThat(event.getValue().liked()).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void toggleWithoutScriptResultFailsWithoutEvent() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(null);
+
+        assertThatThrownBy(() -> service.toggle("a@b.c", 1L)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.toggle(" ", 1L)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void nextPageContinuesWithinTiedScore() {
+        // 같은 시각(100)에 좋아요한 상품 9, 7, 5 (ZSET 역순 = member 내림차순)
+        when(zSet.reverseRangeByScoreWithScores(KEY, 100d, 100d))
+                .thenReturn(tuples(t("9", 100), t("7", 100), t("5", 100)));
+        when(zSet.reverseRangeByScoreWithScores(eq(KEY), eq(Double.NEGATIVE_INFINITY), anyDouble(), eq(0L), anyLong()))
+                .thenReturn(tuples(t("3", 90), t("2", 80)));
+
+        RedisLikeService.LikedIdsSlice slice = service.getUserLikedProductIdsAfter(
+                "A@b.c", new RedisLikeService.LikedCursor(100, 9L), 2);
+
+        assertThat(slice.ids()).containsExactly(7L, 5L);
+        assertThat(slice.nextCursor()).isEqualTo(new RedisLikeService.LikedCursor(100, 5L));
+        verify(zSet).reverseRangeByScoreWithScores(KEY, Double.NEGATIVE_INFINITY, Math.nextDown(100d), 0L, 1L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        when(zSet.reverseRangeByScoreWithScores(KEY, 100d, 100d)).thenReturn(tuples(t("9", 100), t("5", 100)));
+        when(zSet.reverseRangeByScoreWithScores(eq(KEY), eq(Double.NEGATIVE_INFINITY), anyDouble(), eq(0L), anyLong()))
+                .thenReturn(tuples(t("3", 90)));
+
+        RedisLikeService.LikedIdsSlice slice = service.getUserLikedProductIdsAfter(
+                "a@b.c", new RedisLikeService.LikedCursor(100, 9L), 5);
+
+        assertThat(slice.ids()).containsExactly(5L, 3L);
+        assertThat(slice.nextCursor()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countsAreReadInOneScriptCall() {
+        when(redis.execute(any(RedisScript.class), anyList())).thenReturn(List.of(4L, 0L));
+
+        Map<Long, Long> counts = service.getCounts(Arrays.asList(7L, null, 3L, 7L));
+
+        assertThat(counts).containsExactly(entry(7L, 4L), entry(3L, 0L));
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redis, times(1)).execute(any(RedisScript.class), keys.capture());
+        assertThat(keys.getValue()).containsExactly(
+                "like:prod:7:count", "like:prod:3:count", "like:prod:7:users", "like:prod:3:users");
+    }
+
+    @Test
+    void emptyIdsSkipRedis() {
+        assertThat(service.getCounts(List.of())).isEmpty();
+        verifyNoInteractions(redis);
+    }
+
+    private static ZSetOperations.TypedTuple<String> t(String member, double score) {
+        return ZSetOperations.TypedTuple.of(member, score);
+    }
+
+    @SafeVarargs
+    private static Set<ZSetOperations.TypedTuple<String>> tuples(ZSetOperations.TypedTuple<String>... items) {
+        return new LinkedHashSet<>(List.of(items));
+    }
+}
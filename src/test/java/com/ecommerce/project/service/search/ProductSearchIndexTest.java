@@ -0,0 +1,81 @@
+package com.ecommerce.project.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    // 1MB / 80B = 13107 postings
+    private static final int BUDGET_MB = 1;
+
+    @Test
+    void tokenizeSplitsOnPunctuationAndLowercases() {
+        assertThat(ProductSearchIndex.tokenize("iPhone-15 Pro, 256GB!"))
+                .containsExactly("iphone", "15", "pro", "256gb");
+        assertThat(ProductSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(ProductSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void tokenizeAddsHangulBigrams() {
+        assertThat(ProductSearchIndex.tokenize("무선이어폰 set"))
+                .containsExactly("무선이어폰", "무선", "선이", "이어", "어폰", "set");
+        // 두 글자 단어는 단어 자체만
+        assertThat(ProductSearchIndex.tokenize("가방")).containsExactly("가방");
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        ProductSearchIndex index = new ProductSearchIndex(null, BUDGET_MB);
+        index.upsert(1L, "Blue Shirt", "cotton", "Clothes");
+        index.upsert(2L, "Sneakers", "blue laces", "Shoes");
+
+        assertThat(index.search("blue", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("셔츠", 10)).isEmpty();
+    }
+
+    @Test
+    void updateReplacesOldTokensAndRemoveDropsProduct() {
+        ProductSearchIndex index = new ProductSearchIndex(null, BUDGET_MB);
+        index.upsert(1L, "Blue Shirt", null, null);
+        index.upsert(1L, "Red Shirt", null, null);
+
+        assertThat(index.search("blue", 10)).isEmpty();
+        assertThat(index.search("red", 10)).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("shirt", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void budgetIsCheckedBeforeAnExistingProductIsRemoved() {
+        ProductSearchIndex index = new ProductSearchIndex(null, BUDGET_MB);
+        for (int pid = 1; pid <= 1310; pid++) {
+            index.upsert(pid, words(pid, 10), null, null); // 13100 postings
+        }
+        assertThat(index.isComplete()).isTrue();
+
+        // 새 상품은 상한 때문에 색인되지 않음
+        index.upsert(5000L, words(5000, 10), null, null);
+        assertThat(index.isComplete()).isFalse();
+        assertThat(index.search("a5000x1", 10)).isEmpty();
+
+        // 토큰 수가 같은 수정은 반영됨
+        index.upsert(1L, words(9001, 10), null, null);
+        assertThat(index.search("a9001x1", 10)).containsExactly(1L);
+
+        // 상한을 넘는 수정은 기존 내용을 지우지 않음
+        index.upsert(2L, words(9002, 20), null, null);
+        assertThat(index.search("a2x1", 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1310);
+    }
+
+    private static String words(int pid, int n) {
+        return IntStream.rangeClosed(1, n).mapToObj(k -> "a" + pid + "x" + k).collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.project.service.search;
+
+import com.ecommerce.project.payload.ProductSuggestionDTO;
+import com.ecommerce.project.service.like.RedisLikeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProductSuggestServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private RedisLikeService likeService;
+    private ProductSuggestService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        likeService = mock(RedisLikeService.class);
+        service = new ProductSuggestService(jdbcTemplate, likeService, 60_000);
+    }
+
+    @Test
+    void suggestsByNameAndWordPrefixInPopularityOrder() throws Exception {
+        products(new Object[][]{{1L, "Apple Watch"}, {2L, "Green  APPLE"}, {3L, "Banana"}});
+        when(likeService.getRankScores()).thenReturn(Map.of(1L, 5L, 2L, 9L));
+
+        service.rebuild();
+
+        assertThat(service.suggest("app", 10)).extracting(ProductSuggestionDTO::getProductId).containsExactly(2L, 1L);
+        assertThat(service.suggest("  WAT", 10)).extracting(ProductSuggestionDTO::getProductName).containsExactly("Apple Watch");
+        assertThat(service.suggest("green a", 10)).extracting(ProductSuggestionDTO::getProductId).containsExactly(2L);
+        assertThat(service.suggest("app", 1)).hasSize(1);
+        assertThat(service.suggest("kiwi", 10)).isEmpty();
+        assertThat(service.suggest("", 10)).isEmpty();
+    }
+
+    @Test
+    void longPrefixIsFilteredByFullName() throws Exception {
+        products(new Object[][]{{1L, "abcdefghijklmnopqrstuvwxyz"}, {2L, "abcdefghijklmnopqrstXXXX"}});
+        when(likeService.getRankScores()).thenReturn(Map.of());
+
+        service.rebuild();
+
+        assertThat(service.suggest("abcdefghijklmnopqrstuv", 10))
+                .extracting(ProductSuggestionDTO::getProductId).containsExactly(1L);
+    }
+
+    @Test
+    void failedRebuildKeepsChangePending() throws Exception {
+        when(likeService.getRankScores()).thenReturn(Map.of());
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        service.refreshIfNeeded();
+        service.refreshIfNeeded();
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowCallbackHandler.class));
+
+        // 성공 후에는 변경이 없으면 다시 만들지 않음
+        products(new Object[][]{{1L, "Apple"}});
+        service.refreshIfNeeded();
+        service.refreshIfNeeded();
+        verify(jdbcTemplate, times(3)).query(anyString(), any(RowCallbackHandler.class));
+
+        service.markDirty();
+        service.refreshIfNeeded();
+        verify(jdbcTemplate, times(4)).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    /** SELECT 결과로 (product_id, product_name) 행들을 돌려주도록 설정 */
+    private void products(Object[][] rows) throws Exception {
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong("product_id")).thenReturn((Long) row[0]);
+                when(rs.getString("product_name")).thenReturn((String) row[1]);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+}
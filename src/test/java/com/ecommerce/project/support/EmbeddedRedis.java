@@ -0,0 +1,71 @@
+package com.ecommerce.project.support;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * 테스트용 내장 Redis (JVM 당 1개, 빈 포트에서 실행)
+ * - Lua 스크립트/원자성은 목으로 확인할 수 없으므로 실제 redis-server 를 띄워 검증
+ * - 테스트마다 flushAll() 로 비우고 사용
+ */
+public final class EmbeddedRedis {
+
+    private static RedisServer server;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate template;
+
+    private EmbeddedRedis() {
+    }
+
+    public static synchronized StringRedisTemplate template() {
+        if (template == null) {
+            int port = freePort();
+            try {
+                server = RedisServer.newRedisServer().port(port).bind("127.0.0.1").setting("save \"\"").build();
+                server.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("embedded redis failed to start", e);
+            }
+            connectionFactory = new LettuceConnectionFactory("127.0.0.1", port);
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            template = new StringRedisTemplate(connectionFactory);
+            Runtime.getRuntime().addShutdownHook(new Thread(EmbeddedRedis::stop, "embedded-redis-stop"));
+        }
+        return template;
+    }
+
+    public static LettuceConnectionFactory connectionFactory() {
+        template();
+        return connectionFactory;
+    }
+
+    public static void flushAll() {
+        try (RedisConnection connection = connectionFactory().getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+    }
+
+    private static synchronized void stop() {
+        try {
+            connectionFactory.destroy();
+            server.stop();
+        } catch (IOException | RuntimeException ignore) {
+            // JVM 종료 중
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
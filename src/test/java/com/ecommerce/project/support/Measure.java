@@ -0,0 +1,41 @@
+package com.ecommerce.project.support;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * DB 를 거치는 경로의 간단한 처리량/할당량 측정 (JMH 로 띄우기 어려운 통합 벤치마크용)
+ * - 워밍업 후 같은 스레드에서 반복 실행하고, 스레드 할당 바이트(HotSpot)로 호출당 할당량 계산
+ */
+public final class Measure {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Measure() {
+    }
+
+    /** 한 경로의 측정 결과 */
+    public record Result(String name, int iterations, double opsPerSec, long bytesPerOp, double millisPerOp) {
+        @Override
+        public String toString() {
+            return String.format("%-28s %8.1f ops/s %10.3f ms/op %,12d B/op  (n=%d)",
+                    name, opsPerSec, millisPerOp, bytesPerOp, iterations);
+        }
+    }
+
+    public static Result run(String name, int warmup, int iterations, Runnable op) {
+        for (int i = 0; i < warmup; i++) op.run();
+
+        long thread = Thread.currentThread().threadId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) op.run();
+        long elapsed = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+
+        Result result = new Result(name, iterations, iterations * 1e9 / elapsed, bytes / iterations,
+                elapsed / 1e6 / iterations);
+        System.out.println("[benchmark] " + result);
+        return result;
+    }
+}
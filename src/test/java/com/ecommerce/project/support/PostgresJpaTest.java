@@ -0,0 +1,31 @@
+package com.ecommerce.project.support;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 내장 PostgreSQL 위의 JPA 슬라이스 테스트
+ * - 운영과 같은 방언/SQL(::bigint, ON CONFLICT, UPDATE … RETURNING 등)을 그대로 실행
+ * - 스키마는 ddl-auto 로 생성, DataSource 는 StatementCounter 로 감싸 왕복 수를 셀 수 있음
+ * - SQL 을 stdout 에 찍지 않음 (측정 테스트에서 출력 비용이 섞이지 않도록)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(showSql = false, properties = {
+        "logging.level.org.springframework=INFO",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.com.ecommerce.project=INFO"
+})
+@AutoConfigureEmbeddedDatabase(type = AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES,
+        provider = AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY)
+@Import(StatementCounter.Config.class)
+public @interface PostgresJpaTest {
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.project.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DB 왕복 수 집계 (datasource-proxy)
+ * - execute / executeQuery / executeUpdate / executeBatch 한 번을 1회로 셈 (배치는 행 수와 무관하게 1회)
+ * - JPA 와 JdbcTemplate 이 같은 DataSource 를 쓰므로 둘 다 집계됨
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+    private final List<String> statements = new ArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        statements.add(execInfo.isBatch() ? "[batch x" + execInfo.getBatchSize() + "] " + sql : sql);
+    }
+
+    public synchronized void reset() {
+        statements.clear();
+    }
+
+    public synchronized int count() {
+        return statements.size();
+    }
+
+    /** 실행한 문장 목록 (실패 메시지용) */
+    public synchronized List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    /** 테스트 컨텍스트의 DataSource 를 집계용 프록시로 감쌈 (@Import 해서 사용) */
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource(ObjectProvider<StatementCounter> counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource).name(beanName)
+                                .listener(counter.getObject()).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void toMinorRoundsHalfUpOnDecimalValue() {
+        assertThat(Money.toMinor(19.99)).isEqualTo(1999L);
+        assertThat(Money.toMinor(0.1 + 0.2)).isEqualTo(30L); // 0.30000000000000004
+        assertThat(Money.toMinor(1.005)).isEqualTo(101L);
+        assertThat(Money.toMinor(1.004)).isEqualTo(100L);
+        assertThat(Money.toMinor(-1.005)).isEqualTo(-101L);
+    }
+
+    @Test
+    void toMajorIsExactForMinorUnits() {
+        assertThat(Money.toMajor(1999L)).isEqualTo(19.99);
+        assertThat(Money.toMajor(5L)).isEqualTo(0.05);
+        assertThat(Money.toMajor(Money.toMinor(12345.67))).isEqualTo(12345.67);
+    }
+
+    @Test
+    void toWholeUnitsRoundsHalfUp() {
+        assertThat(Money.toWholeUnits(1049L)).isEqualTo(10L);
+        assertThat(Money.toWholeUnits(1050L)).isEqualTo(11L);
+    }
+
+    @Test
+    void subtotalSumsWithoutFloatingPointDrift() {
+        long total = 0;
+        for (int i = 0; i < 10; i++) {
+            total += Money.subtotal(Money.toMinor(0.1), 1);
+        }
+        assertThat(total).isEqualTo(100L);
+        assertThat(Money.subtotal(1999L, 3)).isEqualTo(5997L);
+    }
+
+    @Test
+    void overflowIsRejected() {
+        assertThatThrownBy(() -> Money.subtotal(Long.MAX_VALUE / 2, 3)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.toMinor(1e18)).isInstanceOf(ArithmeticException.class);
+    }
+}